@@ -0,0 +1,84 @@
+package com.khomsi.backend.additional.cart.service;
+
+import com.khomsi.backend.additional.cart.CartRepository;
+import com.khomsi.backend.additional.cart.mapper.impl.CartMapperImpl;
+import com.khomsi.backend.additional.cart.model.dto.CartDTO;
+import com.khomsi.backend.additional.cart.model.entity.Cart;
+import com.khomsi.backend.main.game.mapper.impl.GameMapperImpl;
+import com.khomsi.backend.main.game.model.entity.Game;
+import com.khomsi.backend.main.game.service.GameService;
+import com.khomsi.backend.main.user.model.entity.UserInfo;
+import com.khomsi.backend.main.user.service.UserGamesService;
+import com.khomsi.backend.main.user.service.UserInfoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// What GET /api/v1/cart does after loading the rows: CartService.cartItems over in-memory stubs,
+// so only the mapping and the total are measured
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CartTotalBenchmark {
+    @Param({"1", "10", "50"})
+    private int cartSize;
+
+    private CartService cartService;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        UserInfo user = new UserInfo();
+        user.setExternalId("1b3c5e7a-2d4f-4a6b-8c9d-0e1f2a3b4c5d");
+        List<Cart> carts = new ArrayList<>(cartSize);
+        for (int i = 1; i <= cartSize; i++) {
+            Game game = Game.builder()
+                    .id((long) i)
+                    .title("Game " + i)
+                    .active(true)
+                    .price(BigDecimal.valueOf(random.nextInt(7000), 2))
+                    .discount(i % 3 == 0 ? new BigDecimal("25.00") : BigDecimal.ZERO)
+                    .build();
+            Cart cart = new Cart(game, user);
+            cart.setId((long) i);
+            carts.add(cart);
+        }
+        cartService = new CartServiceImpl(
+                stub(CartRepository.class, Map.of("findAllByUserOrderByCreatedDate", carts)),
+                stub(UserInfoService.class, Map.of("getUserInfo", user)),
+                stub(GameService.class, Map.of()),
+                new CartMapperImpl(new GameMapperImpl()),
+                stub(UserGamesService.class, Map.of()));
+    }
+
+    @Benchmark
+    public CartDTO cartItems() {
+        return cartService.cartItems();
+    }
+
+    // Always answers a method with the same value, null for anything not listed
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Object> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answers.get(method.getName()));
+    }
+}
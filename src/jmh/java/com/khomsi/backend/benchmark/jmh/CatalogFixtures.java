@@ -0,0 +1,103 @@
+package com.khomsi.backend.benchmark.jmh;
+
+import com.khomsi.backend.additional.developer.model.entity.Developer;
+import com.khomsi.backend.additional.genre.model.entity.Genre;
+import com.khomsi.backend.additional.media.model.entity.GameMedia;
+import com.khomsi.backend.additional.platform.model.entity.Platform;
+import com.khomsi.backend.additional.publisher.model.entity.Publisher;
+import com.khomsi.backend.additional.tag.model.entity.Tag;
+import com.khomsi.backend.main.game.model.entity.Game;
+import com.khomsi.backend.main.game.model.entity.PermitAge;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+// Games shaped like the seeded catalog: long descriptions, a few genres and platforms, more tags,
+// about a third of them discounted. Seeded so every run and every version sees the same data.
+final class CatalogFixtures {
+    private static final String[] WORDS = {"mafia", "city", "football", "manager", "legend", "space", "empire",
+            "racing", "dragon", "shadow", "survival", "kingdom", "tactics", "online", "edition", "definitive"};
+    private static final BigDecimal[] DISCOUNTS = {BigDecimal.ZERO, BigDecimal.ZERO, new BigDecimal("10.00"),
+            new BigDecimal("25.00"), BigDecimal.ZERO, new BigDecimal("50.00")};
+
+    private final Random random;
+    private final List<Genre> genres = dictionary(20, id -> Genre.builder().id((long) id).name("Genre " + id).build());
+    private final List<Tag> tags = dictionary(60, id -> Tag.builder().id((long) id).name("Tag " + id).build());
+    private final List<Platform> platforms = dictionary(6, id -> Platform.builder().id((long) id).name("Platform " + id).build());
+    private final List<Publisher> publishers = dictionary(15, id -> Publisher.builder().id(id).name("Publisher " + id).build());
+    private final List<Developer> developers = dictionary(15, id -> Developer.builder().id(id).name("Developer " + id).build());
+
+    CatalogFixtures(long seed) {
+        this.random = new Random(seed);
+    }
+
+    List<Game> games(int count) {
+        List<Game> games = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            games.add(game(i));
+        }
+        return games;
+    }
+
+    Game game(long id) {
+        Game game = Game.builder()
+                .id(id)
+                .title(sentence(2 + random.nextInt(4)))
+                .description(sentence(40 + random.nextInt(30)))
+                .aboutGame(sentence(250 + random.nextInt(150)))
+                .systemRequirements(sentence(80))
+                .releaseDate(LocalDate.of(2010, 1, 1).plusDays(random.nextInt(5000)))
+                .active(true)
+                .price(BigDecimal.valueOf(random.nextInt(7000), 2))
+                .discount(DISCOUNTS[random.nextInt(DISCOUNTS.length)])
+                .coverImageUrl("https://cdn.example.com/games/" + id + "/cover.jpg")
+                .permitAge(PermitAge.values()[random.nextInt(PermitAge.values().length)].name())
+                .publisher(publishers.get(random.nextInt(publishers.size())))
+                .developer(developers.get(random.nextInt(developers.size())))
+                .genres(pick(genres, 3))
+                .tags(pick(tags, 8))
+                .platforms(pick(platforms, 3))
+                .build();
+        game.setGameMedia(GameMedia.builder()
+                .id(id)
+                .bannerUrl("https://cdn.example.com/games/" + id + "/banner.jpg")
+                .screenshotUrl("https://cdn.example.com/games/" + id + "/1.jpg,https://cdn.example.com/games/" + id + "/2.jpg")
+                .trailer("https://video.example.com/" + id)
+                .trailerScreenshot("https://cdn.example.com/games/" + id + "/trailer.jpg")
+                .build());
+        return game;
+    }
+
+    private String sentence(int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+
+    private <T> Set<T> pick(List<T> values, int count) {
+        Set<T> picked = new HashSet<>();
+        while (picked.size() < count) {
+            picked.add(values.get(random.nextInt(values.size())));
+        }
+        return picked;
+    }
+
+    private static <T> List<T> dictionary(int size, IntFunction<T> factory) {
+        List<T> values = new ArrayList<>(size);
+        for (int id = 1; id <= size; id++) {
+            values.add(factory.apply(id));
+        }
+        return values;
+    }
+}
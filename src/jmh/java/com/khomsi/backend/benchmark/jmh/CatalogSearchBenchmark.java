@@ -0,0 +1,48 @@
+package com.khomsi.backend.benchmark.jmh;
+
+import com.khomsi.backend.main.game.service.GameServiceImpl;
+import com.khomsi.backend.main.utils.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request helpers of GET /api/v1/games: the title pattern and the sort
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogSearchBenchmark {
+    @Param({"maf", "Football Manager 2024"})
+    private String title;
+
+    // transformWord does not touch the collaborators
+    private final GameServiceImpl gameService = new GameServiceImpl(null, null, null);
+    private final String[] sort = {"price", "asc"};
+
+    @Benchmark
+    public String transformWord() {
+        return gameService.transformWord(title);
+    }
+
+    @Benchmark
+    public Sort createSorting() {
+        return Utils.createSorting(sort, "id");
+    }
+
+    @Benchmark
+    public Sort createDefaultSorting() {
+        return Utils.createSorting(null, "id");
+    }
+}
@@ -0,0 +1,69 @@
+package com.khomsi.backend.benchmark.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.khomsi.backend.main.game.mapper.impl.GameMapperImpl;
+import com.khomsi.backend.main.game.model.dto.ExtendedGame;
+import com.khomsi.backend.main.game.model.dto.GeneralGame;
+import com.khomsi.backend.main.game.model.entity.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response bodies of GET /api/v1/games and GET /api/v1/games/{id}, serialized with the app's Jackson settings
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogSerializationBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private GeneralGame page;
+    private ExtendedGame details;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.LOWER_CAMEL_CASE)
+                .build();
+        CatalogFixtures fixtures = new CatalogFixtures(42);
+        GameMapperImpl gameMapper = new GameMapperImpl();
+        List<Game> games = fixtures.games(pageSize);
+        page = GeneralGame.builder()
+                .games(games.stream().map(game -> gameMapper.toShortGame(game, false)).toList())
+                .totalItems(182)
+                .totalPages(182 / pageSize)
+                .currentPage(0)
+                .maxPrice(new BigDecimal("69.99"))
+                .build();
+        details = new ExtendedGame(fixtures.game(pageSize + 1L), true);
+    }
+
+    @Benchmark
+    public byte[] serializeGamePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeGameDetails() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(details);
+    }
+}
@@ -0,0 +1,56 @@
+package com.khomsi.backend.benchmark.jmh;
+
+import com.khomsi.backend.main.game.mapper.impl.GameMapperImpl;
+import com.khomsi.backend.main.game.model.dto.GameModelWithGenreLimit;
+import com.khomsi.backend.main.game.model.dto.PopularGameModel;
+import com.khomsi.backend.main.game.model.dto.ShortGameModel;
+import com.khomsi.backend.main.game.model.entity.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One call maps a whole page, the same way the catalog endpoints do
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameMapperBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final GameMapperImpl gameMapper = new GameMapperImpl();
+    private List<Game> games;
+
+    @Setup
+    public void setUp() {
+        games = new CatalogFixtures(42).games(pageSize);
+    }
+
+    @Benchmark
+    public List<ShortGameModel> toShortGame() {
+        return games.stream().map(game -> gameMapper.toShortGame(game, false)).toList();
+    }
+
+    @Benchmark
+    public List<PopularGameModel> toPopularGame() {
+        return games.stream().map(game -> gameMapper.toPopularGame(game, false)).toList();
+    }
+
+    @Benchmark
+    public List<GameModelWithGenreLimit> toLimitGenreGame() {
+        return games.stream().map(game -> gameMapper.toLimitGenreGame(game, false)).toList();
+    }
+}
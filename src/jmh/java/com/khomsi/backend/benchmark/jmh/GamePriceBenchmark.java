@@ -0,0 +1,48 @@
+package com.khomsi.backend.benchmark.jmh;
+
+import com.khomsi.backend.main.game.model.entity.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GamePriceBenchmark {
+    private Game discounted;
+    private Game fullPrice;
+
+    @Setup
+    public void setUp() {
+        CatalogFixtures fixtures = new CatalogFixtures(42);
+        discounted = fixtures.game(1);
+        discounted.setPrice(new BigDecimal("59.99"));
+        discounted.setDiscount(new BigDecimal("25.00"));
+        fullPrice = fixtures.game(2);
+        fullPrice.setPrice(new BigDecimal("59.99"));
+        fullPrice.setDiscount(BigDecimal.ZERO);
+    }
+
+    @Benchmark
+    public BigDecimal discountedPrice() {
+        return discounted.getPrice();
+    }
+
+    @Benchmark
+    public BigDecimal fullPrice() {
+        return fullPrice.getPrice();
+    }
+}
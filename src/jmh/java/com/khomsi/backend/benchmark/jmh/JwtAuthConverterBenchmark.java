@@ -0,0 +1,62 @@
+package com.khomsi.backend.benchmark.jmh;
+
+import com.khomsi.backend.main.security.keycloak.JwtAuthConverter;
+import com.khomsi.backend.main.security.keycloak.JwtAuthConverterProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Runs on every authenticated request; the token mirrors what Keycloak issues for the login-app client
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthConverterBenchmark {
+    private JwtAuthConverter converter;
+    private Jwt jwt;
+
+    @Setup
+    public void setUp() {
+        JwtAuthConverterProperties properties = new JwtAuthConverterProperties();
+        properties.setResourceId("login-app");
+        properties.setPrincipalAttribute("preferred_username");
+        converter = new JwtAuthConverter(properties);
+        Instant issuedAt = Instant.now();
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .header("typ", "JWT")
+                .subject("1b3c5e7a-2d4f-4a6b-8c9d-0e1f2a3b4c5d")
+                .issuer("http://localhost:8080/realms/grid")
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(300))
+                .claim("scope", "openid profile email")
+                .claim("preferred_username", "player")
+                .claim("email", "player@example.com")
+                .claim("realm_access", Map.of("roles", List.of("offline_access", "uma_authorization")))
+                .claim("resource_access", Map.of(
+                        "login-app", Map.of("roles", List.of("USER", "ADMIN")),
+                        "account", Map.of("roles", List.of("manage-account", "view-profile"))))
+                .build();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convert() {
+        return converter.convert(jwt);
+    }
+}
@@ -4,6 +4,8 @@ import com.khomsi.backend.additional.cart.model.entity.Cart;
 import com.khomsi.backend.main.game.model.entity.Game;
 import com.khomsi.backend.main.user.model.entity.UserInfo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -12,4 +14,8 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     List<Cart> findAllByUserExternalId(String userId);
     Cart findByUserAndGames(UserInfo user, Game game);
     void deleteAllByUserExternalId(String userId);
+
+    @Query("SELECT c FROM Cart c JOIN FETCH c.games g LEFT JOIN FETCH g.publisher LEFT JOIN FETCH g.developer " +
+            "LEFT JOIN FETCH g.gameMedia WHERE c.user = :user ORDER BY c.createdDate")
+    List<Cart> findCheckoutItems(@Param("user") UserInfo user);
 }
\ No newline at end of file
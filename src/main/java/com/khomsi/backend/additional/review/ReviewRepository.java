@@ -12,7 +12,8 @@ import java.util.List;
 import java.util.Optional;
 
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    @Query("SELECT r FROM Review r WHERE r.games.id = :gameId order by r.reviewDate DESC")
+    // Reviewer is shown on every row, fetch it with the reviews
+    @Query("SELECT r FROM Review r JOIN FETCH r.users WHERE r.games.id = :gameId order by r.reviewDate DESC")
     List<Review> findAllByGameIdOrderByReviewDate(Long gameId);
 
     Optional<Review> findByUsersAndGames(UserInfo user, Game game);
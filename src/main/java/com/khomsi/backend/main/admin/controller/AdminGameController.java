@@ -52,7 +52,7 @@ public class AdminGameController {
     public List<GameModelWithGenreLimit> showGameByTitle(
             @RequestParam(value = "title") String title,
             @RequestParam(value = "qty", defaultValue = "20")
-            @Min(1) @Max(Integer.MAX_VALUE) int gameQuantity) {
+            @Min(1) @Max(100) int gameQuantity) {
         return adminGameService.searchGamesByTitleWithoutActiveCheck(title, gameQuantity);
     }
 
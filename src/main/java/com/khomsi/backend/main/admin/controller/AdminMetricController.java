@@ -7,11 +7,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Map;
 
 import static com.khomsi.backend.сonfig.ApplicationConfig.BEARER_KEY_SECURITY_SCHEME;
@@ -38,6 +42,23 @@ public class AdminMetricController {
         return adminMetricService.getRevenueSummaryForYear(year);
     }
 
+    @GetMapping(value = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
+            summary = "Live sales counters, revenue and top games pushed every second")
+    public SseEmitter streamLiveSales() {
+        return adminMetricService.streamLiveSales();
+    }
+
+    @PostMapping("/total/rebuild")
+    @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
+            summary = "Rebuild daily sales rollup for closed days from raw transactions")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, Integer> rebuildSalesRollup(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return adminMetricService.rebuildSalesRollup(from, to);
+    }
+
     @GetMapping("/total/users")
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)}, summary = "Total qty of users on Website")
     @ResponseStatus(HttpStatus.OK)
@@ -51,6 +72,24 @@ public class AdminMetricController {
     public Map<String, Long> showUsersWithGamesOnWebsite() {
         return adminMetricService.getTotalUsersWithGamesOnWebsite();
     }
+    @GetMapping("/total/buyers")
+    @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
+            summary = "Estimated unique buyers, optionally per game and date range")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, Object> showUniqueBuyers(
+            @RequestParam(value = "gameId", required = false) Long gameId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return adminMetricService.getUniqueBuyers(gameId, from, to);
+    }
+
+    @PostMapping("/total/buyers/rebuild")
+    @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
+            summary = "Rebuild unique buyer sketches from user libraries")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, Integer> rebuildBuyerSketches() {
+        return adminMetricService.rebuildBuyerSketches();
+    }
     @GetMapping("/total/amount/{game-id}")
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)}, summary = "Total amount of game purchase")
     @ResponseStatus(HttpStatus.OK)
@@ -34,6 +34,14 @@ public class AdminUserController {
         return adminUserService.getAllUsers(entityModelRequest);
     }
 
+    @GetMapping("/{user-id}/balance/history")
+    @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)}, summary = "Get user's balance history")
+    @ResponseStatus(HttpStatus.OK)
+    public AdminModelResponse showUserBalanceHistory(@PathVariable("user-id") @NotEmpty String userId,
+                                                     @Valid EntityModelRequest entityModelRequest) {
+        return adminUserService.getUserBalanceHistory(userId, entityModelRequest);
+    }
+
     @PostMapping("/update/balance/{user-id}")
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)}, summary = "Update user's balance")
     @ResponseStatus(HttpStatus.OK)
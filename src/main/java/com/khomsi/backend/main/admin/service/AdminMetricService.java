@@ -1,6 +1,9 @@
 package com.khomsi.backend.main.admin.service;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Map;
 
 public interface AdminMetricService {
@@ -10,7 +13,15 @@ public interface AdminMetricService {
 
     Map<String, Long> getTotalUsersWithGamesOnWebsite();
 
+    Map<String, Object> getUniqueBuyers(Long gameId, LocalDate from, LocalDate to);
+
+    Map<String, Integer> rebuildBuyerSketches();
+
     Map<String, BigDecimal> getTotalRevenueByGameId(Long gameId);
 
     Map<String, Object> getRevenueSummaryForYear(int year);
+
+    Map<String, Integer> rebuildSalesRollup(LocalDate from, LocalDate to);
+
+    SseEmitter streamLiveSales();
 }
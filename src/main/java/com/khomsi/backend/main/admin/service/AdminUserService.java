@@ -9,4 +9,5 @@ import java.math.BigDecimal;
 public interface AdminUserService {
     AdminModelResponse getAllUsers(EntityModelRequest entityModelRequest);
     AdminResponse updateUserBalance(String userId, BigDecimal newBalance);
+    AdminModelResponse getUserBalanceHistory(String userId, EntityModelRequest entityModelRequest);
 }
@@ -24,6 +24,7 @@ import com.khomsi.backend.main.game.model.entity.Game;
 import com.khomsi.backend.main.game.service.GameService;
 import com.khomsi.backend.main.handler.exception.GlobalServiceException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -147,9 +148,12 @@ public class AdminGameServiceImpl implements AdminGameService {
 
     @Override
     public List<GameModelWithGenreLimit> searchGamesByTitleWithoutActiveCheck(String text, int qty) {
-        return gameRepository.findSimilarTitlesWithoutActiveCheck(gameService.transformWord(text)).stream()
+        String fullTextQuery = gameService.toFullTextQuery(text);
+        if (fullTextQuery.isEmpty() || qty < 1) {
+            return List.of();
+        }
+        return gameRepository.findSimilarTitlesWithoutActiveCheck(fullTextQuery, PageRequest.of(0, qty)).stream()
                 .map(game -> gameMapper.toLimitGenreGame(game, false))
-                .limit(qty)
                 .toList();
     }
 
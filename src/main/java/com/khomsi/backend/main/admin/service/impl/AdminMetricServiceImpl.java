@@ -1,31 +1,40 @@
 package com.khomsi.backend.main.admin.service.impl;
 
 import com.khomsi.backend.main.admin.service.AdminMetricService;
-import com.khomsi.backend.main.checkout.model.entity.Transaction;
+import com.khomsi.backend.main.checkout.model.dto.MonthlyRevenueView;
 import com.khomsi.backend.main.checkout.model.enums.PaymentMethod;
-import com.khomsi.backend.main.checkout.repository.TransactionGamesRepository;
-import com.khomsi.backend.main.checkout.repository.TransactionRepository;
+import com.khomsi.backend.main.checkout.repository.DailySalesRollupRepository;
+import com.khomsi.backend.main.checkout.service.LiveSalesBroadcaster;
+import com.khomsi.backend.main.checkout.service.SalesRollupService;
 import com.khomsi.backend.main.user.repository.UserInfoRepository;
+import com.khomsi.backend.main.utils.sketch.service.UniqueBuyerService;
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
-import java.util.HashMap;
+import java.time.LocalDate;
+import java.time.Month;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
 
 @Service
 @RequiredArgsConstructor
 public class AdminMetricServiceImpl implements AdminMetricService {
-    private final TransactionGamesRepository transactionGamesRepository;
-    private final TransactionRepository transactionRepository;
+    private final DailySalesRollupRepository dailySalesRollupRepository;
+    private final SalesRollupService salesRollupService;
     private final UserInfoRepository userInfoRepository;
+    private final UniqueBuyerService uniqueBuyerService;
+    private final LiveSalesBroadcaster liveSalesBroadcaster;
 
     @Override
     public Map<String, Long> getTotalTransactionsByGameId(Long gameId) {
-        return Map.of("totalTransactions", transactionGamesRepository.countTransactionsByGameId(gameId));
+        return Map.of("totalTransactions", dailySalesRollupRepository.sumTransactionsByGameId(gameId));
     }
 
     @Override
@@ -34,59 +43,75 @@ public class AdminMetricServiceImpl implements AdminMetricService {
     }
     @Override
     public Map<String, Long> getTotalUsersWithGamesOnWebsite() {
-        return Map.of("totalUsersWithGames", userInfoRepository.countUsersWithAtLeastOneGame());
+        return Map.of("totalUsersWithGames", uniqueBuyerService.estimateBuyers(null, null, null));
+    }
+
+    @Override
+    public Map<String, Object> getUniqueBuyers(Long gameId, LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Start date must not be after end date.");
+        }
+        return Map.of("uniqueBuyers", uniqueBuyerService.estimateBuyers(gameId, from, to),
+                "relativeError", uniqueBuyerService.relativeError());
+    }
+
+    @Override
+    public Map<String, Integer> rebuildBuyerSketches() {
+        uniqueBuyerService.flush();
+        return Map.of("rebuiltSketches", uniqueBuyerService.rebuild());
     }
     @Override
     public Map<String, BigDecimal> getTotalRevenueByGameId(Long gameId) {
-        return Map.of("sumTotalRevenue", transactionGamesRepository.sumTotalRevenueByGameId(gameId));
+        return Map.of("sumTotalRevenue", dailySalesRollupRepository.sumRevenueByGameId(gameId));
     }
 
     @Override
     public Map<String, Object> getRevenueSummaryForYear(int year) {
-        List<Transaction> transactions = transactionRepository.findAllByYear(year);
-        Map<String, Object> revenueSummary = new LinkedHashMap<>();
-        // Group into month to reduce amount of data calling in db
-        Map<String, List<Transaction>> transactionsByMonth = transactions.stream()
-                .collect(Collectors.groupingBy(
-                        transaction -> transaction.getCreatedAt().getMonth().toString()
-                ));
-        transactionsByMonth.forEach((month, monthTransactions) -> {
-            // Get the total amount and number of transactions for the current month
-            Map<String, Object> monthSummary = getSummaryForMonth(monthTransactions);
-            // Add the current month to the general map
-            revenueSummary.put(month, monthSummary);
-        });
-        // Get the total amount and number of transactions for the whole year
-        Map<String, Object> yearSummary = getSummaryForMonth(transactions);
+        LocalDate from = LocalDate.ofYearDay(year, 1);
+        LocalDate to = from.plusYears(1);
+        // Reads at most one rollup row per day and payment method, never the raw transactions
+        Map<Integer, MonthSummary> summaryByMonth = new TreeMap<>();
+        MonthSummary yearSummary = new MonthSummary();
+        for (MonthlyRevenueView row : dailySalesRollupRepository.summarizeByMonth(from, to)) {
+            summaryByMonth.computeIfAbsent(row.getMonth(), month -> new MonthSummary()).add(row);
+            yearSummary.add(row);
+        }
 
-        // Adding general information for the year to the general map
+        Map<String, Object> revenueSummary = new LinkedHashMap<>();
+        summaryByMonth.forEach((month, summary) -> revenueSummary.put(Month.of(month).toString(), summary));
         revenueSummary.put("yearSummary", yearSummary);
-
         return revenueSummary;
     }
 
-    private Map<String, Object> getSummaryForMonth(List<Transaction> transactions) {
-        BigDecimal totalRevenue = transactions.stream()
-                .map(Transaction::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        long totalTransactions = transactions.size();
-        long totalSaleGames = transactions.stream().map(Transaction::getTransactionGames)
-                .count();
-        long stripePayments = transactions.stream()
-                .filter(transaction -> transaction.getPaymentMethods()
-                        .equalsIgnoreCase(PaymentMethod.STRIPE.toString()))
-                .count();
-        long paypalPayments = transactions.stream()
-                .filter(transaction -> transaction.getPaymentMethods()
-                        .equalsIgnoreCase(PaymentMethod.PAYPAL.toString()))
-                .count();
+    @Override
+    public Map<String, Integer> rebuildSalesRollup(LocalDate from, LocalDate to) {
+        return Map.of("rebuiltRows", salesRollupService.rebuild(from, to));
+    }
+
+    @Override
+    public SseEmitter streamLiveSales() {
+        return liveSalesBroadcaster.subscribe();
+    }
+
+    // Serialized as is, with the same keys the per-month maps used to have
+    @Getter
+    private static class MonthSummary {
+        private BigDecimal totalRevenue = BigDecimal.ZERO;
+        private long totalTransactions;
+        private long totalSaleGames;
+        private long stripePayments;
+        @JsonProperty("payPalPayments")
+        private long paypalPayments;
 
-        Map<String, Object> monthSummary = new HashMap<>();
-        monthSummary.put("totalRevenue", totalRevenue);
-        monthSummary.put("totalTransactions", totalTransactions);
-        monthSummary.put("totalSaleGames", totalSaleGames);
-        monthSummary.put("stripePayments", stripePayments);
-        monthSummary.put("payPalPayments", paypalPayments);
-        return monthSummary;
+        void add(MonthlyRevenueView row) {
+            totalRevenue = totalRevenue.add(row.getRevenue());
+            totalTransactions += row.getTransactions();
+            totalSaleGames += row.getSaleGames();
+            if (PaymentMethod.STRIPE.toString().equalsIgnoreCase(row.getPaymentMethod())) {
+                stripePayments += row.getTransactions();
+            } else if (PaymentMethod.PAYPAL.toString().equalsIgnoreCase(row.getPaymentMethod())) {
+                paypalPayments += row.getTransactions();
+            }
+        }
     }
 }
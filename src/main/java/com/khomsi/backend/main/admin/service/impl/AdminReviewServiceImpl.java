@@ -11,6 +11,7 @@ import com.khomsi.backend.main.admin.model.response.AdminModelResponse;
 import com.khomsi.backend.main.admin.model.response.AdminResponse;
 import com.khomsi.backend.main.admin.service.AdminReviewService;
 import com.khomsi.backend.main.utils.email.service.EmailService;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -50,6 +51,7 @@ public class AdminReviewServiceImpl implements AdminReviewService {
     }
 
     @Override
+    @Transactional
     public AdminResponse editReview(ReviewRequest reviewRequest) {
         Review review = reviewService.getReview(reviewRequest.reviewId());
         String truncatedTitle = truncateTitle(review.getGames().getTitle());
@@ -61,6 +63,7 @@ public class AdminReviewServiceImpl implements AdminReviewService {
     }
 
     @Override
+    @Transactional
     public AdminResponse deleteReview(Long reviewId) {
         Review review = reviewService.getReview(reviewId);
         reviewRepository.delete(review);
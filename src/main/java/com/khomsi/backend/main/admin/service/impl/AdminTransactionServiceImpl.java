@@ -3,10 +3,10 @@ package com.khomsi.backend.main.admin.service.impl;
 import com.khomsi.backend.main.admin.model.request.EntityModelRequest;
 import com.khomsi.backend.main.admin.model.response.AdminModelResponse;
 import com.khomsi.backend.main.admin.service.AdminTransactionService;
-import com.khomsi.backend.main.checkout.mapper.TransactionMapper;
 import com.khomsi.backend.main.checkout.model.dto.TransactionDTO;
 import com.khomsi.backend.main.checkout.model.entity.Transaction;
 import com.khomsi.backend.main.checkout.repository.TransactionRepository;
+import com.khomsi.backend.main.checkout.service.TransactionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -21,7 +21,7 @@ import static com.khomsi.backend.main.utils.Utils.createSorting;
 @RequiredArgsConstructor
 public class AdminTransactionServiceImpl implements AdminTransactionService {
     private final TransactionRepository transactionRepository;
-    private final TransactionMapper transactionMapper;
+    private final TransactionService transactionService;
     @Override
     public AdminModelResponse getAllTransactions(EntityModelRequest entityModelRequest) {
         int page = entityModelRequest.getPage();
@@ -29,9 +29,7 @@ public class AdminTransactionServiceImpl implements AdminTransactionService {
                 createSorting(entityModelRequest.getSort(), "createdAt"));
         Page<Transaction> transactionPage = transactionRepository.findAll(pageable);
 
-        List<TransactionDTO> transactions = transactionPage.getContent().stream()
-                .map(transactionMapper::transactionToTransactionDTO)
-                .toList();
+        List<TransactionDTO> transactions = transactionService.toTransactionDTOs(transactionPage.getContent());
 
         return AdminModelResponse.builder()
                 .entities(transactions)
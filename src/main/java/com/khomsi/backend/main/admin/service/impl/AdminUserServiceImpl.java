@@ -6,20 +6,25 @@ import com.khomsi.backend.main.admin.model.response.AdminResponse;
 import com.khomsi.backend.main.admin.service.AdminUserService;
 import com.khomsi.backend.main.utils.email.service.EmailService;
 import com.khomsi.backend.main.user.mapper.UserInfoMapper;
+import com.khomsi.backend.main.user.model.dto.BalanceHistoryDTO;
 import com.khomsi.backend.main.user.model.dto.ShortUserInfoDTO;
 import com.khomsi.backend.main.user.model.entity.UserInfo;
 import com.khomsi.backend.main.user.repository.UserInfoRepository;
+import com.khomsi.backend.main.user.service.BalanceService;
 import com.khomsi.backend.main.user.service.UserInfoService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import static com.khomsi.backend.main.utils.Utils.createSorting;
+import static org.springframework.transaction.annotation.Isolation.READ_COMMITTED;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +33,7 @@ public class AdminUserServiceImpl implements AdminUserService {
     private final UserInfoRepository userInfoRepository;
     private final UserInfoMapper userInfoMapper;
     private final EmailService emailService;
+    private final BalanceService balanceService;
 
     @Override
     public AdminModelResponse getAllUsers(EntityModelRequest entityModelRequest) {
@@ -35,9 +41,12 @@ public class AdminUserServiceImpl implements AdminUserService {
         Pageable pageable = PageRequest.of(page, entityModelRequest.getSize(),
                 createSorting(entityModelRequest.getSort(), "externalId"));
         Page<UserInfo> userInfoPage = userInfoRepository.findAll(pageable);
+        Map<String, BigDecimal> balances = balanceService.getBalances(userInfoPage.getContent().stream()
+                .map(UserInfo::getExternalId)
+                .toList());
 
         List<ShortUserInfoDTO> users = userInfoPage.getContent().stream()
-                .map(userInfoMapper::toShortUserInfoDTO)
+                .map(user -> userInfoMapper.toShortUserInfoDTO(user, balances.get(user.getExternalId())))
                 .toList();
 
         return AdminModelResponse.builder()
@@ -49,11 +58,22 @@ public class AdminUserServiceImpl implements AdminUserService {
     }
 
     @Override
+    public AdminModelResponse getUserBalanceHistory(String userId, EntityModelRequest entityModelRequest) {
+        BalanceHistoryDTO history = balanceService.getHistory(userId, entityModelRequest.getPage(),
+                entityModelRequest.getSize());
+        return AdminModelResponse.builder()
+                .entities(history.entries())
+                .totalItems(history.totalItems())
+                .totalPages(history.totalPages())
+                .currentPage(history.currentPage())
+                .build();
+    }
+
+    @Override
+    @Transactional(isolation = READ_COMMITTED)
     public AdminResponse updateUserBalance(String userId, BigDecimal newBalance) {
         UserInfo user = userInfoService.getExistingUser(userId);
-        BigDecimal oldBalance = user.getBalance();
-        user.setBalance(newBalance);
-        userInfoRepository.save(user);
+        BigDecimal oldBalance = balanceService.setBalance(userId, newBalance);
         emailService.sendBalanceUpdateNotification(user.getEmail(), oldBalance, newBalance);
         return new AdminResponse("User balance updated successfully");
     }
@@ -8,6 +8,8 @@ import com.khomsi.backend.main.ai.model.dto.ChatResponse;
 import com.khomsi.backend.main.ai.service.ChatService;
 import com.khomsi.backend.main.game.GameRepository;
 import com.khomsi.backend.main.game.mapper.GameMapper;
+import com.khomsi.backend.main.utils.resilience.executor.ResilientCallExecutor;
+import com.khomsi.backend.main.utils.resilience.model.enums.Integration;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -23,11 +25,13 @@ public class ChatServiceImpl implements ChatService {
     private final ChatSession chatSession;
     private final GameRepository gameRepository;
     private final GameMapper gameMapper;
+    private final ResilientCallExecutor resilientCallExecutor;
 
     @Override
     public ChatResponse sendRequestToAiChat(String text) throws IOException {
         String requestText = getRequestText(text);
-        GenerateContentResponse generateContentResponse = this.chatSession.sendMessage(requestText);
+        GenerateContentResponse generateContentResponse = resilientCallExecutor.execute(Integration.VERTEX_AI,
+                () -> chatSession.sendMessage(requestText));
         return new ChatResponse(ResponseHandler.getText(generateContentResponse));
     }
 
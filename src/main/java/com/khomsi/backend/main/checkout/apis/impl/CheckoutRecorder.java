@@ -0,0 +1,51 @@
+package com.khomsi.backend.main.checkout.apis.impl;
+
+import com.khomsi.backend.main.checkout.model.dto.stripe.PaymentResponse;
+import com.khomsi.backend.main.checkout.model.enums.PaymentMethod;
+import com.khomsi.backend.main.utils.jfr.event.CheckoutStepEvent;
+import com.khomsi.backend.main.utils.jfr.event.OutboundCallEvent;
+import com.khomsi.backend.main.utils.jfr.recorder.JfrRecorder;
+import com.khomsi.backend.main.utils.resilience.executor.RemoteCall;
+import com.khomsi.backend.main.utils.resilience.model.enums.Integration;
+import com.stripe.exception.StripeException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+// JFR events for the payment providers; fields are only filled when the event is going to be recorded
+final class CheckoutRecorder {
+    private CheckoutRecorder() {
+    }
+
+    static PaymentResponse step(String step, PaymentMethod paymentMethod, String transactionId,
+                                Supplier<PaymentResponse> action) {
+        return JfrRecorder.record(CheckoutStepEvent::new, action::get, (event, response, failure) -> {
+            event.step = step;
+            event.paymentMethod = paymentMethod.name();
+            event.transactionId = transactionId;
+            event.outcome = failure != null ? failure.getClass().getSimpleName() : response.status();
+        });
+    }
+
+    // Wraps the resilient call, so rejections and timeouts are recorded too, with status 0
+    static <T, E extends Exception> T call(Integration provider, String operation, RemoteCall<T, E> call,
+                                           ToIntFunction<T> status) throws E {
+        return JfrRecorder.record(OutboundCallEvent::new, call::call, (event, result, failure) -> {
+            event.provider = provider.label();
+            event.operation = operation;
+            event.status = failure != null ? statusOf(failure) : status.applyAsInt(result);
+            event.outcome = failure != null ? "error" : "success";
+        });
+    }
+
+    private static int statusOf(Exception e) {
+        if (e instanceof RestClientResponseException responseException) {
+            return responseException.getStatusCode().value();
+        }
+        if (e instanceof StripeException stripeException && stripeException.getStatusCode() != null) {
+            return stripeException.getStatusCode();
+        }
+        return 0;
+    }
+}
@@ -2,6 +2,9 @@ package com.khomsi.backend.main.checkout.apis.impl;
 
 import com.khomsi.backend.main.checkout.apis.CurrencyService;
 import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.utils.resilience.executor.ResilientCallExecutor;
+import com.khomsi.backend.main.utils.resilience.model.enums.Integration;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -13,9 +16,12 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
 @Service
+@RequiredArgsConstructor
 public class CurrencyServiceImpl implements CurrencyService {
     @Value("${app.payment.currencyApi}")
     private String currencyApiUrl;
+    private final RestTemplate restTemplate;
+    private final ResilientCallExecutor resilientCallExecutor;
 
     @Override
     public BigDecimal convertToUSD(BigDecimal amountInUAH) {
@@ -23,9 +29,12 @@ public class CurrencyServiceImpl implements CurrencyService {
     }
 
     private BigDecimal getUSDRate() {
-        RestTemplate restTemplate = new RestTemplate();
         String formattedDate = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        CurrencyRate[] rates = restTemplate.getForObject(currencyApiUrl + "&date=" + formattedDate + "&json", CurrencyRate[].class);
+        CurrencyRate[] rates = CheckoutRecorder.call(Integration.CURRENCY, "rate",
+                () -> resilientCallExecutor.execute(Integration.CURRENCY, () -> restTemplate.getForObject(
+                        currencyApiUrl + "&date=" + formattedDate + "&json", CurrencyRate[].class)),
+                // getForObject throws on anything but 2xx
+                response -> HttpStatus.OK.value());
         if (rates != null && rates.length > 0) {
             return BigDecimal.valueOf(rates[0].rate());
         } else {
@@ -1,63 +1,69 @@
 package com.khomsi.backend.main.checkout.apis.impl;
 
-import com.khomsi.backend.additional.cart.model.dto.CartDTO;
-import com.khomsi.backend.additional.cart.model.dto.CartItemDto;
-import com.khomsi.backend.additional.cart.service.CartService;
+import com.khomsi.backend.main.checkout.model.dto.CheckoutContext;
 import com.khomsi.backend.main.checkout.model.dto.stripe.CreatePaymentResponse;
 import com.khomsi.backend.main.checkout.model.dto.stripe.PaymentResponse;
 import com.khomsi.backend.main.checkout.model.entity.Transaction;
 import com.khomsi.backend.main.checkout.model.enums.BalanceAction;
 import com.khomsi.backend.main.checkout.model.enums.PaymentMethod;
 import com.khomsi.backend.main.checkout.service.TransactionService;
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
 import com.khomsi.backend.main.user.model.entity.UserInfo;
-import com.khomsi.backend.main.user.repository.UserInfoRepository;
+import com.khomsi.backend.main.user.model.entity.BalanceEntryType;
+import com.khomsi.backend.main.user.service.BalanceService;
 import com.khomsi.backend.main.user.service.UserInfoService;
-import jakarta.transaction.Transactional;
+import com.khomsi.backend.main.utils.jfr.event.CheckoutStepEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static com.khomsi.backend.main.checkout.apis.impl.ApiResponseBuilder.buildFailureResponse;
 import static com.khomsi.backend.main.checkout.apis.impl.ApiResponseBuilder.buildResponse;
+import static org.springframework.transaction.annotation.Isolation.READ_COMMITTED;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
+@Transactional(isolation = READ_COMMITTED)
 public class LocalPaymentImpl implements LocalPaymentService {
-    private final CartService cartService;
     private final UserInfoService userInfoService;
-    private final UserInfoRepository userInfoRepository;
+    private final BalanceService balanceService;
     private final TransactionService transactionService;
 
     @Override
     public PaymentResponse createPayment() {
-        UserInfo existingUser = userInfoService.getUserInfo();
-        CartDTO cartDto = cartService.cartItems();
-        List<CartItemDto> cartItemDtoList = cartDto.cartItems();
-        if (cartItemDtoList.isEmpty()
-                || cartDto.totalCost().compareTo(existingUser.getBalance()) > 0) {
+        return CheckoutRecorder.step(CheckoutStepEvent.CREATE, PaymentMethod.LOCAL, null, this::debitBalance);
+    }
+
+    private PaymentResponse debitBalance() {
+        CheckoutContext context = transactionService.loadCheckoutContext();
+        String transactionId = UUID.randomUUID().toString();
+        if (context.isEmpty() || !balanceService.debit(context.user().getExternalId(), context.total(),
+                BalanceEntryType.PURCHASE, transactionId)) {
             return buildFailureResponse("Insufficient funds or empty cart", HttpStatus.BAD_REQUEST);
         }
-        BigDecimal newBalance = existingUser.getBalance().subtract(cartDto.totalCost());
-        existingUser.setBalance(newBalance);
-        userInfoRepository.save(existingUser);
-        String transactionId = UUID.randomUUID().toString();
         transactionService.placeTemporaryTransaction(null, transactionId, null,
-                BalanceAction.NO_ACTION, PaymentMethod.LOCAL);
+                BalanceAction.NO_ACTION, PaymentMethod.LOCAL, context);
         return buildResponse(CreatePaymentResponse.builder()
                 .sessionId(transactionId).build(), "Local payment is successfully created!");
     }
 
     @Override
     public PaymentResponse capturePayment(String sessionId) {
+        return CheckoutRecorder.step(CheckoutStepEvent.CAPTURE, PaymentMethod.LOCAL, sessionId,
+                () -> captureTransaction(sessionId));
+    }
+
+    private PaymentResponse captureTransaction(String sessionId) {
         UserInfo userInfo = userInfoService.getUserInfo();
+        if (userInfo == null) {
+            throw new GlobalServiceException(HttpStatus.UNAUTHORIZED, "User is not authenticated.");
+        }
         Optional<Transaction> optionalTransaction = transactionService.getTransaction(sessionId, userInfo);
         if (optionalTransaction.isEmpty()) {
             return buildFailureResponse("Local payment captured failed for session ID: " + sessionId,
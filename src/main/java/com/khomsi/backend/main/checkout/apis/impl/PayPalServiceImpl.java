@@ -1,10 +1,8 @@
 package com.khomsi.backend.main.checkout.apis.impl;
 
-import com.khomsi.backend.additional.cart.model.dto.CartDTO;
-import com.khomsi.backend.additional.cart.model.dto.CartItemDto;
-import com.khomsi.backend.additional.cart.service.CartService;
 import com.khomsi.backend.main.checkout.apis.CurrencyService;
 import com.khomsi.backend.main.checkout.apis.PaypalService;
+import com.khomsi.backend.main.checkout.model.dto.CheckoutContext;
 import com.khomsi.backend.main.checkout.model.dto.paypal.*;
 import com.khomsi.backend.main.checkout.model.dto.stripe.PaymentResponse;
 import com.khomsi.backend.main.checkout.model.enums.BalanceAction;
@@ -12,6 +10,9 @@ import com.khomsi.backend.main.checkout.model.enums.Constant;
 import com.khomsi.backend.main.checkout.model.enums.PaymentMethod;
 import com.khomsi.backend.main.checkout.service.TransactionService;
 import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.utils.jfr.event.CheckoutStepEvent;
+import com.khomsi.backend.main.utils.resilience.executor.ResilientCallExecutor;
+import com.khomsi.backend.main.utils.resilience.model.enums.Integration;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -45,55 +46,75 @@ public class PayPalServiceImpl implements PaypalService {
     private final RestTemplate restTemplate;
     private final TransactionService transactionService;
     private final CurrencyService currencyService;
-    private final CartService cartService;
+    private final ResilientCallExecutor resilientCallExecutor;
 
     @Override
     public PaymentResponse createBalanceRecharge(BigDecimal amount, HttpServletRequest url) {
-        return getPaymentResponse(amount, BalanceAction.BALANCE_RECHARGE,
-                url, null);
+        return CheckoutRecorder.step(CheckoutStepEvent.CREATE, PaymentMethod.PAYPAL, null,
+                () -> getPaymentResponse(amount, BalanceAction.BALANCE_RECHARGE, url, null));
     }
 
     @Override
     public PaymentResponse createPayment(BalanceAction balanceAction, HttpServletRequest url) {
-        CartDTO cartDto = cartService.cartItems();
-        List<CartItemDto> cartItemDtoList = cartDto.cartItems();
-        if (cartItemDtoList.isEmpty() || balanceAction == BalanceAction.BALANCE_RECHARGE) {
+        return CheckoutRecorder.step(CheckoutStepEvent.CREATE, PaymentMethod.PAYPAL, null,
+                () -> createCartPayment(balanceAction, url));
+    }
+
+    private PaymentResponse createCartPayment(BalanceAction balanceAction, HttpServletRequest url) {
+        if (balanceAction == BalanceAction.BALANCE_RECHARGE) {
+            return buildFailureResponse("Method is not accessible.", HttpStatus.BAD_REQUEST);
+        }
+        CheckoutContext context = transactionService.loadCheckoutContext();
+        if (context.isEmpty()) {
             return buildFailureResponse("Method is not accessible.", HttpStatus.BAD_REQUEST);
         }
-        return getPaymentResponse(null, balanceAction, url, cartItemDtoList);
+        return getPaymentResponse(null, balanceAction, url, context);
     }
 
     private PaymentResponse getPaymentResponse(BigDecimal amount, BalanceAction balanceAction,
-                                               HttpServletRequest url, List<CartItemDto> cartItemDtoList) {
+                                               HttpServletRequest url, CheckoutContext context) {
         BigDecimal totalAmountForBill
-                = transactionService.calculateTotalAmount(amount, balanceAction, cartItemDtoList);
+                = transactionService.calculateTotalAmount(amount, balanceAction, context);
         PaymentCreationRequest paymentRequest = new PaymentCreationRequest(
                 "CAPTURE",
                 createPurchaseUnits(totalAmountForBill),
                 createPaymentSource(url)
         );
-        ResponseEntity<PaymentCreationResponse> paymentCreationResponse = restTemplate.exchange(
-                baseApiUrl + "/v2/checkout/orders",
-                HttpMethod.POST, getRequestBody(paymentRequest), PaymentCreationResponse.class);
+        HttpEntity<?> requestBody = getRequestBody(paymentRequest);
+        ResponseEntity<PaymentCreationResponse> paymentCreationResponse = CheckoutRecorder.call(
+                Integration.PAYPAL, "orders.create", () -> resilientCallExecutor.execute(
+                        Integration.PAYPAL, () -> restTemplate.exchange(baseApiUrl + "/v2/checkout/orders",
+                                HttpMethod.POST, requestBody, PaymentCreationResponse.class)),
+                response -> response.getStatusCode().value());
 
         if (!paymentCreationResponse.getStatusCode().is2xxSuccessful())
             throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Can't create paypal payment!");
         String redirectUrl = paymentCreationResponse.getBody().links().get(1).href();
         transactionService.placeTemporaryTransaction(totalAmountForBill, paymentCreationResponse.getBody().id(),
-                redirectUrl, balanceAction, PaymentMethod.PAYPAL);
+                redirectUrl, balanceAction, PaymentMethod.PAYPAL, context);
         return buildResponse(redirectUrl);
     }
 
     @Override
     public PaymentResponse capturePayment(String token) {
+        return CheckoutRecorder.step(CheckoutStepEvent.CAPTURE, PaymentMethod.PAYPAL, token,
+                () -> captureOrder(token));
+    }
+
+    private PaymentResponse captureOrder(String token) {
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.setContentType(MediaType.APPLICATION_JSON);
         httpHeaders.setBearerAuth(generateAccessToken());
+        // Keyed by the order, so a capture repeated after a lost response returns the first result
+        // instead of failing as already captured
+        httpHeaders.set("PayPal-Request-Id", token);
         HttpEntity<?> httpEntity = new HttpEntity<>(httpHeaders);
 
-        ResponseEntity<PaypalPaymentCaptureResponse> responseEntity = restTemplate.exchange(
-                baseApiUrl + "/v2/checkout/orders/" + token + "/capture",
-                HttpMethod.POST, httpEntity, PaypalPaymentCaptureResponse.class);
+        ResponseEntity<PaypalPaymentCaptureResponse> responseEntity = CheckoutRecorder.call(
+                Integration.PAYPAL, "orders.capture", () -> resilientCallExecutor.executeWrite(
+                        Integration.PAYPAL, () -> restTemplate.exchange(baseApiUrl + "/v2/checkout/orders/" + token
+                                + "/capture", HttpMethod.POST, httpEntity, PaypalPaymentCaptureResponse.class)),
+                response -> response.getStatusCode().value());
 
         if (!responseEntity.getStatusCode().is2xxSuccessful())
             throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Can't capture paypal payment!");
@@ -139,9 +160,11 @@ public class PayPalServiceImpl implements PaypalService {
 
         HttpEntity<?> httpEntity = new HttpEntity<>(requestBody, httpHeaders);
 
-        ResponseEntity<AccessTokenResponse> accessTokenResponse = restTemplate.exchange(
-                baseApiUrl + "/v1/oauth2/token",
-                HttpMethod.POST, httpEntity, AccessTokenResponse.class);
+        ResponseEntity<AccessTokenResponse> accessTokenResponse = CheckoutRecorder.call(
+                Integration.PAYPAL, "oauth2.token", () -> resilientCallExecutor.execute(
+                        Integration.PAYPAL, () -> restTemplate.exchange(baseApiUrl + "/v1/oauth2/token",
+                                HttpMethod.POST, httpEntity, AccessTokenResponse.class)),
+                response -> response.getStatusCode().value());
 
         if (!accessTokenResponse.getStatusCode().is2xxSuccessful())
             throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Can't generate paypal access token!");
@@ -1,9 +1,8 @@
 package com.khomsi.backend.main.checkout.apis.impl;
 
-import com.khomsi.backend.additional.cart.model.dto.CartDTO;
-import com.khomsi.backend.additional.cart.model.dto.CartItemDto;
-import com.khomsi.backend.additional.cart.service.CartService;
 import com.khomsi.backend.main.checkout.apis.StripeService;
+import com.khomsi.backend.main.checkout.config.StripeProperties;
+import com.khomsi.backend.main.checkout.model.dto.CheckoutContext;
 import com.khomsi.backend.main.checkout.model.dto.stripe.CapturePaymentResponse;
 import com.khomsi.backend.main.checkout.model.dto.stripe.CreatePaymentResponse;
 import com.khomsi.backend.main.checkout.model.dto.stripe.PaymentResponse;
@@ -11,10 +10,15 @@ import com.khomsi.backend.main.checkout.model.enums.BalanceAction;
 import com.khomsi.backend.main.checkout.model.enums.Constant;
 import com.khomsi.backend.main.checkout.model.enums.PaymentMethod;
 import com.khomsi.backend.main.checkout.service.TransactionService;
-import com.stripe.Stripe;
+import com.khomsi.backend.main.utils.jfr.event.CheckoutStepEvent;
+import com.khomsi.backend.main.utils.resilience.executor.ResilientCallExecutor;
+import com.khomsi.backend.main.utils.resilience.model.enums.Integration;
+import com.stripe.StripeClient;
 import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.checkout.SessionCreateParams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +27,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.List;
 import java.util.stream.Collectors;
 
 import static com.khomsi.backend.main.checkout.apis.impl.ApiResponseBuilder.buildFailureResponse;
@@ -34,48 +37,56 @@ import static com.khomsi.backend.main.checkout.model.enums.PaymentEndpoints.*;
 @RequiredArgsConstructor
 @Slf4j
 public class StripeServiceImpl implements StripeService {
-    @Value("${app.payment.stripe.stripe-secret}")
-    private String secretKey;
-    @Value("${app.payment.stripe.currency}")
-    private String currency;
     @Value("${app.payment.unitAmount}")
     private BigDecimal unitAmount;
     private final TransactionService transactionService;
-    private final CartService cartService;
+    private final StripeClient stripeClient;
+    private final StripeProperties stripeProperties;
+    private final MeterRegistry meterRegistry;
+    private final ResilientCallExecutor resilientCallExecutor;
 
     @Override
     public PaymentResponse createBalanceRecharge(BigDecimal amount, HttpServletRequest url) {
-        return getPaymentResponse(amount, true, BalanceAction.BALANCE_RECHARGE,
-                url, null);
+        return CheckoutRecorder.step(CheckoutStepEvent.CREATE, PaymentMethod.STRIPE, null,
+                () -> getPaymentResponse(amount, true, BalanceAction.BALANCE_RECHARGE, url, null));
     }
 
     @Override
     public PaymentResponse createPayment(BalanceAction balanceAction, HttpServletRequest url) {
-        CartDTO cartDto = cartService.cartItems();
-        List<CartItemDto> cartItemDtoList = cartDto.cartItems();
-        if (cartItemDtoList.isEmpty() || balanceAction == BalanceAction.BALANCE_RECHARGE) {
+        return CheckoutRecorder.step(CheckoutStepEvent.CREATE, PaymentMethod.STRIPE, null,
+                () -> createCartPayment(balanceAction, url));
+    }
+
+    private PaymentResponse createCartPayment(BalanceAction balanceAction, HttpServletRequest url) {
+        if (balanceAction == BalanceAction.BALANCE_RECHARGE) {
+            return buildFailureResponse("Method is not accessible.", HttpStatus.BAD_REQUEST);
+        }
+        CheckoutContext context = transactionService.loadCheckoutContext();
+        if (context.isEmpty()) {
             return buildFailureResponse("Method is not accessible.", HttpStatus.BAD_REQUEST);
         }
-        return getPaymentResponse(null, false, balanceAction, url, cartItemDtoList);
+        return getPaymentResponse(null, false, balanceAction, url, context);
     }
 
     private PaymentResponse getPaymentResponse(BigDecimal amount, boolean isBalanceRecharge,
                                                BalanceAction balanceAction, HttpServletRequest url,
-                                               List<CartItemDto> cartItemDtoList) {
+                                               CheckoutContext context) {
         try {
-            Stripe.apiKey = secretKey;
-            BigDecimal totalAmount = transactionService.calculateTotalAmount(amount, balanceAction, cartItemDtoList);
+            BigDecimal totalAmount = transactionService.calculateTotalAmount(amount, balanceAction, context);
             // Create session line item with total amount
             SessionCreateParams.LineItem sessionLineItem =
-                    createSessionLineItemWithTotal(totalAmount, cartItemDtoList, isBalanceRecharge);
+                    createSessionLineItemWithTotal(totalAmount, context, isBalanceRecharge);
 
             SessionCreateParams params = buildSessionParams(url, sessionLineItem);
 
-            Session session = Session.create(params);
+            Session session = CheckoutRecorder.call(Integration.STRIPE, "session.create",
+                    () -> resilientCallExecutor.executeWrite(Integration.STRIPE, () -> timed("session.create",
+                            () -> stripeClient.checkout().sessions().create(params))),
+                    created -> created.getLastResponse().code());
 
             CreatePaymentResponse responseData = buildPaymentResponse(session);
             transactionService.placeTemporaryTransaction(totalAmount,
-                    responseData.sessionId(), responseData.sessionUrl(), balanceAction, PaymentMethod.STRIPE);
+                    responseData.sessionId(), responseData.sessionUrl(), balanceAction, PaymentMethod.STRIPE, context);
             return buildResponse(responseData, "Stripe session created successfully");
         } catch (StripeException e) {
             log.error("Error creating payment session: {}", e.getMessage());
@@ -85,9 +96,16 @@ public class StripeServiceImpl implements StripeService {
 
     @Override
     public PaymentResponse capturePayment(String sessionId) {
-        Stripe.apiKey = secretKey;
+        return CheckoutRecorder.step(CheckoutStepEvent.CAPTURE, PaymentMethod.STRIPE, sessionId,
+                () -> captureSession(sessionId));
+    }
+
+    private PaymentResponse captureSession(String sessionId) {
         try {
-            Session session = Session.retrieve(sessionId);
+            Session session = CheckoutRecorder.call(Integration.STRIPE, "session.retrieve",
+                    () -> resilientCallExecutor.execute(Integration.STRIPE, () -> timed("session.retrieve",
+                            () -> stripeClient.checkout().sessions().retrieve(sessionId))),
+                    retrieved -> retrieved.getLastResponse().code());
             String status = session.getStatus();
             CapturePaymentResponse responseData = buildCapturePaymentResponse(sessionId, status);
 
@@ -128,11 +146,11 @@ public class StripeServiceImpl implements StripeService {
 
     // Create session line item with total amount
     private SessionCreateParams.LineItem createSessionLineItemWithTotal(BigDecimal totalAmount,
-                                                                        List<CartItemDto> cartItemDtoList,
+                                                                        CheckoutContext context,
                                                                         boolean isBalanceRecharge) {
         String productName = isBalanceRecharge ? "Balance Recharge | GRID" :
-                cartItemDtoList.stream()
-                        .map(cartItem -> cartItem.game().title())
+                context.lines().stream()
+                        .map(line -> line.game().getTitle())
                         .collect(Collectors.joining(", "));
 
         SessionCreateParams.LineItem.PriceData priceData = createPriceData(totalAmount, productName);
@@ -145,7 +163,7 @@ public class StripeServiceImpl implements StripeService {
 
     private SessionCreateParams.LineItem.PriceData createPriceData(BigDecimal totalAmount, String description) {
         return SessionCreateParams.LineItem.PriceData.builder()
-                .setCurrency(currency)
+                .setCurrency(stripeProperties.getCurrency())
                 .setUnitAmount(totalAmount.multiply(unitAmount).longValueExact())
                 .setProductData(
                         SessionCreateParams.LineItem.PriceData.ProductData.builder()
@@ -155,6 +173,28 @@ public class StripeServiceImpl implements StripeService {
                 .build();
     }
 
+    // Records provider latency per operation, including SDK retries, tagged with the outcome
+    private <T> T timed(String operation, StripeCall<T> call) throws StripeException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.execute();
+        } catch (StripeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("stripe.requests")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    @FunctionalInterface
+    private interface StripeCall<T> {
+        T execute() throws StripeException;
+    }
+
     private CreatePaymentResponse buildPaymentResponse(Session session) {
         return CreatePaymentResponse.builder()
                 .sessionId(session.getId())
@@ -0,0 +1,26 @@
+package com.khomsi.backend.main.checkout.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.payment.idempotency")
+public class IdempotencyProperties {
+    @Min(1)
+    private int cacheSize = 10_000;
+    @NotNull
+    private Duration ttl = Duration.ofHours(24);
+    // A reservation older than this is treated as left behind by a crashed request
+    @NotNull
+    private Duration inProgressTimeout = Duration.ofMinutes(2);
+    @Min(1)
+    private int cleanupBatchSize = 1000;
+}
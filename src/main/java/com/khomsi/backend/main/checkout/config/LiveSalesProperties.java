@@ -0,0 +1,31 @@
+package com.khomsi.backend.main.checkout.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.metrics.live-sales")
+public class LiveSalesProperties {
+    // Rolling window for the per-minute totals and top games, one bucket per second
+    @Min(1)
+    @Max(3600)
+    private int windowSeconds = 60;
+    @Min(1)
+    private int topGames = 5;
+    @Min(1)
+    private int maxSubscribers = 50;
+    // A client that has not taken this many frames in a row is disconnected
+    @Min(1)
+    private int maxSkippedFrames = 30;
+    @NotNull
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+}
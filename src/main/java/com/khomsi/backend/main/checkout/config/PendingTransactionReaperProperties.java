@@ -0,0 +1,22 @@
+package com.khomsi.backend.main.checkout.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.payment.pending-reaper")
+public class PendingTransactionReaperProperties {
+    // Must outlive Stripe and PayPal checkout sessions, otherwise a late capture finds no transaction
+    @NotNull
+    private Duration maxAge = Duration.ofHours(72);
+    @Min(1)
+    private int batchSize = 500;
+}
@@ -0,0 +1,23 @@
+package com.khomsi.backend.main.checkout.config;
+
+import com.stripe.StripeClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+@Configuration
+public class StripeClientConfig {
+    // One shared client: the SDK transport keeps connections alive between calls
+    @Bean
+    public StripeClient stripeClient(StripeProperties properties) {
+        StripeClient.StripeClientBuilder builder = StripeClient.builder()
+                .setApiKey(properties.getStripeSecret())
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setReadTimeout((int) properties.getReadTimeout().toMillis())
+                .setMaxNetworkRetries(properties.getMaxNetworkRetries());
+        if (StringUtils.hasText(properties.getApiBase())) {
+            builder.setApiBase(properties.getApiBase());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.khomsi.backend.main.checkout.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.payment.stripe")
+public class StripeProperties {
+    @NotBlank
+    private String stripeSecret;
+    @NotBlank
+    private String currency;
+    // Points the client at a local stub (e.g. stripe-mock) for load tests; empty means api.stripe.com
+    private String apiBase;
+    @NotNull
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    @NotNull
+    private Duration readTimeout = Duration.ofSeconds(20);
+    // The SDK retries only idempotent-safe failures and sends an Idempotency-Key with each retry
+    @Min(0)
+    private int maxNetworkRetries = 2;
+}
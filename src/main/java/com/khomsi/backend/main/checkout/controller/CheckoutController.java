@@ -5,6 +5,7 @@ import com.khomsi.backend.main.checkout.apis.StripeService;
 import com.khomsi.backend.main.checkout.apis.impl.LocalPaymentService;
 import com.khomsi.backend.main.checkout.model.dto.stripe.PaymentResponse;
 import com.khomsi.backend.main.checkout.model.enums.BalanceAction;
+import com.khomsi.backend.main.checkout.service.IdempotencyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -27,15 +29,19 @@ import static com.khomsi.backend.сonfig.ApplicationConfig.BEARER_KEY_SECURITY_S
 @Validated
 @RequiredArgsConstructor
 public class CheckoutController {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
     private final StripeService stripeService;
     private final PaypalService paypalService;
     private final LocalPaymentService localPaymentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/balance/create-payment")
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
             summary = "Local endpoint to create payment")
-    public ResponseEntity<PaymentResponse> checkoutLocal() {
-        PaymentResponse paymentResponse = localPaymentService.createPayment();
+    public ResponseEntity<PaymentResponse> checkoutLocal(@RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                         HttpServletRequest request) {
+        PaymentResponse paymentResponse = idempotencyService.execute(idempotencyKey, request,
+                localPaymentService::createPayment);
         return ResponseEntity
                 .status(paymentResponse.httpStatus())
                 .body(paymentResponse);
@@ -44,8 +50,11 @@ public class CheckoutController {
     @PostMapping("/balance/capture-payment")
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
             summary = "Local endpoint to capture payment")
-    public ResponseEntity<PaymentResponse> captureLocal(@RequestParam("sessionId") String sessionId) {
-        PaymentResponse paymentResponse = localPaymentService.capturePayment(sessionId);
+    public ResponseEntity<PaymentResponse> captureLocal(@RequestParam("sessionId") String sessionId,
+                                                        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                        HttpServletRequest request) {
+        PaymentResponse paymentResponse = idempotencyService.execute(idempotencyKey, request,
+                () -> localPaymentService.capturePayment(sessionId));
         return ResponseEntity
                 .status(paymentResponse.httpStatus())
                 .body(paymentResponse);
@@ -54,9 +63,12 @@ public class CheckoutController {
     @PostMapping("/recharge/stripe/create-payment")
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
             summary = "Stripe endpoint to create session for balance recharging")
-    public ResponseEntity<PaymentResponse> balanceRechargeStripe(BigDecimal amount, HttpServletRequest request) {
+    public ResponseEntity<PaymentResponse> balanceRechargeStripe(BigDecimal amount,
+                                                                 @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                                 HttpServletRequest request) {
         // create the stripe session
-        PaymentResponse paymentResponse = stripeService.createBalanceRecharge(amount, request);
+        PaymentResponse paymentResponse = idempotencyService.execute(idempotencyKey, request,
+                () -> stripeService.createBalanceRecharge(amount, request));
         // send the stripe session id in response
         return ResponseEntity
                 .status(paymentResponse.httpStatus())
@@ -66,9 +78,12 @@ public class CheckoutController {
     @PostMapping("/stripe/create-payment")
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
             summary = "Stripe endpoint to create session")
-    public ResponseEntity<PaymentResponse> checkoutStripe(BalanceAction balanceAction, HttpServletRequest request) {
+    public ResponseEntity<PaymentResponse> checkoutStripe(BalanceAction balanceAction,
+                                                          @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                          HttpServletRequest request) {
         // create the stripe session
-        PaymentResponse paymentResponse = stripeService.createPayment(balanceAction, request);
+        PaymentResponse paymentResponse = idempotencyService.execute(idempotencyKey, request,
+                () -> stripeService.createPayment(balanceAction, request));
         // send the stripe session id in response
         return ResponseEntity
                 .status(paymentResponse.httpStatus())
@@ -79,8 +94,11 @@ public class CheckoutController {
     @PostMapping("/stripe/capture-payment")
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
             summary = "Stripe capture to place the order")
-    public ResponseEntity<PaymentResponse> placeStripeOrder(@RequestParam("sessionId") String sessionId) {
-        PaymentResponse paymentResponse = stripeService.capturePayment(sessionId);
+    public ResponseEntity<PaymentResponse> placeStripeOrder(@RequestParam("sessionId") String sessionId,
+                                                            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                            HttpServletRequest request) {
+        PaymentResponse paymentResponse = idempotencyService.execute(idempotencyKey, request,
+                () -> stripeService.capturePayment(sessionId));
         return ResponseEntity
                 .status(paymentResponse.httpStatus())
                 .body(paymentResponse);
@@ -89,9 +107,12 @@ public class CheckoutController {
     @PostMapping("/recharge/paypal/create-payment")
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
             summary = "Paypal endpoint to create session for balance recharge")
-    public ResponseEntity<PaymentResponse> balanceRechargePayPal(BigDecimal amount, HttpServletRequest request) {
+    public ResponseEntity<PaymentResponse> balanceRechargePayPal(BigDecimal amount,
+                                                                 @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                                 HttpServletRequest request) {
         // create the stripe session
-        PaymentResponse paymentResponse = paypalService.createBalanceRecharge(amount, request);
+        PaymentResponse paymentResponse = idempotencyService.execute(idempotencyKey, request,
+                () -> paypalService.createBalanceRecharge(amount, request));
         // send the stripe session id in response
         return ResponseEntity
                 .status(paymentResponse.httpStatus())
@@ -101,9 +122,12 @@ public class CheckoutController {
     @PostMapping("/paypal/create-payment")
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
             summary = "Paypal endpoint to create session")
-    public ResponseEntity<PaymentResponse> checkoutPayPal(BalanceAction balanceAction, HttpServletRequest request) {
+    public ResponseEntity<PaymentResponse> checkoutPayPal(BalanceAction balanceAction,
+                                                          @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                          HttpServletRequest request) {
         // create the stripe session
-        PaymentResponse paymentResponse = paypalService.createPayment(balanceAction, request);
+        PaymentResponse paymentResponse = idempotencyService.execute(idempotencyKey, request,
+                () -> paypalService.createPayment(balanceAction, request));
         // send the stripe session id in response
         return ResponseEntity
                 .status(paymentResponse.httpStatus())
@@ -113,8 +137,11 @@ public class CheckoutController {
     @PostMapping("/paypal/capture-payment")
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
             summary = "PaypalService capture to place the order")
-    public ResponseEntity<PaymentResponse> placePayPalOrder(@RequestParam("sessionId") String sessionId) {
-        PaymentResponse paymentResponse = paypalService.capturePayment(sessionId);
+    public ResponseEntity<PaymentResponse> placePayPalOrder(@RequestParam("sessionId") String sessionId,
+                                                            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                            HttpServletRequest request) {
+        PaymentResponse paymentResponse = idempotencyService.execute(idempotencyKey, request,
+                () -> paypalService.capturePayment(sessionId));
         return ResponseEntity
                 .status(paymentResponse.httpStatus())
                 .body(paymentResponse);
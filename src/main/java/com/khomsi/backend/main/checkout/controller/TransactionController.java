@@ -1,11 +1,14 @@
 package com.khomsi.backend.main.checkout.controller;
 
 import com.khomsi.backend.main.checkout.model.dto.TransactionDTO;
+import com.khomsi.backend.main.checkout.model.dto.TransactionHistoryDTO;
 import com.khomsi.backend.main.checkout.model.response.TransactionResponse;
 import com.khomsi.backend.main.checkout.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
@@ -31,6 +34,15 @@ public class TransactionController {
         return transactionService.transactionList();
     }
 
+    @GetMapping("/history")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
+            summary = "Get a page of user's transactions, newest first; pass nextCursor to get the following page")
+    public TransactionHistoryDTO getTransactionHistory(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return transactionService.transactionHistory(cursor, size);
+    }
+
     @PostMapping("/revert")
     @ResponseStatus(HttpStatus.OK)
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
@@ -0,0 +1,30 @@
+package com.khomsi.backend.main.checkout.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+
+import static com.khomsi.backend.main.checkout.controller.CheckoutController.IDEMPOTENCY_KEY_HEADER;
+
+// Keeps the body of requests sent with an Idempotency-Key, IdempotencyService hashes it after the
+// controller has already read it
+@Component
+public class IdempotentRequestFilter extends OncePerRequestFilter {
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(new ContentCachingRequestWrapper(request), response);
+    }
+}
@@ -2,7 +2,10 @@ package com.khomsi.backend.main.checkout.mapper;
 
 import com.khomsi.backend.main.checkout.model.dto.TransactionDTO;
 import com.khomsi.backend.main.checkout.model.entity.Transaction;
+import com.khomsi.backend.main.checkout.model.entity.TransactionGames;
+
+import java.util.Collection;
 
 public interface TransactionMapper {
-    TransactionDTO transactionToTransactionDTO(Transaction transaction);
+    TransactionDTO transactionToTransactionDTO(Transaction transaction, Collection<TransactionGames> transactionGames);
 }
@@ -4,9 +4,12 @@ import com.khomsi.backend.main.checkout.mapper.TransactionGamesMapper;
 import com.khomsi.backend.main.checkout.mapper.TransactionMapper;
 import com.khomsi.backend.main.checkout.model.dto.TransactionDTO;
 import com.khomsi.backend.main.checkout.model.entity.Transaction;
+import com.khomsi.backend.main.checkout.model.entity.TransactionGames;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+
 @Component
 @AllArgsConstructor
 public class TransactionMapperImpl implements TransactionMapper {
@@ -14,7 +17,8 @@ public class TransactionMapperImpl implements TransactionMapper {
     private final TransactionGamesMapper transactionGamesMapper;
 
     @Override
-    public TransactionDTO transactionToTransactionDTO(Transaction transaction) {
+    public TransactionDTO transactionToTransactionDTO(Transaction transaction,
+                                                      Collection<TransactionGames> transactionGames) {
         return TransactionDTO.builder()
                 .transactionId(transaction.getTransactionId())
                 .userId(transaction.getUsers().getExternalId())
@@ -25,7 +29,7 @@ public class TransactionMapperImpl implements TransactionMapper {
                 .updatedAt(transaction.getUpdatedAt())
                 .redirectUrl(transaction.getRedirectUrl())
                 .paid(transaction.getPaid())
-                .transactionGames(transaction.getTransactionGames().stream()
+                .transactionGames(transactionGames.stream()
                         .map(transactionGamesMapper::transactionGamesToTransactionGamesDTO)
                         .toList())
                 .build();
@@ -0,0 +1,17 @@
+package com.khomsi.backend.main.checkout.model.dto;
+
+import com.khomsi.backend.main.user.model.entity.UserInfo;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Snapshot of everything a checkout needs, loaded once so the amount charged matches the amount shown
+public record CheckoutContext(UserInfo user, List<CheckoutLine> lines, BigDecimal total, BigDecimal balance) {
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    public List<Long> cartIds() {
+        return lines.stream().map(CheckoutLine::cartId).toList();
+    }
+}
@@ -0,0 +1,8 @@
+package com.khomsi.backend.main.checkout.model.dto;
+
+import com.khomsi.backend.main.game.model.entity.Game;
+
+import java.math.BigDecimal;
+
+public record CheckoutLine(Long cartId, Game game, BigDecimal price) {
+}
@@ -0,0 +1,19 @@
+package com.khomsi.backend.main.checkout.model.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+// Counters for the last full second and for the rolling window ending with it
+public record LiveSalesSnapshot(Instant second,
+                                long transactions,
+                                long saleGames,
+                                BigDecimal revenue,
+                                int windowSeconds,
+                                long windowTransactions,
+                                long windowSaleGames,
+                                BigDecimal windowRevenue,
+                                List<TopGame> topGames) {
+    public record TopGame(Long gameId, String title, long sold) {
+    }
+}
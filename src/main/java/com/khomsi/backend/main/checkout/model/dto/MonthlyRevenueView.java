@@ -0,0 +1,15 @@
+package com.khomsi.backend.main.checkout.model.dto;
+
+import java.math.BigDecimal;
+
+public interface MonthlyRevenueView {
+    Integer getMonth();
+
+    String getPaymentMethod();
+
+    Long getTransactions();
+
+    Long getSaleGames();
+
+    BigDecimal getRevenue();
+}
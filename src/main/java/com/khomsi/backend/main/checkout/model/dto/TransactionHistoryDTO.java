@@ -0,0 +1,6 @@
+package com.khomsi.backend.main.checkout.model.dto;
+
+import java.util.List;
+
+public record TransactionHistoryDTO(List<TransactionDTO> transactions, String nextCursor, boolean hasMore) {
+}
@@ -0,0 +1,31 @@
+package com.khomsi.backend.main.checkout.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "daily_sales_rollup")
+public class DailySalesRollup {
+    // Rows with this game id hold whole-transaction totals, including balance recharges
+    public static final long TRANSACTION_TOTALS = 0L;
+
+    @EmbeddedId
+    private DailySalesRollupId id;
+
+    @Column(name = "transactions", nullable = false)
+    private Long transactions;
+
+    @Column(name = "sale_games", nullable = false)
+    private Long saleGames;
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,25 @@
+package com.khomsi.backend.main.checkout.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class DailySalesRollupId implements Serializable {
+    @Column(name = "sale_date", nullable = false)
+    private LocalDate saleDate;
+
+    @Column(name = "payment_method", nullable = false, length = 150)
+    private String paymentMethod;
+
+    @Column(name = "games_id", nullable = false)
+    private Long gamesId;
+}
@@ -0,0 +1,39 @@
+package com.khomsi.backend.main.checkout.model.entity;
+
+import com.khomsi.backend.main.checkout.model.enums.IdempotencyStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyRecord {
+    @EmbeddedId
+    private IdempotencyRecordId id;
+
+    // SHA-256 of the method, path, parameters and JSON body, a key can't be replayed against another request
+    @NotNull
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    @Column(name = "status", nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    @Column(name = "http_status")
+    private Integer httpStatus;
+
+    @Lob
+    @Column(name = "response")
+    private String response;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
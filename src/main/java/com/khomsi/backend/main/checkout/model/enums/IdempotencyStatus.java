@@ -0,0 +1,5 @@
+package com.khomsi.backend.main.checkout.model.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS, COMPLETED
+}
@@ -0,0 +1,95 @@
+package com.khomsi.backend.main.checkout.repository;
+
+import com.khomsi.backend.main.checkout.model.dto.MonthlyRevenueView;
+import com.khomsi.backend.main.checkout.model.entity.DailySalesRollup;
+import com.khomsi.backend.main.checkout.model.entity.DailySalesRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailySalesRollupRepository extends JpaRepository<DailySalesRollup, DailySalesRollupId> {
+    // Upsert increments for one completed transaction; called in the same transaction that marks it paid
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO daily_sales_rollup (sale_date, payment_method, games_id, transactions, sale_games, revenue)
+            SELECT * FROM (
+                SELECT DATE(t.created_at) AS day, t.payment_methods AS method, 0 AS game,
+                       1 AS add_transactions, COUNT(tg.id) AS add_sale_games, t.total_amount AS add_revenue
+                FROM transactions t
+                LEFT JOIN transaction_games tg ON tg.transactions_id = t.transaction_id
+                WHERE t.transaction_id = :transactionId
+                GROUP BY t.transaction_id
+            ) AS sale
+            ON DUPLICATE KEY UPDATE transactions = transactions + add_transactions,
+                                    sale_games = sale_games + add_sale_games,
+                                    revenue = revenue + add_revenue
+            """)
+    int addTransactionTotals(@Param("transactionId") String transactionId);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO daily_sales_rollup (sale_date, payment_method, games_id, transactions, sale_games, revenue)
+            SELECT * FROM (
+                SELECT DATE(t.created_at) AS day, t.payment_methods AS method, tg.games_id AS game,
+                       1 AS add_transactions, COUNT(*) AS add_sale_games, SUM(tg.price_on_pay) AS add_revenue
+                FROM transaction_games tg
+                JOIN transactions t ON t.transaction_id = tg.transactions_id
+                WHERE t.transaction_id = :transactionId
+                GROUP BY t.transaction_id, tg.games_id
+            ) AS sale
+            ON DUPLICATE KEY UPDATE transactions = transactions + add_transactions,
+                                    sale_games = sale_games + add_sale_games,
+                                    revenue = revenue + add_revenue
+            """)
+    int addGameLines(@Param("transactionId") String transactionId);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM daily_sales_rollup WHERE sale_date >= :from AND sale_date < :to")
+    int deleteDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO daily_sales_rollup (sale_date, payment_method, games_id, transactions, sale_games, revenue)
+            SELECT DATE(t.created_at), t.payment_methods, 0, COUNT(*), COALESCE(SUM(l.line_count), 0),
+                   SUM(t.total_amount)
+            FROM transactions t
+            LEFT JOIN (SELECT tg.transactions_id, COUNT(*) AS line_count
+                       FROM transaction_games tg
+                       JOIN transactions lt ON lt.transaction_id = tg.transactions_id
+                       WHERE lt.paid = 1 AND lt.created_at >= :from AND lt.created_at < :to
+                       GROUP BY tg.transactions_id) l ON l.transactions_id = t.transaction_id
+            WHERE t.paid = 1 AND t.created_at >= :from AND t.created_at < :to
+            GROUP BY DATE(t.created_at), t.payment_methods
+            """)
+    int rebuildTransactionTotals(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO daily_sales_rollup (sale_date, payment_method, games_id, transactions, sale_games, revenue)
+            SELECT DATE(t.created_at), t.payment_methods, tg.games_id, COUNT(DISTINCT t.transaction_id), COUNT(*),
+                   SUM(tg.price_on_pay)
+            FROM transaction_games tg
+            JOIN transactions t ON t.transaction_id = tg.transactions_id
+            WHERE t.paid = 1 AND t.created_at >= :from AND t.created_at < :to
+            GROUP BY DATE(t.created_at), t.payment_methods, tg.games_id
+            """)
+    int rebuildGameLines(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT MONTH(r.id.saleDate) AS month, r.id.paymentMethod AS paymentMethod, " +
+            "SUM(r.transactions) AS transactions, SUM(r.saleGames) AS saleGames, SUM(r.revenue) AS revenue " +
+            "FROM DailySalesRollup r WHERE r.id.gamesId = " + DailySalesRollup.TRANSACTION_TOTALS +
+            " AND r.id.saleDate >= :from AND r.id.saleDate < :to " +
+            "GROUP BY MONTH(r.id.saleDate), r.id.paymentMethod")
+    List<MonthlyRevenueView> summarizeByMonth(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(r.transactions), 0) FROM DailySalesRollup r WHERE r.id.gamesId = :gameId")
+    Long sumTransactionsByGameId(@Param("gameId") Long gameId);
+
+    @Query("SELECT COALESCE(SUM(r.revenue), 0) FROM DailySalesRollup r WHERE r.id.gamesId = :gameId")
+    BigDecimal sumRevenueByGameId(@Param("gameId") Long gameId);
+}
@@ -0,0 +1,55 @@
+package com.khomsi.backend.main.checkout.repository;
+
+import com.khomsi.backend.main.checkout.model.entity.IdempotencyRecord;
+import com.khomsi.backend.main.checkout.model.entity.IdempotencyRecordId;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecordId> {
+    // Returns 0 when another request already holds the key
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            INSERT IGNORE INTO idempotency_keys (users_id, idempotency_key, request_hash, status, created_at)
+            VALUES (:userId, :key, :requestHash, 'IN_PROGRESS', :createdAt)
+            """)
+    int reserve(@Param("userId") String userId, @Param("key") String key,
+                @Param("requestHash") String requestHash, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            UPDATE idempotency_keys SET status = 'COMPLETED', http_status = :httpStatus, response = :response
+            WHERE users_id = :userId AND idempotency_key = :key
+            """)
+    void complete(@Param("userId") String userId, @Param("key") String key,
+                  @Param("httpStatus") Integer httpStatus, @Param("response") String response);
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            DELETE FROM idempotency_keys
+            WHERE users_id = :userId AND idempotency_key = :key AND status = 'IN_PROGRESS'
+            """)
+    void release(@Param("userId") String userId, @Param("key") String key);
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            DELETE FROM idempotency_keys
+            WHERE users_id = :userId AND idempotency_key = :key AND status = 'IN_PROGRESS'
+              AND created_at < :staleBefore
+            """)
+    int releaseStale(@Param("userId") String userId, @Param("key") String key,
+                     @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "DELETE FROM idempotency_keys WHERE created_at < :cutoff LIMIT :batchSize")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+}
@@ -1,15 +1,21 @@
 package com.khomsi.backend.main.checkout.repository;
 
+import com.khomsi.backend.main.checkout.model.entity.Transaction;
 import com.khomsi.backend.main.checkout.model.entity.TransactionGames;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
+import java.util.List;
 
 public interface TransactionGamesRepository extends JpaRepository<TransactionGames, Long> {
-    @Query("SELECT COUNT(tg) FROM TransactionGames tg WHERE tg.games.id = :gameId")
-    Long countTransactionsByGameId(@Param("gameId") Long gameId);
-    @Query("SELECT COALESCE(SUM(tg.priceOnPay), 0) FROM TransactionGames tg WHERE tg.games.id = :gameId")
-    BigDecimal sumTotalRevenueByGameId(@Param("gameId") Long gameId);
+    // Lines of a whole page with the game summary and the game's eager associations in one statement
+    @Query("SELECT tg FROM TransactionGames tg JOIN FETCH tg.games g LEFT JOIN FETCH g.publisher " +
+            "LEFT JOIN FETCH g.developer LEFT JOIN FETCH g.gameMedia WHERE tg.transactions IN :transactions")
+    List<TransactionGames> findAllWithGamesByTransactions(@Param("transactions") List<Transaction> transactions);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM transaction_games WHERE transactions_id IN :transactionIds")
+    void deleteAllByTransactionIds(@Param("transactionIds") List<String> transactionIds);
 }
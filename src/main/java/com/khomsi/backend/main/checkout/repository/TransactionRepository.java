@@ -2,13 +2,51 @@ package com.khomsi.backend.main.checkout.repository;
 
 import com.khomsi.backend.main.checkout.model.entity.Transaction;
 import com.khomsi.backend.main.user.model.entity.UserInfo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface TransactionRepository extends JpaRepository<Transaction, String> {
     List<Transaction> findAllByUsersOrderByCreatedAtDesc(UserInfo userInfo);
-    @Query("SELECT t FROM Transaction t WHERE YEAR(t.createdAt) = :year")
-    List<Transaction> findAllByYear(int year);
+
+    // Keyset pages over transactions_users_created_at_idx; no count query, the caller asks for one extra row
+    @Query("SELECT t FROM Transaction t WHERE t.users = :user ORDER BY t.createdAt DESC, t.transactionId DESC")
+    List<Transaction> findHistoryFirstPage(@Param("user") UserInfo user, Pageable pageable);
+
+    @Query("SELECT t FROM Transaction t WHERE t.users = :user AND (t.createdAt < :createdAt " +
+            "OR (t.createdAt = :createdAt AND t.transactionId < :transactionId)) " +
+            "ORDER BY t.createdAt DESC, t.transactionId DESC")
+    List<Transaction> findHistoryAfter(@Param("user") UserInfo user, @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("transactionId") String transactionId, Pageable pageable);
+
+    Optional<Transaction> findByTransactionIdAndUsersAndPaidFalse(String transactionId, UserInfo userInfo);
+
+    // Only one caller turns paid from 0 to 1; a completion that gets 0 rows lost the race or found nothing
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            UPDATE transactions SET paid = 1, updated_at = :now, redirect_url = NULL
+            WHERE transaction_id = :transactionId AND paid = 0
+            """)
+    int claimPending(@Param("transactionId") String transactionId, @Param("now") LocalDateTime now);
+
+    // Meets completion on the row lock: a claim not committed yet is skipped and is paid by the time of the
+    // next run, while a claim that comes after this lock waits for the delete and then finds nothing to claim
+    @Query(nativeQuery = true, value = """
+            SELECT transaction_id FROM transactions
+            WHERE paid = 0 AND created_at < :cutoff
+            ORDER BY created_at
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """)
+    List<String> lockExpiredPendingIds(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM transactions WHERE transaction_id IN :ids AND paid = 0")
+    int deletePendingByIds(@Param("ids") List<String> ids);
 }
@@ -0,0 +1,54 @@
+package com.khomsi.backend.main.checkout.service;
+
+import com.khomsi.backend.main.checkout.config.IdempotencyProperties;
+import com.khomsi.backend.main.checkout.model.dto.stripe.PaymentResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bounded LRU in front of idempotency_keys, so replays of recent keys don't hit the database
+@Component
+public class IdempotencyCache {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, CachedResponse> entries;
+    private final long ttlNanos;
+
+    public IdempotencyCache(IdempotencyProperties properties) {
+        int maxEntries = properties.getCacheSize();
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public CachedResponse get(String key) {
+        lock.lock();
+        try {
+            CachedResponse cached = entries.get(key);
+            if (cached != null && System.nanoTime() - cached.storedAtNanos() > ttlNanos) {
+                entries.remove(key);
+                return null;
+            }
+            return cached;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String key, String requestHash, PaymentResponse response) {
+        lock.lock();
+        try {
+            entries.put(key, new CachedResponse(requestHash, response, System.nanoTime()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public record CachedResponse(String requestHash, PaymentResponse response, long storedAtNanos) {
+    }
+}
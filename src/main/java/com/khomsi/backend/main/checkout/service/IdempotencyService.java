@@ -0,0 +1,10 @@
+package com.khomsi.backend.main.checkout.service;
+
+import com.khomsi.backend.main.checkout.model.dto.stripe.PaymentResponse;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    PaymentResponse execute(String idempotencyKey, HttpServletRequest request, Supplier<PaymentResponse> action);
+}
@@ -0,0 +1,192 @@
+package com.khomsi.backend.main.checkout.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khomsi.backend.main.checkout.config.IdempotencyProperties;
+import com.khomsi.backend.main.checkout.model.dto.stripe.PaymentResponse;
+import com.khomsi.backend.main.checkout.model.entity.IdempotencyRecord;
+import com.khomsi.backend.main.checkout.model.entity.IdempotencyRecordId;
+import com.khomsi.backend.main.checkout.model.enums.IdempotencyStatus;
+import com.khomsi.backend.main.checkout.repository.IdempotencyRecordRepository;
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.user.model.entity.UserInfo;
+import com.khomsi.backend.main.user.service.UserInfoService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final int MAX_KEY_LENGTH = 100;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final IdempotencyCache idempotencyCache;
+    private final IdempotencyProperties properties;
+    private final UserInfoService userInfoService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public PaymentResponse execute(String idempotencyKey, HttpServletRequest request,
+                                   Supplier<PaymentResponse> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new GlobalServiceException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key can't be longer than " + MAX_KEY_LENGTH + " characters.");
+        }
+        UserInfo user = userInfoService.getUserInfo();
+        if (user == null) {
+            return action.get();
+        }
+        String userId = user.getExternalId();
+        String requestHash = hashRequest(request);
+        String cacheKey = userId + ":" + idempotencyKey;
+
+        IdempotencyCache.CachedResponse cached = idempotencyCache.get(cacheKey);
+        if (cached != null) {
+            checkSameRequest(cached.requestHash(), requestHash);
+            return cached.response();
+        }
+        if (!reserve(userId, idempotencyKey, requestHash)) {
+            return replay(userId, idempotencyKey, requestHash, cacheKey);
+        }
+
+        PaymentResponse response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            idempotencyRecordRepository.release(userId, idempotencyKey);
+            throw e;
+        }
+        // Server-side failures are not remembered, the client may retry them with the same key
+        if (response.httpStatus() == null || response.httpStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            idempotencyRecordRepository.release(userId, idempotencyKey);
+            return response;
+        }
+        idempotencyRecordRepository.complete(userId, idempotencyKey, response.httpStatus(), toJson(response));
+        idempotencyCache.put(cacheKey, requestHash, response);
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${app.payment.idempotency.cleanup-interval:PT1H}")
+    public void deleteExpiredKeys() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getTtl());
+        int deleted;
+        do {
+            deleted = idempotencyRecordRepository.deleteExpired(cutoff, properties.getCleanupBatchSize());
+        } while (deleted == properties.getCleanupBatchSize());
+    }
+
+    private boolean reserve(String userId, String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        if (idempotencyRecordRepository.reserve(userId, key, requestHash, now) == 1) {
+            return true;
+        }
+        return idempotencyRecordRepository.releaseStale(userId, key, now.minus(properties.getInProgressTimeout())) == 1
+                && idempotencyRecordRepository.reserve(userId, key, requestHash, now) == 1;
+    }
+
+    private PaymentResponse replay(String userId, String key, String requestHash, String cacheKey) {
+        IdempotencyRecord idempotencyRecord = idempotencyRecordRepository
+                .findById(new IdempotencyRecordId(userId, key))
+                .orElseThrow(() -> new GlobalServiceException(HttpStatus.CONFLICT,
+                        "Request with this Idempotency-Key has just failed, please retry."));
+        checkSameRequest(idempotencyRecord.getRequestHash(), requestHash);
+        if (idempotencyRecord.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+            throw new GlobalServiceException(HttpStatus.CONFLICT,
+                    "Request with this Idempotency-Key is still in progress.");
+        }
+        PaymentResponse response = fromJson(idempotencyRecord.getResponse());
+        idempotencyCache.put(cacheKey, requestHash, response);
+        return response;
+    }
+
+    private void checkSameRequest(String storedHash, String requestHash) {
+        if (!Objects.equals(storedHash, requestHash)) {
+            throw new GlobalServiceException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for another request.");
+        }
+    }
+
+    // Method, path, every parameter in name order and the body of JSON requests, so reusing a key with
+    // another amount or another payload is refused instead of answered with the first response
+    private String hashRequest(HttpServletRequest request) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, request.getMethod());
+        update(digest, request.getRequestURI());
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            update(digest, name);
+            for (String value : values) {
+                update(digest, value);
+            }
+        });
+        digest.update(jsonBody(request));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Parts are zero-terminated so "a" + "bc" and "ab" + "c" don't hash the same
+    private static void update(MessageDigest digest, String part) {
+        digest.update(part.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    // IdempotentRequestFilter caches the body, so it can be read here even after the controller has read it
+    private static byte[] jsonBody(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            return new byte[0];
+        }
+        try {
+            ContentCachingRequestWrapper cachingRequest = WebUtils.getNativeRequest(request,
+                    ContentCachingRequestWrapper.class);
+            if (cachingRequest == null) {
+                return request.getInputStream().readAllBytes();
+            }
+            // Reads whatever the controller left, the wrapper then holds the whole body
+            cachingRequest.getInputStream().readAllBytes();
+            return cachingRequest.getContentAsByteArray();
+        } catch (IOException e) {
+            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Request body can't be read.");
+        }
+    }
+
+    private String toJson(PaymentResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new GlobalServiceException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    private PaymentResponse fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, PaymentResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new GlobalServiceException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+}
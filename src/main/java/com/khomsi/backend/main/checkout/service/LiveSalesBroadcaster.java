@@ -0,0 +1,115 @@
+package com.khomsi.backend.main.checkout.service;
+
+import com.khomsi.backend.main.checkout.config.LiveSalesProperties;
+import com.khomsi.backend.main.checkout.model.dto.LiveSalesSnapshot;
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Pushes one snapshot per second to every connected dashboard. Each client has a single pending slot:
+// a slow client gets the latest frame instead of a growing backlog, and is dropped after too many skipped frames.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveSalesBroadcaster {
+    private final LiveSalesService liveSalesService;
+    private final LiveSalesProperties properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Sends block on the client's socket, so each one runs on its own virtual thread
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new GlobalServiceException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many live sales subscribers, please try again later.");
+        }
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        offer(subscriber, liveSalesService.snapshot());
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${app.metrics.live-sales.publish-interval:PT1S}")
+    public void publish() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        LiveSalesSnapshot snapshot = liveSalesService.snapshot();
+        subscribers.forEach(subscriber -> offer(subscriber, snapshot));
+    }
+
+    private void offer(Subscriber subscriber, LiveSalesSnapshot snapshot) {
+        if (subscriber.pending.getAndSet(snapshot) != null
+                && subscriber.skippedFrames.incrementAndGet() > properties.getMaxSkippedFrames()) {
+            log.debug("Dropping live sales subscriber that fell {} frames behind", subscriber.skippedFrames.get());
+            disconnect(subscriber);
+            return;
+        }
+        if (subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            LiveSalesSnapshot snapshot = subscriber.pending.getAndSet(null);
+            if (snapshot == null) {
+                subscriber.sending.set(false);
+                // A frame offered between the empty read and the reset would otherwise wait for the next tick
+                if (subscriber.pending.get() == null || !subscriber.sending.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                subscriber.emitter.send(SseEmitter.event().name("sales").data(snapshot));
+                subscriber.skippedFrames.set(0);
+            } catch (IOException | IllegalStateException e) {
+                disconnect(subscriber);
+                return;
+            }
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            // complete() waits for a send that may be stuck on the socket, so never run it on the publisher
+            senders.execute(subscriber.emitter::complete);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(this::disconnect);
+        senders.shutdown();
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicReference<LiveSalesSnapshot> pending = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicInteger skippedFrames = new AtomicInteger();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.khomsi.backend.main.checkout.service;
+
+import com.khomsi.backend.main.checkout.model.dto.LiveSalesSnapshot;
+import com.khomsi.backend.main.checkout.model.entity.Transaction;
+
+public interface LiveSalesService {
+    void recordSale(Transaction transaction);
+
+    LiveSalesSnapshot snapshot();
+}
@@ -0,0 +1,144 @@
+package com.khomsi.backend.main.checkout.service;
+
+import com.khomsi.backend.main.checkout.config.LiveSalesProperties;
+import com.khomsi.backend.main.checkout.model.dto.LiveSalesSnapshot;
+import com.khomsi.backend.main.checkout.model.entity.Transaction;
+import com.khomsi.backend.main.checkout.model.entity.TransactionGames;
+import com.khomsi.backend.main.game.model.entity.Game;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-second sales counters kept in memory for the live admin stream. Writers only touch LongAdders
+// of the current second, so concurrent checkouts don't contend and dashboards never query the database.
+@Service
+public class LiveSalesServiceImpl implements LiveSalesService {
+    private final LiveSalesProperties properties;
+    private final Clock clock;
+    // One extra slot so the second being written never overlaps the window being read
+    private final AtomicReferenceArray<SecondBucket> buckets;
+    private final Map<Long, String> gameTitles = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LiveSalesServiceImpl(LiveSalesProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    public LiveSalesServiceImpl(LiveSalesProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.buckets = new AtomicReferenceArray<>(properties.getWindowSeconds() + 1);
+    }
+
+    @Override
+    public void recordSale(Transaction transaction) {
+        // Copy what we need while the entity is still attached, count it only once the payment is committed
+        Map<Long, Long> unitsByGame = new HashMap<>();
+        for (TransactionGames line : transaction.getTransactionGames()) {
+            Game game = line.getGames();
+            unitsByGame.merge(game.getId(), 1L, Long::sum);
+            gameTitles.putIfAbsent(game.getId(), game.getTitle());
+        }
+        long revenueCents = transaction.getTotalAmount().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(unitsByGame, revenueCents);
+                }
+            });
+        } else {
+            add(unitsByGame, revenueCents);
+        }
+    }
+
+    private void add(Map<Long, Long> unitsByGame, long revenueCents) {
+        SecondBucket bucket = bucket(clock.instant().getEpochSecond());
+        bucket.transactions.increment();
+        bucket.revenueCents.add(revenueCents);
+        unitsByGame.forEach((gameId, units) -> {
+            bucket.saleGames.add(units);
+            bucket.unitsByGame.computeIfAbsent(gameId, id -> new LongAdder()).add(units);
+        });
+    }
+
+    private SecondBucket bucket(long second) {
+        int index = (int) Math.floorMod(second, (long) buckets.length());
+        while (true) {
+            SecondBucket current = buckets.get(index);
+            if (current != null && current.second == second) {
+                return current;
+            }
+            SecondBucket fresh = new SecondBucket(second);
+            if (buckets.compareAndSet(index, current, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    @Override
+    public LiveSalesSnapshot snapshot() {
+        long lastSecond = clock.instant().getEpochSecond() - 1;
+        int windowSeconds = properties.getWindowSeconds();
+        long transactions = 0;
+        long saleGames = 0;
+        long revenueCents = 0;
+        long windowTransactions = 0;
+        long windowSaleGames = 0;
+        long windowRevenueCents = 0;
+        Map<Long, Long> windowUnits = new HashMap<>();
+        for (int i = 0; i < buckets.length(); i++) {
+            SecondBucket bucket = buckets.get(i);
+            if (bucket == null || bucket.second > lastSecond || bucket.second <= lastSecond - windowSeconds) {
+                continue;
+            }
+            long bucketTransactions = bucket.transactions.sum();
+            long bucketSaleGames = bucket.saleGames.sum();
+            long bucketRevenueCents = bucket.revenueCents.sum();
+            if (bucket.second == lastSecond) {
+                transactions = bucketTransactions;
+                saleGames = bucketSaleGames;
+                revenueCents = bucketRevenueCents;
+            }
+            windowTransactions += bucketTransactions;
+            windowSaleGames += bucketSaleGames;
+            windowRevenueCents += bucketRevenueCents;
+            bucket.unitsByGame.forEach((gameId, units) -> windowUnits.merge(gameId, units.sum(), Long::sum));
+        }
+        List<LiveSalesSnapshot.TopGame> topGames = windowUnits.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(properties.getTopGames())
+                .map(entry -> new LiveSalesSnapshot.TopGame(entry.getKey(), gameTitles.get(entry.getKey()),
+                        entry.getValue()))
+                .toList();
+        return new LiveSalesSnapshot(Instant.ofEpochSecond(lastSecond), transactions, saleGames,
+                BigDecimal.valueOf(revenueCents, 2), windowSeconds, windowTransactions, windowSaleGames,
+                BigDecimal.valueOf(windowRevenueCents, 2), topGames);
+    }
+
+    private static class SecondBucket {
+        private final long second;
+        private final LongAdder transactions = new LongAdder();
+        private final LongAdder saleGames = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+        private final Map<Long, LongAdder> unitsByGame = new ConcurrentHashMap<>();
+
+        SecondBucket(long second) {
+            this.second = second;
+        }
+    }
+}
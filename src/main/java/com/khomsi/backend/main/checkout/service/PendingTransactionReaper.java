@@ -0,0 +1,32 @@
+package com.khomsi.backend.main.checkout.service;
+
+import com.khomsi.backend.main.checkout.config.PendingTransactionReaperProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PendingTransactionReaper {
+    private final TransactionService transactionService;
+    private final PendingTransactionReaperProperties properties;
+
+    @Scheduled(fixedDelayString = "${app.payment.pending-reaper.interval:PT15M}")
+    public void reapPendingTransactions() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getMaxAge());
+        int total = 0;
+        int expired;
+        // Each batch runs in its own transaction to keep row locks short
+        do {
+            expired = transactionService.expirePendingTransactions(cutoff, properties.getBatchSize());
+            total += expired;
+        } while (expired == properties.getBatchSize());
+        if (total > 0) {
+            log.info("Expired {} pending transactions created before {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.khomsi.backend.main.checkout.service;
+
+import java.time.LocalDate;
+
+public interface SalesRollupService {
+    void recordSale(String transactionId);
+
+    int rebuild(LocalDate from, LocalDate to);
+}
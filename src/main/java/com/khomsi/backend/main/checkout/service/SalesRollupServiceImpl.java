@@ -0,0 +1,43 @@
+package com.khomsi.backend.main.checkout.service;
+
+import com.khomsi.backend.main.checkout.repository.DailySalesRollupRepository;
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SalesRollupServiceImpl implements SalesRollupService {
+    private final DailySalesRollupRepository dailySalesRollupRepository;
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordSale(String transactionId) {
+        dailySalesRollupRepository.addTransactionTotals(transactionId);
+        dailySalesRollupRepository.addGameLines(transactionId);
+    }
+
+    // Recomputes closed days [from, to] from paid transactions; today is still receiving live increments
+    @Override
+    @Transactional
+    public int rebuild(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Start date must not be after end date.");
+        }
+        if (!to.isBefore(LocalDate.now())) {
+            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Only days before today can be rebuilt.");
+        }
+        LocalDate toExclusive = to.plusDays(1);
+        dailySalesRollupRepository.deleteDays(from, toExclusive);
+        int rows = dailySalesRollupRepository.rebuildTransactionTotals(from, toExclusive)
+                + dailySalesRollupRepository.rebuildGameLines(from, toExclusive);
+        log.info("Rebuilt daily sales rollup from {} to {}: {} rows", from, to, rows);
+        return rows;
+    }
+}
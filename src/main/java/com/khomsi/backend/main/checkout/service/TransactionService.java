@@ -1,7 +1,8 @@
 package com.khomsi.backend.main.checkout.service;
 
-import com.khomsi.backend.additional.cart.model.dto.CartItemDto;
+import com.khomsi.backend.main.checkout.model.dto.CheckoutContext;
 import com.khomsi.backend.main.checkout.model.dto.TransactionDTO;
+import com.khomsi.backend.main.checkout.model.dto.TransactionHistoryDTO;
 import com.khomsi.backend.main.checkout.model.entity.Transaction;
 import com.khomsi.backend.main.checkout.model.enums.BalanceAction;
 import com.khomsi.backend.main.checkout.model.enums.PaymentMethod;
@@ -10,6 +11,7 @@ import com.khomsi.backend.main.user.model.entity.UserInfo;
 import jakarta.transaction.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,16 +19,24 @@ public interface TransactionService {
     void completeTransaction(String sessionId);
 
     void placeTemporaryTransaction(BigDecimal amount, String sessionId, String url, BalanceAction withBalance,
-                                   PaymentMethod paymentMethod);
+                                   PaymentMethod paymentMethod, CheckoutContext context);
 
     @Transactional
     TransactionResponse returnTransactionToCart(String sessionId);
 
     Optional<Transaction> getTransaction(String sessionId, UserInfo userInfo);
 
-    BigDecimal getTotalAmountForBill(BalanceAction balanceAction, List<CartItemDto> cartItemDtoList);
+    int expirePendingTransactions(LocalDateTime cutoff, int batchSize);
+
+    BigDecimal getTotalAmountForBill(BalanceAction balanceAction, CheckoutContext context);
 
     List<TransactionDTO> transactionList();
 
-    BigDecimal calculateTotalAmount(BigDecimal amount, BalanceAction balanceAction, List<CartItemDto> cartItemDtoList);
+    TransactionHistoryDTO transactionHistory(String cursor, int size);
+
+    List<TransactionDTO> toTransactionDTOs(List<Transaction> transactions);
+
+    BigDecimal calculateTotalAmount(BigDecimal amount, BalanceAction balanceAction, CheckoutContext context);
+
+    CheckoutContext loadCheckoutContext();
 }
@@ -1,83 +1,109 @@
 package com.khomsi.backend.main.checkout.service;
 
-import com.khomsi.backend.additional.cart.model.dto.CartDTO;
-import com.khomsi.backend.additional.cart.model.dto.CartItemDto;
+import com.khomsi.backend.additional.cart.CartRepository;
+import com.khomsi.backend.additional.cart.model.entity.Cart;
 import com.khomsi.backend.additional.cart.service.CartService;
 import com.khomsi.backend.additional.wishlist.service.WishlistService;
 import com.khomsi.backend.main.checkout.mapper.TransactionMapper;
+import com.khomsi.backend.main.checkout.model.dto.CheckoutContext;
+import com.khomsi.backend.main.checkout.model.dto.CheckoutLine;
+import com.khomsi.backend.main.checkout.model.dto.TransactionCursor;
+import com.khomsi.backend.main.checkout.model.dto.TransactionHistoryDTO;
 import com.khomsi.backend.main.checkout.model.dto.TransactionDTO;
 import com.khomsi.backend.main.checkout.model.entity.Transaction;
 import com.khomsi.backend.main.checkout.model.entity.TransactionGames;
 import com.khomsi.backend.main.checkout.model.enums.BalanceAction;
+import com.khomsi.backend.main.checkout.model.enums.Constant;
 import com.khomsi.backend.main.checkout.model.enums.PaymentMethod;
 import com.khomsi.backend.main.checkout.model.response.TransactionResponse;
 import com.khomsi.backend.main.checkout.repository.TransactionGamesRepository;
 import com.khomsi.backend.main.checkout.repository.TransactionRepository;
 import com.khomsi.backend.main.utils.email.service.EmailService;
 import com.khomsi.backend.main.game.model.entity.Game;
-import com.khomsi.backend.main.game.service.GameService;
 import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.user.model.entity.BalanceEntryType;
 import com.khomsi.backend.main.user.model.entity.UserInfo;
-import com.khomsi.backend.main.user.repository.UserInfoRepository;
+import com.khomsi.backend.main.user.service.BalanceService;
 import com.khomsi.backend.main.user.service.UserGamesService;
 import com.khomsi.backend.main.user.service.UserInfoService;
-import jakarta.transaction.Transactional;
+import com.khomsi.backend.main.utils.jfr.event.CheckoutStepEvent;
+import com.khomsi.backend.main.utils.jfr.recorder.JfrRecorder;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.springframework.transaction.annotation.Isolation.READ_COMMITTED;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
-    private final GameService gameService;
     private final CartService cartService;
+    private final CartRepository cartRepository;
     private final UserInfoService userInfoService;
     private final TransactionRepository transactionRepository;
     private final TransactionGamesRepository transactionGamesRepository;
     private final TransactionMapper transactionMapper;
-    private final UserInfoRepository userInfoRepository;
+    private final BalanceService balanceService;
     private final UserGamesService userGamesService;
     private final EmailService emailService;
     private final WishlistService wishlistService;
+    private final SalesRollupService salesRollupService;
+    private final LiveSalesService liveSalesService;
 
     @Override
-    @Transactional
+    @Transactional(isolation = READ_COMMITTED)
     public void completeTransaction(String sessionId) {
-        Transaction transaction = transactionRepository.findById(sessionId)
+        JfrRecorder.record(CheckoutStepEvent::new, () -> {
+            Transaction transaction = claimTransaction(sessionId);
+            completeTransaction(transaction);
+            return transaction.getPaymentMethods();
+        }, (event, paymentMethod, failure) -> {
+            event.step = CheckoutStepEvent.COMPLETE;
+            event.paymentMethod = paymentMethod;
+            event.transactionId = sessionId;
+            event.outcome = failure != null ? failure.getClass().getSimpleName() : Constant.SUCCESS.name();
+        });
+    }
+
+    // The conditional update is the claim: two capture requests for the same session (a repeated click or
+    // a reloaded success page) both get here, and only the one that marked the row paid grants the purchase
+    private Transaction claimTransaction(String sessionId) {
+        if (transactionRepository.claimPending(sessionId, LocalDateTime.now()) == 0) {
+            String reason = transactionRepository.existsById(sessionId) ? " is already completed." : " is not found.";
+            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Transaction " + sessionId + reason);
+        }
+        return transactionRepository.findById(sessionId)
                 .orElseThrow(() -> new GlobalServiceException(HttpStatus.BAD_REQUEST,
                         "Transaction " + sessionId + " is not found."));
+    }
+
+    private void completeTransaction(Transaction transaction) {
+        String sessionId = transaction.getTransactionId();
         UserInfo user = transaction.getUsers();
         BalanceAction balanceAction = transaction.getBalanceAction();
         switch (balanceAction) {
-            case NO_ACTION -> {
+            // The balance part was already debited when the transaction was placed
+            case NO_ACTION, PAYMENT_WITH_BALANCE -> {
                 userGamesService.getGamesFromTransactionToLibrary(user, transaction);
                 deleteGamesFromWishlist(transaction);
             }
-            case PAYMENT_WITH_BALANCE -> {
-                BigDecimal newBalance = user.getBalance().subtract(transaction.getUsedBalance());
-                user.setBalance(newBalance);
-                userGamesService.getGamesFromTransactionToLibrary(user, transaction);
-                deleteGamesFromWishlist(transaction);
-            }
-            case BALANCE_RECHARGE -> {
-                BigDecimal newBalance = user.getBalance().add(transaction.getTotalAmount());
-                user.setBalance(newBalance);
-            }
+            case BALANCE_RECHARGE -> balanceService.credit(user.getExternalId(), transaction.getTotalAmount(),
+                    BalanceEntryType.RECHARGE, sessionId);
         }
-        userInfoRepository.save(user);
-
-        transaction.setUpdatedAt(LocalDateTime.now());
-        transaction.setPaid(true);
-        transaction.setRedirectUrl(null);
         emailService.sendPurchaseConfirmationEmail(transaction);
-        transactionRepository.save(transaction);
+        salesRollupService.recordSale(sessionId);
+        liveSalesService.recordSale(transaction);
     }
 
     private void deleteGamesFromWishlist(Transaction transaction) {
@@ -89,11 +115,11 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    @Transactional
+    @Transactional(isolation = READ_COMMITTED)
     public void placeTemporaryTransaction(BigDecimal amount, String sessionId, String url,
                                           BalanceAction balanceAction,
-                                          PaymentMethod paymentMethod) {
-        UserInfo existingUser = userInfoService.getUserInfo();
+                                          PaymentMethod paymentMethod, CheckoutContext context) {
+        UserInfo existingUser = context != null ? context.user() : currentUser();
         Transaction transaction = new Transaction();
         transaction.setCreatedAt(LocalDateTime.now());
         transaction.setTransactionId(sessionId);
@@ -107,14 +133,14 @@ public class TransactionServiceImpl implements TransactionService {
             transaction.setTotalAmount(amount);
             transactionRepository.save(transaction);
         } else {
-            processCartTransaction(transaction);
+            processCartTransaction(transaction, context);
         }
     }
 
     @Override
-    @Transactional
+    @Transactional(isolation = READ_COMMITTED)
     public TransactionResponse returnTransactionToCart(String sessionId) {
-        UserInfo userInfo = userInfoService.getUserInfo();
+        UserInfo userInfo = currentUser();
         Optional<Transaction> optionalTransaction = getTransaction(sessionId, userInfo);
 
         if (optionalTransaction.isPresent()) {
@@ -126,6 +152,7 @@ public class TransactionServiceImpl implements TransactionService {
                     .map(Game::getId)
                     .forEach(cartService::addToCart);
 
+            balanceService.refundPendingPayments(List.of(sessionId));
             transactionRepository.delete(transaction);
             return new TransactionResponse("Transaction successfully returned to cart.");
         } else {
@@ -136,46 +163,89 @@ public class TransactionServiceImpl implements TransactionService {
 
     @Override
     public Optional<Transaction> getTransaction(String sessionId, UserInfo userInfo) {
-        return userInfo.getTransactions()
-                .stream()
-                .filter(transaction -> transaction.getTransactionId().equals(sessionId) && !transaction.getPaid())
-                .findFirst();
+        return transactionRepository.findByTransactionIdAndUsersAndPaidFalse(sessionId, userInfo);
+    }
+
+    @Override
+    @Transactional(isolation = READ_COMMITTED)
+    public int expirePendingTransactions(LocalDateTime cutoff, int batchSize) {
+        List<String> expiredIds = transactionRepository.lockExpiredPendingIds(cutoff, batchSize);
+        if (expiredIds.isEmpty()) {
+            return 0;
+        }
+        balanceService.refundPendingPayments(expiredIds);
+        transactionGamesRepository.deleteAllByTransactionIds(expiredIds);
+        transactionRepository.deletePendingByIds(expiredIds);
+        return expiredIds.size();
+    }
+
+    @Override
+    public CheckoutContext loadCheckoutContext() {
+        UserInfo user = currentUser();
+        List<CheckoutLine> lines = cartRepository.findCheckoutItems(user).stream()
+                .map(this::toCheckoutLine)
+                .toList();
+        BigDecimal total = lines.stream()
+                .map(CheckoutLine::price)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return new CheckoutContext(user, lines, total, balanceService.getBalance(user.getExternalId()));
+    }
+
+    // getUserInfo answers null instead of throwing when the caller has no account
+    private UserInfo currentUser() {
+        UserInfo user = userInfoService.getUserInfo();
+        if (user == null) {
+            throw new GlobalServiceException(HttpStatus.UNAUTHORIZED, "User is not authenticated.");
+        }
+        return user;
     }
 
-    private void processCartTransaction(Transaction transaction) {
-        CartDTO cartDto = cartService.cartItems();
-        List<CartItemDto> cartItemDtoList = cartDto.cartItems();
-        BigDecimal totalAmount = cartDto.totalCost();
+    private CheckoutLine toCheckoutLine(Cart cart) {
+        Game game = cart.getGames();
+        if (!Boolean.TRUE.equals(game.getActive())) {
+            throw new GlobalServiceException(HttpStatus.NOT_FOUND, "Game with id " + game.getId() + " is not found.");
+        }
+        return new CheckoutLine(cart.getId(), game, game.getPrice());
+    }
 
+    private void processCartTransaction(Transaction transaction, CheckoutContext context) {
+        BigDecimal totalAmount = context.total();
+
+        // Debited before the customer is sent to the provider, so a card payment is never captured for
+        // an order whose balance part is gone; expiry and returning to the cart refund it
         if (transaction.getBalanceAction() == BalanceAction.PAYMENT_WITH_BALANCE) {
-            BigDecimal balance = transaction.getUsers().getBalance();
-            BigDecimal balanceUsed = balance.min(totalAmount);
-            transaction.setUsedBalance(balanceUsed);
+            BigDecimal usedBalance = context.balance().min(totalAmount);
+            if (usedBalance.signum() > 0 && !balanceService.debit(context.user().getExternalId(), usedBalance,
+                    BalanceEntryType.PURCHASE, transaction.getTransactionId())) {
+                throw new GlobalServiceException(HttpStatus.BAD_REQUEST,
+                        "Insufficient balance to pay for transaction " + transaction.getTransactionId() + ".");
+            }
+            transaction.setUsedBalance(usedBalance);
         }
         transaction.setTotalAmount(totalAmount);
         transactionRepository.save(transaction);
 
-        // Set games to user's transaction
-        cartItemDtoList.forEach(cartItemDto -> {
-            Game game = gameService.getActiveGameById(cartItemDto.game().id());
-            TransactionGames orderItem = new TransactionGames();
-            orderItem.setPriceOnPay(cartItemDto.game().price());
-            orderItem.setGames(game);
-            orderItem.setTransactions(transaction);
-            transactionGamesRepository.save(orderItem);
-        });
+        // Set games to user's transaction with the prices the user was shown
+        List<TransactionGames> orderItems = context.lines().stream()
+                .map(line -> {
+                    TransactionGames orderItem = new TransactionGames();
+                    orderItem.setPriceOnPay(line.price());
+                    orderItem.setGames(line.game());
+                    orderItem.setTransactions(transaction);
+                    return orderItem;
+                })
+                .toList();
+        transactionGamesRepository.saveAll(orderItems);
         // cleanup user's cart
-        cartService.cleanCartItems();
+        cartRepository.deleteAllByIdInBatch(context.cartIds());
     }
 
     @Override
-    public BigDecimal getTotalAmountForBill(BalanceAction balanceAction, List<CartItemDto> cartItemDtoList) {
-        BigDecimal totalAmount = cartItemDtoList.stream()
-                .map(cartItem -> cartItem.game().price())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public BigDecimal getTotalAmountForBill(BalanceAction balanceAction, CheckoutContext context) {
+        BigDecimal totalAmount = context.total();
         // If withBalance is BALANCE_PAYMENT and balance is sufficient, deduct balance from totalAmount
         if (Objects.equals(balanceAction, BalanceAction.PAYMENT_WITH_BALANCE)) {
-            BigDecimal balance = userInfoService.getUserInfo().getBalance();
+            BigDecimal balance = context.balance();
             if (balance.compareTo(totalAmount) >= 0) {
                 throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Balance is higher than the total amount. " +
                         "Please choose a payment with balance instead.");
@@ -187,16 +257,51 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
     @Override
-    public BigDecimal calculateTotalAmount(BigDecimal amount, BalanceAction balanceAction, List<CartItemDto> cartItemDtoList) {
-        return amount != null ? amount : getTotalAmountForBill(balanceAction, cartItemDtoList);
+    public BigDecimal calculateTotalAmount(BigDecimal amount, BalanceAction balanceAction, CheckoutContext context) {
+        return amount != null ? amount : getTotalAmountForBill(balanceAction, context);
     }
 
     @Override
     public List<TransactionDTO> transactionList() {
-        UserInfo existingUser = userInfoService.getUserInfo();
+        UserInfo existingUser = currentUser();
         List<Transaction> transactions = transactionRepository.findAllByUsersOrderByCreatedAtDesc(existingUser);
+        return toTransactionDTOs(transactions);
+    }
+
+    @Override
+    public TransactionHistoryDTO transactionHistory(String cursor, int size) {
+        UserInfo existingUser = currentUser();
+        PageRequest limit = PageRequest.ofSize(size + 1);
+        List<Transaction> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findHistoryFirstPage(existingUser, limit);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            transactions = transactionRepository.findHistoryAfter(existingUser, position.createdAt(),
+                    position.transactionId(), limit);
+        }
+        boolean hasMore = transactions.size() > size;
+        List<Transaction> page = hasMore ? transactions.subList(0, size) : transactions;
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(last.getCreatedAt(), last.getTransactionId()).encode();
+        }
+        return new TransactionHistoryDTO(toTransactionDTOs(page), nextCursor, hasMore);
+    }
+
+    // Loads the lines of all transactions in one query instead of walking each lazy collection
+    @Override
+    public List<TransactionDTO> toTransactionDTOs(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<TransactionGames>> linesByTransaction = transactionGamesRepository
+                .findAllWithGamesByTransactions(transactions).stream()
+                .collect(Collectors.groupingBy(line -> line.getTransactions().getTransactionId()));
         return transactions.stream()
-                .map(transactionMapper::transactionToTransactionDTO)
+                .map(transaction -> transactionMapper.transactionToTransactionDTO(transaction,
+                        linesByTransaction.getOrDefault(transaction.getTransactionId(), List.of())))
                 .toList();
     }
 }
@@ -1,6 +1,10 @@
 package com.khomsi.backend.main.game;
 
 import com.khomsi.backend.main.game.model.entity.Game;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -10,21 +14,40 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
+// Lists fetch the eager to-one associations in the same statement; gameMedia is mapped on the
+// inverse side, so without the graph Hibernate loads it with one extra query per game.
 public interface GameRepository extends JpaRepository<Game, Long>, JpaSpecificationExecutor<Game> {
+    @Override
+    @EntityGraph(attributePaths = {"gameMedia", "publisher", "developer"})
+    List<Game> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"gameMedia", "publisher", "developer"})
+    Page<Game> findAll(Specification<Game> specification, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"gameMedia", "publisher", "developer"})
     @Query("SELECT g FROM Game g JOIN g.genres genre WHERE genre.name = :genre AND g.active = true")
     List<Game> findGamesByGenre(@Param("genre") String genre);
 
+    // Reads the head of games_active_release_date_idx, the page limits how much of it
+    @EntityGraph(attributePaths = {"gameMedia", "publisher", "developer"})
     @Query("SELECT game FROM Game game WHERE game.active = true ORDER BY game.releaseDate DESC")
-    List<Game> findGamesByEarliestReleaseDate();
+    List<Game> findGamesByEarliestReleaseDate(Pageable pageable);
 
+    @EntityGraph(attributePaths = {"gameMedia", "publisher", "developer"})
     @Query("SELECT game FROM Game game WHERE game.discount > 0 AND game.active = true")
-    List<Game> findGamesWithDiscount();
-
-    @Query(value = "SELECT g FROM Game g WHERE UPPER(g.title) LIKE CONCAT('%', UPPER(:text), '%') AND g.active = true")
-    List<Game> findSimilarTitles(@Param("text") String text);
-
-    @Query(value = "SELECT g FROM Game g WHERE UPPER(g.title) LIKE CONCAT('%', UPPER(:text), '%')")
-    List<Game> findSimilarTitlesWithoutActiveCheck(@Param("text") String text);
+    List<Game> findGamesWithDiscount(Pageable pageable);
+
+    // Boolean mode query over games_title_ft_idx, see FullTextFunctionContributor
+    @EntityGraph(attributePaths = {"gameMedia", "publisher", "developer"})
+    @Query("SELECT g FROM Game g WHERE match_against(g.title, :query) > 0 AND g.active = true " +
+            "ORDER BY match_against(g.title, :query) DESC, g.id")
+    List<Game> findSimilarTitles(@Param("query") String query, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"gameMedia", "publisher", "developer"})
+    @Query("SELECT g FROM Game g WHERE match_against(g.title, :query) > 0 " +
+            "ORDER BY match_against(g.title, :query) DESC, g.id")
+    List<Game> findSimilarTitlesWithoutActiveCheck(@Param("query") String query, Pageable pageable);
 
 
     boolean existsGameByTitleIgnoreCase(String title);
@@ -48,7 +48,7 @@ public class GameController {
     public List<PopularGameModel> showGamesBySpecialOffer(
             @RequestParam(value = "query") String query,
             @RequestParam(value = "qty", defaultValue = "5")
-            @Min(1) @Max(Integer.MAX_VALUE) int gameQuantity) {
+            @Min(1) @Max(100) int gameQuantity) {
         return gameService.getSpecialOffers(query.toLowerCase(), gameQuantity);
     }
 
@@ -76,7 +76,7 @@ public class GameController {
     public List<GameModelWithGenreLimit> showSearchedGame(
             @RequestParam(value = "title") String title,
             @RequestParam(value = "qty", defaultValue = "20")
-            @Min(1) @Max(Integer.MAX_VALUE) int gameQuantity) {
+            @Min(1) @Max(100) int gameQuantity) {
         return gameService.searchGamesByTitle(title, gameQuantity);
     }
 
@@ -1,5 +1,6 @@
 package com.khomsi.backend.main.game.mapper.impl;
 
+import com.khomsi.backend.additional.genre.model.entity.Genre;
 import com.khomsi.backend.main.game.mapper.GameMapper;
 import com.khomsi.backend.main.ai.model.dto.AiChatGameModel;
 import com.khomsi.backend.main.game.model.dto.GameModelWithGenreLimit;
@@ -9,6 +10,7 @@ import com.khomsi.backend.main.game.model.entity.Game;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -65,8 +67,13 @@ public class GameMapperImpl implements GameMapper {
                 .coverImageUrl(game.getCoverImageUrl())
                 .price(game.getPrice())
                 .discount(game.getDiscount())
-                .genres(game.getGenres().stream().limit(2).collect(Collectors.toSet()))
+                .genres(limitGenres(game.getGenres()))
                 .ownedByCurrentUser(ownedByCurrentUser)
                 .build();
     }
-}
\ No newline at end of file
+
+    // Most games have two genres or fewer, those keep their own set
+    private static Set<Genre> limitGenres(Set<Genre> genres) {
+        return genres.size() <= 2 ? genres : genres.stream().limit(2).collect(Collectors.toSet());
+    }
+}
@@ -27,4 +27,6 @@ public interface GameService {
     List<GameModelWithGenreLimit> searchGamesByTitle(String text, int qty);
 
     String transformWord(String word);
+
+    String toFullTextQuery(String text);
 }
@@ -7,6 +7,8 @@ import com.khomsi.backend.main.game.model.dto.*;
 import com.khomsi.backend.main.game.model.entity.Game;
 import com.khomsi.backend.main.handler.exception.GlobalServiceException;
 import com.khomsi.backend.main.user.service.UserInfoService;
+import com.khomsi.backend.main.utils.jfr.event.CatalogQueryEvent;
+import com.khomsi.backend.main.utils.jfr.recorder.JfrRecorder;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -18,9 +20,16 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Random;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 import static com.khomsi.backend.main.utils.Utils.createSorting;
@@ -36,6 +45,11 @@ public class GameServiceImpl implements GameService {
     //TODO Write integration tests with cucumber for this endpoint
     @Override
     public GeneralGame getExtendedGamesByPage(GameCriteria gameCriteria, boolean applyActiveFilter) {
+        return recorded("page", () -> describe(gameCriteria, applyActiveFilter),
+                () -> findExtendedGamesByPage(gameCriteria, applyActiveFilter), result -> result.games().size());
+    }
+
+    private GeneralGame findExtendedGamesByPage(GameCriteria gameCriteria, boolean applyActiveFilter) {
         int page = gameCriteria.getPage();
 
         Sort sorting = createSorting(gameCriteria.getSort(), "id");
@@ -66,11 +80,7 @@ public class GameServiceImpl implements GameService {
         }
         BigDecimal maxPrice = gameRepository.findMaxPrice();
 
-        List<ShortGameModel> shortGameModels = gamePage
-                .map(game -> {
-                    boolean ownedByCurrentUser = userInfoService.checkIfGameIsOwnedByCurrentUser(game);
-                    return gameMapper.toShortGame(game, ownedByCurrentUser);
-                }).getContent();
+        List<ShortGameModel> shortGameModels = mapWithOwnership(gamePage.getContent(), gameMapper::toShortGame);
 
         return GeneralGame.builder()
                 .games(shortGameModels)
@@ -83,7 +93,12 @@ public class GameServiceImpl implements GameService {
 
     @Override
     public List<GameModelWithGenreLimit> getGamesByGenre(int qty, String excludedGenre) {
-        return gameRepository.findGamesByGenre(excludedGenre).stream()
+        return recorded("genre", () -> "filters=genre qty=" + qty,
+                () -> findGamesByGenre(qty, excludedGenre), List::size);
+    }
+
+    private List<GameModelWithGenreLimit> findGamesByGenre(int qty, String excludedGenre) {
+        List<Game> games = gameRepository.findGamesByGenre(excludedGenre).stream()
                 .filter(game -> {
                     Set<Genre> genres = game.getGenres();
                     if (genres.size() > 2) {
@@ -92,30 +107,21 @@ public class GameServiceImpl implements GameService {
                     return genres.size() <= 2;
                 })
                 .limit(qty)
-                .map(game -> {
-                    boolean ownedByCurrentUser = userInfoService.checkIfGameIsOwnedByCurrentUser(game);
-                    return gameMapper.toLimitGenreGame(game, ownedByCurrentUser);
-                }).toList();
+                .toList();
+        return mapWithOwnership(games, gameMapper::toLimitGenreGame);
     }
 
     @Override
     public List<PopularGameModel> getPopularQtyOfGames(int gameQuantity) {
-        List<PopularGameModel> shortGameModels = gameRepository.findAll().stream()
-                .map(game -> {
-                    boolean ownedByCurrentUser = userInfoService.checkIfGameIsOwnedByCurrentUser(game);
-                    return gameMapper.toPopularGame(game, ownedByCurrentUser);
-                }).toList();
-        return getRandomGames(shortGameModels, gameQuantity);
+        // Pick the games first, so only the returned ones are mapped and checked for ownership
+        return recorded("popular", () -> "qty=" + gameQuantity, () -> mapWithOwnership(
+                getRandomGames(gameRepository.findAll(), gameQuantity), gameMapper::toPopularGame), List::size);
     }
 
     @Override
     public List<GameModelWithGenreLimit> getRandomQtyOfGames(int gameQuantity) {
-        List<GameModelWithGenreLimit> shortGameModels = gameRepository.findAll().stream()
-                .map(game -> {
-                    boolean ownedByCurrentUser = userInfoService.checkIfGameIsOwnedByCurrentUser(game);
-                    return gameMapper.toLimitGenreGame(game, ownedByCurrentUser);
-                }).toList();
-        return getRandomGames(shortGameModels, gameQuantity);
+        return recorded("random", () -> "qty=" + gameQuantity, () -> mapWithOwnership(
+                getRandomGames(gameRepository.findAll(), gameQuantity), gameMapper::toLimitGenreGame), List::size);
     }
 
     @Override
@@ -133,51 +139,122 @@ public class GameServiceImpl implements GameService {
     @Override
     public ExtendedGame getExtendedGameById(Long gameId) {
         Game game = getActiveGameById(gameId);
-        return new ExtendedGame(getActiveGameById(gameId), userInfoService.checkIfGameIsOwnedByCurrentUser(game));
+        return new ExtendedGame(game, userInfoService.checkIfGameIsOwnedByCurrentUser(game));
     }
 
     @Override
     public List<PopularGameModel> getSpecialOffers(String query, int qty) {
+        return recorded("offers", () -> "filters=query qty=" + qty, () -> findSpecialOffers(query, qty),
+                List::size);
+    }
+
+    private List<PopularGameModel> findSpecialOffers(String query, int qty) {
         //TODO refactor the method in future
+        if (qty < 1) {
+            return List.of();
+        }
+        Pageable firstPage = PageRequest.of(0, qty);
         List<Game> games = switch (query) {
-            case "release date" -> gameRepository.findGamesByEarliestReleaseDate();
-            case "discount" -> gameRepository.findGamesWithDiscount();
+            case "release date" -> gameRepository.findGamesByEarliestReleaseDate(firstPage);
+            case "discount" -> gameRepository.findGamesWithDiscount(firstPage);
             //TODO no metrics yet to use it not as a random
             case "sales" -> getRandomGames(gameRepository.findAll(), qty);
             default -> throw new GlobalServiceException(HttpStatus.NOT_FOUND, "Games are not found in database.");
         };
-        return games.stream()
-                .map(game -> {
-                    boolean ownedByCurrentUser = userInfoService.checkIfGameIsOwnedByCurrentUser(game);
-                    return gameMapper.toPopularGame(game, ownedByCurrentUser);
-                })
-                .limit(qty)
-                .toList();
+        return mapWithOwnership(games.stream().limit(qty).toList(), gameMapper::toPopularGame);
     }
 
     @Override
     public List<GameModelWithGenreLimit> searchGamesByTitle(String text, int qty) {
-        return gameRepository.findSimilarTitles(transformWord(text)).stream()
-                .map(game -> {
-                    boolean ownedByCurrentUser = userInfoService.checkIfGameIsOwnedByCurrentUser(game);
-                    return gameMapper.toLimitGenreGame(game, ownedByCurrentUser);
-                })
-                .limit(qty)
+        String fullTextQuery = toFullTextQuery(text);
+        // A page needs at least one row
+        if (fullTextQuery.isEmpty() || qty < 1) {
+            return List.of();
+        }
+        // The search text itself stays out of the recording
+        return recorded("search", () -> "words=" + fullTextQuery.split(" ").length + " qty=" + qty,
+                () -> mapWithOwnership(gameRepository.findSimilarTitles(fullTextQuery, PageRequest.of(0, qty)),
+                        gameMapper::toLimitGenreGame), List::size);
+    }
+
+    // Emits a CatalogQuery event for the read; criteria are only described when the event is recorded
+    private static <T> T recorded(String operation, Supplier<String> criteria, Supplier<T> query,
+                                  ToIntFunction<T> rows) {
+        return JfrRecorder.record(CatalogQueryEvent::new, query::get, (event, result, failure) -> {
+            event.operation = operation;
+            event.criteria = criteria.get();
+            event.rows = failure != null ? 0 : rows.applyAsInt(result);
+        });
+    }
+
+    // Which filters are set, not their values
+    private static String describe(GameCriteria criteria, boolean activeOnly) {
+        StringJoiner filters = new StringJoiner(",", "filters=", "");
+        filters.setEmptyValue("filters=none");
+        addIfSet(filters, "id", criteria.getId());
+        addIfSet(filters, "title", criteria.getTitle());
+        addIfSet(filters, "maxPrice", criteria.getMaxPrice());
+        addIfSet(filters, "tags", criteria.getTags());
+        addIfSet(filters, "genres", criteria.getGenres());
+        addIfSet(filters, "platforms", criteria.getPlatforms());
+        addIfSet(filters, "developers", criteria.getDevelopers());
+        addIfSet(filters, "publishers", criteria.getPublishers());
+        return filters + " sort=" + String.join(";", criteria.getSort()) + " page=" + criteria.getPage()
+                + " size=" + criteria.getSize() + (activeOnly ? " active" : "");
+    }
+
+    private static void addIfSet(StringJoiner filters, String name, Object value) {
+        if (value != null) {
+            filters.add(name);
+        }
+    }
+
+    // Every word is required as a prefix term, so a word still being typed matches; with the ngram parser a
+    // term of two or more characters also matches inside a word. Anything but letters and digits is dropped
+    // so user input can't inject boolean mode operators. Shared by the storefront and the admin search.
+    @Override
+    public String toFullTextQuery(String text) {
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> "+" + word + "*")
+                .collect(Collectors.joining(" "));
+    }
+
+    // Ownership of the whole list is resolved with one query instead of one per game
+    private <T> List<T> mapWithOwnership(List<Game> games, BiFunction<Game, Boolean, T> mapper) {
+        Set<Long> ownedGameIds = userInfoService.getOwnedGameIds(games.stream().map(Game::getId).toList());
+        return games.stream()
+                .map(game -> mapper.apply(game, ownedGameIds.contains(game.getId())))
                 .toList();
     }
 
     @Override
     public String transformWord(String word) {
-        return word.chars()
-                .mapToObj(c -> String.valueOf((char) c))
-                .collect(Collectors.joining("%", "", "%"));
+        if (word.isEmpty()) {
+            return "%";
+        }
+        StringBuilder pattern = new StringBuilder(word.length() * 2);
+        for (int i = 0; i < word.length(); i++) {
+            pattern.append(word.charAt(i)).append('%');
+        }
+        return pattern.toString();
     }
 
+    // Draws distinct indexes until there are enough, remembering the drawn ones in a bit set
     private <T> List<T> getRandomGames(List<T> gameModels, int gameQuantity) {
-        return (gameModels.size() <= gameQuantity) ? gameModels :
-                new Random().ints(0, gameModels.size())
-                        .distinct()
-                        .limit(gameQuantity)
-                        .mapToObj(gameModels::get).toList();
+        if (gameModels.size() <= gameQuantity) {
+            return gameModels;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        BitSet drawn = new BitSet(gameModels.size());
+        List<T> randomGames = new ArrayList<>(gameQuantity);
+        while (randomGames.size() < gameQuantity) {
+            int index = random.nextInt(gameModels.size());
+            if (!drawn.get(index)) {
+                drawn.set(index);
+                randomGames.add(gameModels.get(index));
+            }
+        }
+        return randomGames;
     }
 }
\ No newline at end of file
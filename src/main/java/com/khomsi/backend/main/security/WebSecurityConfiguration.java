@@ -22,7 +22,7 @@ public class WebSecurityConfiguration {
                 //TODO change access to admin and manages for swagger
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/swagger", "/swagger-ui/**",
-                                "/v3/api-docs/**", "/error").permitAll()
+                                "/v3/api-docs/**", "/error", "/actuator/health").permitAll()
 
                         .requestMatchers("/api/v1/games", "/api/v1/games/**",
                                 "/api/v1/genres/**", "/api/v1/genres",
@@ -31,7 +31,7 @@ public class WebSecurityConfiguration {
                                 "/chat", "/chat/**"
                         ).permitAll()
 
-                        .requestMatchers("/api/v1/admin/**", "/api/v1/admin")
+                        .requestMatchers("/api/v1/admin/**", "/api/v1/admin", "/actuator/**")
                         .hasAnyRole(Role.ADMIN.name())
 
                         .requestMatchers("/api/v1/users/**", "/api/v1/users",
@@ -1,5 +1,6 @@
 package com.khomsi.backend.main.user.controller;
 
+import com.khomsi.backend.main.user.model.dto.BalanceHistoryDTO;
 import com.khomsi.backend.main.user.model.dto.BalanceUserInfoDTO;
 import com.khomsi.backend.main.user.model.dto.FullUserInfoDTO;
 import com.khomsi.backend.main.user.model.dto.UserShortGamesDTO;
@@ -8,12 +9,16 @@ import com.khomsi.backend.main.user.service.UserInfoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -46,6 +51,15 @@ public class UserController {
         return userInfoService.getUserBalance();
     }
 
+    @GetMapping("/balance/history")
+    @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
+            summary = "Get user's balance history")
+    @ResponseStatus(HttpStatus.OK)
+    public BalanceHistoryDTO showUserBalanceHistory(@RequestParam(defaultValue = "0") @PositiveOrZero int page,
+                                                    @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return userInfoService.getUserBalanceHistory(page, size);
+    }
+
     @GetMapping("/games")
     @Operation(security = {@SecurityRequirement(name = BEARER_KEY_SECURITY_SCHEME)},
             summary = "Get user's games")
@@ -5,8 +5,10 @@ import com.khomsi.backend.main.user.model.dto.UserShortGamesDTO;
 import com.khomsi.backend.main.user.model.entity.UserGames;
 import com.khomsi.backend.main.user.model.entity.UserInfo;
 
+import java.math.BigDecimal;
+
 public interface UserInfoMapper {
-    ShortUserInfoDTO toShortUserInfoDTO(UserInfo userInfo);
+    ShortUserInfoDTO toShortUserInfoDTO(UserInfo userInfo, BigDecimal balance);
 
     UserShortGamesDTO toUserShortGame(UserGames games);
 }
@@ -9,18 +9,20 @@ import com.khomsi.backend.main.user.model.entity.UserInfo;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+
 @Component
 @AllArgsConstructor
 public class UserInfoMapperImpl implements UserInfoMapper {
     private final GameMapper gameMapper;
 
     @Override
-    public ShortUserInfoDTO toShortUserInfoDTO(UserInfo userInfo) {
+    public ShortUserInfoDTO toShortUserInfoDTO(UserInfo userInfo, BigDecimal balance) {
         return ShortUserInfoDTO.builder()
                 .externalId(userInfo.getExternalId())
                 .username(userInfo.getUsername())
                 .email(userInfo.getEmail())
-                .balance(userInfo.getBalance())
+                .balance(balance)
                 .build();
     }
 
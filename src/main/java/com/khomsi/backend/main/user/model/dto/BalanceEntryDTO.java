@@ -0,0 +1,12 @@
+package com.khomsi.backend.main.user.model.dto;
+
+import com.khomsi.backend.main.user.model.entity.BalanceEntryType;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Builder
+public record BalanceEntryDTO(Long id, BigDecimal amount, BalanceEntryType entryType, String reference,
+                              LocalDateTime createdAt) {
+}
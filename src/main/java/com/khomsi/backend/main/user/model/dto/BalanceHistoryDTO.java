@@ -0,0 +1,9 @@
+package com.khomsi.backend.main.user.model.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BalanceHistoryDTO(List<BalanceEntryDTO> entries, long totalItems, int totalPages, int currentPage) {
+}
@@ -0,0 +1,10 @@
+package com.khomsi.backend.main.user.model.dto;
+
+import java.math.BigDecimal;
+
+// Balance of a user and the sequence number of the last entry it includes, read in one statement
+public interface LedgerPositionView {
+    BigDecimal getBalance();
+
+    Long getSequenceNo();
+}
@@ -0,0 +1,11 @@
+package com.khomsi.backend.main.user.model.dto;
+
+import java.math.BigDecimal;
+
+public interface PendingRefundView {
+    String getUserId();
+
+    BigDecimal getAmount();
+
+    String getTransactionId();
+}
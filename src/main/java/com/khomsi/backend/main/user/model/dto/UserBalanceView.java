@@ -0,0 +1,9 @@
+package com.khomsi.backend.main.user.model.dto;
+
+import java.math.BigDecimal;
+
+public interface UserBalanceView {
+    String getUserId();
+
+    BigDecimal getBalance();
+}
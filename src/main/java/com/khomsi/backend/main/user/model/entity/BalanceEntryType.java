@@ -0,0 +1,9 @@
+package com.khomsi.backend.main.user.model.entity;
+
+public enum BalanceEntryType {
+    OPENING,
+    RECHARGE,
+    PURCHASE,
+    REFUND,
+    ADJUSTMENT
+}
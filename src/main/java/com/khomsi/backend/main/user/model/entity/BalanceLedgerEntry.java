@@ -0,0 +1,49 @@
+package com.khomsi.backend.main.user.model.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "balance_ledger")
+public class BalanceLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "users_id", nullable = false)
+    private UserInfo users;
+
+    // Position among the entries of the user, unique per user
+    @NotNull
+    @Column(name = "sequence_no", nullable = false)
+    private Long sequenceNo;
+
+    // Positive for credits, negative for debits
+    @NotNull
+    @Column(name = "amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    @Column(name = "entry_type", nullable = false, length = 40)
+    private BalanceEntryType entryType;
+
+    @Size(max = 255)
+    @Column(name = "reference")
+    private String reference;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
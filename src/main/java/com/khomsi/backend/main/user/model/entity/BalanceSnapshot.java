@@ -0,0 +1,35 @@
+package com.khomsi.backend.main.user.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Rows are only ever inserted, the one with the highest sequence number is the current snapshot
+@Getter
+@Setter
+@Entity
+@Table(name = "balance_snapshots")
+public class BalanceSnapshot {
+    @EmbeddedId
+    private BalanceSnapshotId id;
+
+    // How far BalanceSnapshotScheduler had scanned the ledger when the row was written
+    @NotNull
+    @Column(name = "ledger_id", nullable = false)
+    private Long ledgerId;
+
+    @NotNull
+    @Column(name = "balance", nullable = false, precision = 12, scale = 2)
+    private BigDecimal balance;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,22 @@
+package com.khomsi.backend.main.user.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class BalanceSnapshotId implements Serializable {
+    @Column(name = "users_id", nullable = false)
+    private String usersId;
+
+    // Last ledger entry of the user already folded into the balance
+    @Column(name = "sequence_no", nullable = false)
+    private Long sequenceNo;
+}
@@ -4,12 +4,10 @@ import com.khomsi.backend.additional.cart.model.entity.Cart;
 import com.khomsi.backend.additional.review.model.entity.Review;
 import com.khomsi.backend.main.checkout.model.entity.Transaction;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -37,9 +35,6 @@ public class UserInfo {
     @ToString.Exclude
     private List<Cart> carts;
 
-    @Min(0)
-    private BigDecimal balance;
-
     @OneToMany(mappedBy = "users")
     @ToString.Exclude
     private Set<Transaction> transactions = new LinkedHashSet<>();
@@ -0,0 +1,14 @@
+package com.khomsi.backend.main.user.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Ledger inserts that report a taken sequence number as 0 rows instead of failing the surrounding transaction
+public interface BalanceLedgerInserts {
+    int insertEntry(String userId, long sequenceNo, BigDecimal amount, String entryType, String reference,
+                    LocalDateTime createdAt);
+
+    // Inserts the debit only while the latest snapshot plus later entries still cover the amount
+    int insertGuardedDebit(String userId, long sequenceNo, BigDecimal amount, String entryType, String reference,
+                           LocalDateTime createdAt);
+}
@@ -0,0 +1,65 @@
+package com.khomsi.backend.main.user.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+
+// Runs on the connection of the current transaction. A duplicate key only rolls back the statement in MySQL,
+// but going through a JPA query would mark the whole transaction for rollback before it could be retried.
+public class BalanceLedgerInsertsImpl implements BalanceLedgerInserts {
+    private static final int DUPLICATE_ENTRY = 1062;
+    private static final String INSERT_ENTRY = """
+            INSERT INTO balance_ledger (users_id, sequence_no, amount, entry_type, reference, created_at)
+            SELECT u.id, ?, ?, ?, ?, ?
+            FROM users u
+            WHERE u.id = ?
+            """;
+    private static final String INSERT_GUARDED_DEBIT = """
+            INSERT INTO balance_ledger (users_id, sequence_no, amount, entry_type, reference, created_at)
+            SELECT u.id, ?, ?, ?, ?, ?
+            FROM users u
+            LEFT JOIN balance_snapshots s ON s.users_id = u.id
+                AND s.sequence_no = (SELECT MAX(ls.sequence_no) FROM balance_snapshots ls WHERE ls.users_id = u.id)
+            WHERE u.id = ?
+              AND COALESCE(s.balance, 0) + (SELECT COALESCE(SUM(l.amount), 0) FROM balance_ledger l
+                  WHERE l.users_id = u.id AND l.sequence_no > COALESCE(s.sequence_no, 0)) >= ?
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertEntry(String userId, long sequenceNo, BigDecimal amount, String entryType, String reference,
+                           LocalDateTime createdAt) {
+        return insert(INSERT_ENTRY, sequenceNo, amount, entryType, reference, createdAt, userId);
+    }
+
+    @Override
+    public int insertGuardedDebit(String userId, long sequenceNo, BigDecimal amount, String entryType,
+                                  String reference, LocalDateTime createdAt) {
+        return insert(INSERT_GUARDED_DEBIT, sequenceNo, amount.negate(), entryType, reference, createdAt, userId,
+                amount);
+    }
+
+    private int insert(String sql, Object... parameters) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                return statement.executeUpdate();
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // Another entry took the sequence number; anything else, like an amount out of range, fails
+                if (e.getErrorCode() == DUPLICATE_ENTRY) {
+                    return 0;
+                }
+                throw e;
+            }
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.khomsi.backend.main.user.repository;
+
+import com.khomsi.backend.main.user.model.dto.LedgerPositionView;
+import com.khomsi.backend.main.user.model.dto.PendingRefundView;
+import com.khomsi.backend.main.user.model.dto.UserBalanceView;
+import com.khomsi.backend.main.user.model.entity.BalanceLedgerEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+public interface BalanceLedgerRepository extends JpaRepository<BalanceLedgerEntry, Long>, BalanceLedgerInserts {
+    Page<BalanceLedgerEntry> findAllByUsersExternalIdOrderByIdDesc(String userId, Pageable pageable);
+
+    // Latest snapshot plus everything recorded after it, null when the user doesn't exist
+    @Query(nativeQuery = true, value = """
+            SELECT COALESCE(s.balance, 0) + COALESCE((SELECT SUM(l.amount) FROM balance_ledger l
+                WHERE l.users_id = u.id AND l.sequence_no > COALESCE(s.sequence_no, 0)), 0)
+            FROM users u
+            LEFT JOIN balance_snapshots s ON s.users_id = u.id
+                AND s.sequence_no = (SELECT MAX(ls.sequence_no) FROM balance_snapshots ls WHERE ls.users_id = u.id)
+            WHERE u.id = :userId
+            """)
+    BigDecimal findBalance(@Param("userId") String userId);
+
+    @Query(nativeQuery = true, value = """
+            SELECT u.id AS userId, COALESCE(s.balance, 0) + COALESCE((SELECT SUM(l.amount) FROM balance_ledger l
+                WHERE l.users_id = u.id AND l.sequence_no > COALESCE(s.sequence_no, 0)), 0) AS balance
+            FROM users u
+            LEFT JOIN balance_snapshots s ON s.users_id = u.id
+                AND s.sequence_no = (SELECT MAX(ls.sequence_no) FROM balance_snapshots ls WHERE ls.users_id = u.id)
+            WHERE u.id IN :userIds
+            """)
+    List<UserBalanceView> findBalances(@Param("userIds") Collection<String> userIds);
+
+    // Balance and last sequence number from the same read, null when the user doesn't exist
+    @Query(nativeQuery = true, value = """
+            SELECT COALESCE(s.balance, 0) + COALESCE((SELECT SUM(l.amount) FROM balance_ledger l
+                WHERE l.users_id = u.id AND l.sequence_no > COALESCE(s.sequence_no, 0)), 0) AS balance,
+                COALESCE((SELECT MAX(l.sequence_no) FROM balance_ledger l WHERE l.users_id = u.id), 0) AS sequenceNo
+            FROM users u
+            LEFT JOIN balance_snapshots s ON s.users_id = u.id
+                AND s.sequence_no = (SELECT MAX(ls.sequence_no) FROM balance_snapshots ls WHERE ls.users_id = u.id)
+            WHERE u.id = :userId
+            """)
+    LedgerPositionView findPosition(@Param("userId") String userId);
+
+    @Query(nativeQuery = true, value = """
+            SELECT COALESCE(MAX(sequence_no), 0) FROM balance_ledger WHERE users_id = :userId
+            """)
+    long findLastSequenceNo(@Param("userId") String userId);
+
+    // What placing the transactions debited: the whole total for local payments,
+    // the balance part for provider payments with balance
+    @Query(nativeQuery = true, value = """
+            SELECT users_id AS userId, IF(payment_methods = 'LOCAL', total_amount, used_balance) AS amount,
+                transaction_id AS transactionId
+            FROM transactions
+            WHERE transaction_id IN :transactionIds AND paid = 0
+              AND (payment_methods = 'LOCAL' OR (balance_action = 'PAYMENT_WITH_BALANCE' AND used_balance > 0))
+            """)
+    List<PendingRefundView> findPendingRefunds(@Param("transactionIds") List<String> transactionIds);
+
+    @Query(nativeQuery = true, value = "SELECT COALESCE(MAX(id), 0) FROM balance_ledger")
+    Long findMaxId();
+
+    @Query(nativeQuery = true, value = """
+            SELECT DISTINCT users_id FROM balance_ledger
+            WHERE id > :fromId AND id <= :toId
+            """)
+    List<String> findUserIdsWithEntriesBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -0,0 +1,42 @@
+package com.khomsi.backend.main.user.repository;
+
+import com.khomsi.backend.main.user.model.entity.BalanceSnapshot;
+import com.khomsi.backend.main.user.model.entity.BalanceSnapshotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, BalanceSnapshotId> {
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO balance_snapshots (users_id, sequence_no, ledger_id, balance, created_at)
+            VALUES (:userId, 0, 0, 0, :createdAt)
+            ON DUPLICATE KEY UPDATE users_id = users_id
+            """)
+    void createIfAbsent(@Param("userId") String userId, @Param("createdAt") LocalDateTime createdAt);
+
+    // Appends the latest snapshot plus the entries after it as a new snapshot, nothing when there are none
+    // or when another run already wrote the snapshot for the same sequence number.
+    // Sequence numbers are handed out in commit order, so every entry up to the highest visible one is
+    // visible too and a plain read is enough.
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT INTO balance_snapshots (users_id, sequence_no, ledger_id, balance, created_at)
+            SELECT u.id, MAX(l.sequence_no), :ledgerId, COALESCE(s.balance, 0) + SUM(l.amount), :createdAt
+            FROM users u
+            LEFT JOIN balance_snapshots s ON s.users_id = u.id
+                AND s.sequence_no = (SELECT MAX(ls.sequence_no) FROM balance_snapshots ls WHERE ls.users_id = u.id)
+            JOIN balance_ledger l ON l.users_id = u.id AND l.sequence_no > COALESCE(s.sequence_no, 0)
+            WHERE u.id = :userId
+            GROUP BY u.id, s.balance
+            ON DUPLICATE KEY UPDATE users_id = balance_snapshots.users_id
+            """)
+    int appendSnapshot(@Param("userId") String userId, @Param("ledgerId") long ledgerId,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Query(nativeQuery = true, value = "SELECT COALESCE(MAX(ledger_id), 0) FROM balance_snapshots")
+    Long findMaxLedgerId();
+}
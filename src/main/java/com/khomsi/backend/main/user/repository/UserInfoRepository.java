@@ -6,17 +6,13 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.Set;
+
 
 public interface UserInfoRepository extends JpaRepository<UserInfo, Long> {
     UserInfo findUserInfoByExternalId(String externalId);
 
-    @Query(nativeQuery = true, value = """
-            SELECT COUNT(*) > 0 FROM user_has_games
-            WHERE users_id = :userId AND games_id = :gameId
-            """)
-    Long gameExistsInUserGames(String userId, Long gameId);
-    @Query(nativeQuery = true, value = """
-            SELECT COUNT(DISTINCT users_id) FROM user_has_games
-            """)
-    Long countUsersWithAtLeastOneGame();
+    @Query("SELECT ug.game.id FROM UserGames ug WHERE ug.user.externalId = :userId AND ug.game.id IN :gameIds")
+    Set<Long> findOwnedGameIds(@Param("userId") String userId, @Param("gameIds") Collection<Long> gameIds);
 }
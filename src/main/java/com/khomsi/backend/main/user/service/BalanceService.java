@@ -0,0 +1,29 @@
+package com.khomsi.backend.main.user.service;
+
+import com.khomsi.backend.main.user.model.dto.BalanceHistoryDTO;
+import com.khomsi.backend.main.user.model.entity.BalanceEntryType;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface BalanceService {
+    BigDecimal getBalance(String userId);
+
+    Map<String, BigDecimal> getBalances(Collection<String> userIds);
+
+    boolean debit(String userId, BigDecimal amount, BalanceEntryType entryType, String reference);
+
+    void credit(String userId, BigDecimal amount, BalanceEntryType entryType, String reference);
+
+    BigDecimal setBalance(String userId, BigDecimal newBalance);
+
+    void refundPendingPayments(List<String> transactionIds);
+
+    void openAccount(String userId);
+
+    void snapshot(String userId, long ledgerId);
+
+    BalanceHistoryDTO getHistory(String userId, int page, int size);
+}
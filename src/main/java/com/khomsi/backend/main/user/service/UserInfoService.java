@@ -1,11 +1,15 @@
 package com.khomsi.backend.main.user.service;
 
+import com.khomsi.backend.main.user.model.dto.BalanceHistoryDTO;
 import com.khomsi.backend.main.user.model.dto.BalanceUserInfoDTO;
 import com.khomsi.backend.main.game.model.entity.Game;
 import com.khomsi.backend.main.user.model.dto.FullUserInfoDTO;
 import com.khomsi.backend.main.user.model.entity.UserInfo;
 import org.springframework.security.oauth2.jwt.Jwt;
 
+import java.util.Collection;
+import java.util.Set;
+
 public interface UserInfoService {
     FullUserInfoDTO getCurrentUser();
 
@@ -14,11 +18,15 @@ public interface UserInfoService {
 
     BalanceUserInfoDTO getUserBalance();
 
+    BalanceHistoryDTO getUserBalanceHistory(int page, int size);
+
     void checkPermissionToAction(String userId);
 
     UserInfo getExistingUser(String userInfo);
 
     boolean checkIfGameIsOwnedByCurrentUser(Game game);
 
+    Set<Long> getOwnedGameIds(Collection<Long> gameIds);
+
     UserInfo getUserInfo();
 }
@@ -0,0 +1,180 @@
+package com.khomsi.backend.main.user.service.impl;
+
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.user.model.dto.BalanceEntryDTO;
+import com.khomsi.backend.main.user.model.dto.BalanceHistoryDTO;
+import com.khomsi.backend.main.user.model.dto.LedgerPositionView;
+import com.khomsi.backend.main.user.model.dto.UserBalanceView;
+import com.khomsi.backend.main.user.model.entity.BalanceEntryType;
+import com.khomsi.backend.main.user.model.entity.BalanceLedgerEntry;
+import com.khomsi.backend.main.user.repository.BalanceLedgerRepository;
+import com.khomsi.backend.main.user.repository.BalanceSnapshotRepository;
+import com.khomsi.backend.main.user.service.BalanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongToIntFunction;
+import java.util.stream.Collectors;
+
+import static org.springframework.transaction.annotation.Isolation.READ_COMMITTED;
+
+@Service
+@RequiredArgsConstructor
+public class BalanceServiceImpl implements BalanceService {
+    // Largest value of the DECIMAL(12,2) ledger amounts and snapshot balances
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("9999999999.99");
+    // Every lost race means another entry of the account was committed meanwhile; past this many the write gives up
+    private static final int MAX_ATTEMPTS = 10;
+
+    private final BalanceLedgerRepository balanceLedgerRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Override
+    public BigDecimal getBalance(String userId) {
+        BigDecimal balance = balanceLedgerRepository.findBalance(userId);
+        if (balance == null) {
+            throw new GlobalServiceException(HttpStatus.NOT_FOUND, "User " + userId + " is not found.");
+        }
+        return balance;
+    }
+
+    @Override
+    public Map<String, BigDecimal> getBalances(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return balanceLedgerRepository.findBalances(userIds).stream()
+                .collect(Collectors.toMap(UserBalanceView::getUserId, UserBalanceView::getBalance));
+    }
+
+    @Override
+    @Transactional(isolation = READ_COMMITTED)
+    public boolean debit(String userId, BigDecimal amount, BalanceEntryType entryType, String reference) {
+        checkAmount(amount);
+        LocalDateTime now = LocalDateTime.now();
+        return append(userId, sequenceNo -> balanceLedgerRepository.insertGuardedDebit(userId, sequenceNo, amount,
+                entryType.name(), reference, now));
+    }
+
+    @Override
+    @Transactional(isolation = READ_COMMITTED)
+    public void credit(String userId, BigDecimal amount, BalanceEntryType entryType, String reference) {
+        checkAmount(amount);
+        LocalDateTime now = LocalDateTime.now();
+        if (!append(userId, sequenceNo -> balanceLedgerRepository.insertEntry(userId, sequenceNo, amount,
+                entryType.name(), reference, now))) {
+            throw new GlobalServiceException(HttpStatus.NOT_FOUND, "User " + userId + " is not found.");
+        }
+    }
+
+    @Override
+    @Transactional(isolation = READ_COMMITTED)
+    public BigDecimal setBalance(String userId, BigDecimal newBalance) {
+        if (newBalance == null || newBalance.signum() < 0) {
+            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Balance can't be negative.");
+        }
+        if (newBalance.compareTo(MAX_AMOUNT) > 0) {
+            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Balance can't exceed " + MAX_AMOUNT + ".");
+        }
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            LedgerPositionView position = balanceLedgerRepository.findPosition(userId);
+            if (position == null) {
+                throw new GlobalServiceException(HttpStatus.NOT_FOUND, "User " + userId + " is not found.");
+            }
+            BigDecimal adjustment = newBalance.subtract(position.getBalance());
+            // Retried on top of whatever entry took the next sequence number in the meantime
+            if (adjustment.signum() == 0 || balanceLedgerRepository.insertEntry(userId,
+                    position.getSequenceNo() + 1, adjustment, BalanceEntryType.ADJUSTMENT.name(), null,
+                    LocalDateTime.now()) == 1) {
+                return position.getBalance();
+            }
+        }
+        throw concurrentWrites(userId);
+    }
+
+    @Override
+    @Transactional(isolation = READ_COMMITTED)
+    public void refundPendingPayments(List<String> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return;
+        }
+        balanceLedgerRepository.findPendingRefunds(transactionIds).forEach(refund -> credit(refund.getUserId(),
+                refund.getAmount(), BalanceEntryType.REFUND, refund.getTransactionId()));
+    }
+
+    @Override
+    @Transactional
+    public void openAccount(String userId) {
+        balanceSnapshotRepository.createIfAbsent(userId, LocalDateTime.now());
+    }
+
+    // Appends a snapshot with the entries recorded since the last one, so balance reads stay short
+    @Override
+    @Transactional(isolation = READ_COMMITTED)
+    public void snapshot(String userId, long ledgerId) {
+        balanceSnapshotRepository.appendSnapshot(userId, ledgerId, LocalDateTime.now());
+    }
+
+    @Override
+    public BalanceHistoryDTO getHistory(String userId, int page, int size) {
+        Page<BalanceLedgerEntry> entryPage = balanceLedgerRepository
+                .findAllByUsersExternalIdOrderByIdDesc(userId, PageRequest.of(page, size));
+        List<BalanceEntryDTO> entries = entryPage.getContent().stream()
+                .map(entry -> BalanceEntryDTO.builder()
+                        .id(entry.getId())
+                        .amount(entry.getAmount())
+                        .entryType(entry.getEntryType())
+                        .reference(entry.getReference())
+                        .createdAt(entry.getCreatedAt())
+                        .build())
+                .toList();
+        return BalanceHistoryDTO.builder()
+                .entries(entries)
+                .totalItems(entryPage.getTotalElements())
+                .totalPages(entryPage.getTotalPages())
+                .currentPage(page)
+                .build();
+    }
+
+    // Every entry takes the next sequence number of its user and the unique key lets only one writer have it,
+    // which is the only thing ordering concurrent writes of an account. The insert writes nothing when the
+    // number is taken, or when its own condition fails; only the first case is retried. Any other error,
+    // like a value out of the column range, fails the write instead of being stored clamped.
+    // Retrying needs every statement to see the latest commits, hence READ COMMITTED on each transaction
+    // that writes the ledger; a joined transaction keeps the isolation of the one that started it.
+    private boolean append(String userId, LongToIntFunction insert) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long lastSequenceNo = balanceLedgerRepository.findLastSequenceNo(userId);
+            if (insert.applyAsInt(lastSequenceNo + 1) == 1) {
+                return true;
+            }
+            if (balanceLedgerRepository.findLastSequenceNo(userId) == lastSequenceNo) {
+                return false;
+            }
+        }
+        throw concurrentWrites(userId);
+    }
+
+    private GlobalServiceException concurrentWrites(String userId) {
+        return new GlobalServiceException(HttpStatus.CONFLICT,
+                "Balance of user " + userId + " is changing concurrently, try again.");
+    }
+
+    private void checkAmount(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Amount must be positive.");
+        }
+        if (amount.compareTo(MAX_AMOUNT) > 0) {
+            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, "Amount can't exceed " + MAX_AMOUNT + ".");
+        }
+    }
+}
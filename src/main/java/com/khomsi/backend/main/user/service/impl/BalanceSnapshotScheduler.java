@@ -0,0 +1,33 @@
+package com.khomsi.backend.main.user.service.impl;
+
+import com.khomsi.backend.main.user.repository.BalanceLedgerRepository;
+import com.khomsi.backend.main.user.repository.BalanceSnapshotRepository;
+import com.khomsi.backend.main.user.service.BalanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceSnapshotScheduler {
+    private final BalanceService balanceService;
+    private final BalanceLedgerRepository balanceLedgerRepository;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+
+    // Picks up from the ledger id stored with the newest snapshot, so a restart doesn't rescan the ledger
+    @Scheduled(fixedDelayString = "${app.balance.snapshot-interval:PT10M}")
+    public void snapshotActiveAccounts() {
+        long lastLedgerId = balanceSnapshotRepository.findMaxLedgerId();
+        long maxLedgerId = balanceLedgerRepository.findMaxId();
+        if (maxLedgerId <= lastLedgerId) {
+            return;
+        }
+        List<String> userIds = balanceLedgerRepository.findUserIdsWithEntriesBetween(lastLedgerId, maxLedgerId);
+        userIds.forEach(userId -> balanceService.snapshot(userId, maxLedgerId));
+        log.debug("Balance snapshots refreshed for {} users up to ledger entry {}", userIds.size(), maxLedgerId);
+    }
+}
@@ -10,6 +10,7 @@ import com.khomsi.backend.main.user.model.entity.UserInfo;
 import com.khomsi.backend.main.user.repository.UserGamesRepository;
 import com.khomsi.backend.main.user.service.UserGamesService;
 import com.khomsi.backend.main.user.service.UserInfoService;
+import com.khomsi.backend.main.utils.sketch.service.UniqueBuyerService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -27,6 +28,7 @@ public class UserGamesServiceImpl implements UserGamesService {
     private final UserGamesRepository userGamesRepository;
     private final UserInfoService userInfoService;
     private final UserInfoMapper userInfoMapper;
+    private final UniqueBuyerService uniqueBuyerService;
 
     @Override
     public List<UserShortGamesDTO> getAllUserGames() {
@@ -46,6 +48,8 @@ public class UserGamesServiceImpl implements UserGamesService {
         transactionGamesList.forEach(transactionGames -> userGames.add(createUserGames(user, transactionGames.getGames())));
         userGamesRepository.saveAll(userGames);
         user.setUserGames(userGames);
+        uniqueBuyerService.recordPurchase(user.getExternalId(),
+                userGames.stream().map(userGame -> userGame.getGame().getId()).toList());
     }
 
     @Override
@@ -69,5 +73,6 @@ public class UserGamesServiceImpl implements UserGamesService {
     @Override
     public void saveUserGames(UserInfo user, Game game) {
         userGamesRepository.save(createUserGames(user, game));
+        uniqueBuyerService.recordPurchase(user.getExternalId(), List.of(game.getId()));
     }
 }
\ No newline at end of file
@@ -2,10 +2,12 @@ package com.khomsi.backend.main.user.service.impl;
 
 import com.khomsi.backend.main.game.model.entity.Game;
 import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.user.model.dto.BalanceHistoryDTO;
 import com.khomsi.backend.main.user.model.dto.BalanceUserInfoDTO;
 import com.khomsi.backend.main.user.model.dto.FullUserInfoDTO;
 import com.khomsi.backend.main.user.model.entity.UserInfo;
 import com.khomsi.backend.main.user.repository.UserInfoRepository;
+import com.khomsi.backend.main.user.service.BalanceService;
 import com.khomsi.backend.main.user.service.UserInfoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,13 +17,17 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserInfoServiceImpl implements UserInfoService {
     private final UserInfoRepository userRepository;
+    private final BalanceService balanceService;
 
     @Override
     public FullUserInfoDTO getCurrentUser() {
@@ -71,14 +77,28 @@ public class UserInfoServiceImpl implements UserInfoService {
                 .familyName(jwt.getClaimAsString("family_name"))
                 .gender(jwt.getClaimAsString("gender"))
                 .birthdate(jwt.getClaimAsString("birthdate"))
-                .balance(existingUser.getBalance())
+                .balance(balanceService.getBalance(existingUser.getExternalId()))
                 // Add other user information based on JWT claims or user in db
                 .build();
     }
 
     @Override
     public BalanceUserInfoDTO getUserBalance() {
-        return BalanceUserInfoDTO.builder().balance(getCurrentUser().balance()).build();
+        UserInfo existingUser = getUserInfo();
+        if (existingUser == null) {
+            return BalanceUserInfoDTO.builder().build();
+        }
+        return BalanceUserInfoDTO.builder().balance(balanceService.getBalance(existingUser.getExternalId())).build();
+    }
+
+    @Override
+    public BalanceHistoryDTO getUserBalanceHistory(int page, int size) {
+        UserInfo existingUser = getUserInfo();
+        if (existingUser == null) {
+            throw new GlobalServiceException(HttpStatus.BAD_REQUEST,
+                    "User is empty in external database to view balance history.");
+        }
+        return balanceService.getHistory(existingUser.getExternalId(), page, size);
     }
 
     @Override
@@ -97,10 +117,21 @@ public class UserInfoServiceImpl implements UserInfoService {
 
     @Override
     public boolean checkIfGameIsOwnedByCurrentUser(Game game) {
-        FullUserInfoDTO currentUser = getCurrentUser();
-        if (currentUser == null)
-            return false;
-        // Check if this game is contacting for this user
-        return userRepository.gameExistsInUserGames(currentUser.externalId(), game.getId()) > 0;
+        return !getOwnedGameIds(List.of(game.getId())).isEmpty();
+    }
+
+    // One query for a whole list of games; the JWT subject is enough, no need to load the profile and balance
+    @Override
+    public Set<Long> getOwnedGameIds(Collection<Long> gameIds) {
+        if (gameIds.isEmpty()) {
+            return Set.of();
+        }
+        Jwt jwt;
+        try {
+            jwt = getJwt();
+        } catch (GlobalServiceException ignored) {
+            return Set.of();
+        }
+        return userRepository.findOwnedGameIds(jwt.getSubject(), gameIds);
     }
 }
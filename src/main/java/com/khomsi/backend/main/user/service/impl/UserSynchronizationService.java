@@ -2,6 +2,7 @@ package com.khomsi.backend.main.user.service.impl;
 
 import com.khomsi.backend.main.user.repository.UserInfoRepository;
 import com.khomsi.backend.main.user.model.entity.UserInfo;
+import com.khomsi.backend.main.user.service.BalanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -9,7 +10,6 @@ import org.springframework.security.authentication.event.AuthenticationSuccessEv
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 
 @Service
 @RequiredArgsConstructor
@@ -17,6 +17,7 @@ import java.math.BigDecimal;
 public class UserSynchronizationService {
     private final UserInfoRepository userRepository;
     private final UserInfoServiceImpl userInfoServiceImpl;
+    private final BalanceService balanceService;
 
     //TODO temporary problem, can't track when user in keycloak was deleted.
     // Due to this, user in external db remains undeleted.
@@ -27,12 +28,16 @@ public class UserSynchronizationService {
         String userId = jwt.getSubject();
         UserInfo user = userInfoServiceImpl.getExistingUser(userId);
         //Create user
-        if (user == null) {
+        boolean newUser = user == null;
+        if (newUser) {
             user = createUserInfoToDB(jwt);
         }
         user.setEmail(jwt.getClaimAsString("email"));
         // Save user information
         userRepository.save(user);
+        if (newUser) {
+            balanceService.openAccount(userId);
+        }
     }
 
     @EventListener(AuthenticationSuccessEvent.class)
@@ -45,7 +50,6 @@ public class UserSynchronizationService {
         UserInfo user = new UserInfo();
         user.setExternalId(jwt.getSubject());
         user.setUsername(jwt.getClaimAsString("preferred_username"));
-        user.setBalance(BigDecimal.ZERO);
         // Set other user attributes based on JWT claims
         return user;
     }
@@ -0,0 +1,28 @@
+package com.khomsi.backend.main.utils.email.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.mail.outbox")
+public class EmailOutboxProperties {
+    @Min(1)
+    private int batchSize = 50;
+    @Min(1)
+    private int maxAttempts = 8;
+    @NotNull
+    private Duration initialBackoff = Duration.ofSeconds(30);
+    @NotNull
+    private Duration maxBackoff = Duration.ofHours(1);
+    // Claimed rows are pushed this far into the future so a crashed dispatcher releases them
+    @NotNull
+    private Duration claimTimeout = Duration.ofMinutes(5);
+}
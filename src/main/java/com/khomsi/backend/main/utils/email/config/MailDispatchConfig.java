@@ -0,0 +1,27 @@
+package com.khomsi.backend.main.utils.email.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class MailDispatchConfig {
+    public static final String MAIL_DISPATCH_EXECUTOR = "mailDispatchExecutor";
+
+    // Bounded queue with CallerRunsPolicy: when it is full the dispatcher sends the chunk itself.
+    // Kept on platform threads even in virtual-thread mode: SMTPTransport synchronizes around socket I/O.
+    @Bean(name = MAIL_DISPATCH_EXECUTOR)
+    public ThreadPoolTaskExecutor mailDispatchExecutor(MailDispatchProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getCoreThreads());
+        executor.setMaxPoolSize(Math.max(properties.getCoreThreads(), properties.getMaxThreads()));
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("mail-dispatch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.khomsi.backend.main.utils.email.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.mail.dispatch")
+public class MailDispatchProperties {
+    // Max open SMTP connections, should cover max-threads plus the caller thread
+    @Min(1)
+    private int poolSize = 5;
+    @Min(1)
+    private int maxMessagesPerConnection = 100;
+    @NotNull
+    private Duration idleTimeout = Duration.ofSeconds(60);
+    @NotNull
+    private Duration borrowTimeout = Duration.ofSeconds(30);
+    // Messages sent through one connection by one task
+    @Min(1)
+    private int chunkSize = 10;
+    @Min(1)
+    private int coreThreads = 2;
+    @Min(1)
+    private int maxThreads = 4;
+    @Min(0)
+    private int queueCapacity = 20;
+}
@@ -0,0 +1,153 @@
+package com.khomsi.backend.main.utils.email.dispatch;
+
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.utils.email.config.MailDispatchProperties;
+import com.khomsi.backend.main.utils.email.model.entity.EmailOutbox;
+import com.khomsi.backend.main.utils.email.service.EmailOutboxService;
+import com.khomsi.backend.main.utils.jfr.event.EmailSendEvent;
+import com.khomsi.backend.main.utils.jfr.recorder.JfrRecorder;
+import com.khomsi.backend.main.utils.resilience.executor.ResilientCallExecutor;
+import com.khomsi.backend.main.utils.resilience.model.enums.Integration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.khomsi.backend.main.utils.email.config.MailDispatchConfig.MAIL_DISPATCH_EXECUTOR;
+
+@Component
+@Slf4j
+public class MailDispatchEngine {
+    private final SmtpTransportPool transportPool;
+    private final EmailOutboxService emailOutboxService;
+    private final ThreadPoolTaskExecutor executor;
+    private final MailDispatchProperties properties;
+    private final ResilientCallExecutor resilientCallExecutor;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Timer chunkTimer;
+    @Value("${spring.mail.username}")
+    private String mailSender;
+
+    public MailDispatchEngine(SmtpTransportPool transportPool, EmailOutboxService emailOutboxService,
+                              @Qualifier(MAIL_DISPATCH_EXECUTOR) ThreadPoolTaskExecutor executor,
+                              MailDispatchProperties properties, ResilientCallExecutor resilientCallExecutor,
+                              MeterRegistry meterRegistry) {
+        this.transportPool = transportPool;
+        this.emailOutboxService = emailOutboxService;
+        this.executor = executor;
+        this.properties = properties;
+        this.resilientCallExecutor = resilientCallExecutor;
+        this.sentCounter = meterRegistry.counter("mail.dispatch.messages", "result", "sent");
+        this.failedCounter = meterRegistry.counter("mail.dispatch.messages", "result", "failed");
+        this.chunkTimer = meterRegistry.timer("mail.dispatch.chunk");
+        Gauge.builder("mail.dispatch.queue.depth", executor,
+                        e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("mail.dispatch.active.threads", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder("mail.dispatch.connections.active", transportPool, SmtpTransportPool::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder("mail.dispatch.connections.idle", transportPool, SmtpTransportPool::getIdleCount)
+                .register(meterRegistry);
+    }
+
+    // Blocks until the whole batch is handled, so the outbox is never claimed faster than it is sent
+    public void dispatch(List<EmailOutbox> batch) {
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += properties.getChunkSize()) {
+            List<EmailOutbox> chunk = batch.subList(from, Math.min(from + properties.getChunkSize(), batch.size()));
+            chunks.add(CompletableFuture.runAsync(() -> chunkTimer.record(() -> sendChunk(chunk)), executor));
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void sendChunk(List<EmailOutbox> chunk) {
+        List<Long> sentIds = new ArrayList<>();
+        List<Long> postponedIds = new ArrayList<>();
+        PooledTransport transport = null;
+        try {
+            for (int i = 0; i < chunk.size(); i++) {
+                EmailOutbox email = chunk.get(i);
+                try {
+                    if (transport == null) {
+                        transport = transportPool.borrow();
+                    }
+                    PooledTransport current = transport;
+                    MimeMessage message = buildMessage(email);
+                    resilientCallExecutor.execute(Integration.SMTP, () -> send(current, message, email));
+                    sentIds.add(email.getId());
+                } catch (SendFailedException e) {
+                    // Rejected recipient, the connection itself is still usable
+                    markFailed(email, e);
+                } catch (MessagingException e) {
+                    markFailed(email, e);
+                    if (transport != null) {
+                        transportPool.release(transport, true);
+                        transport = null;
+                    }
+                } catch (GlobalServiceException e) {
+                    // SMTP circuit is open: nothing reached the server, so the rest of the chunk waits for
+                    // a later run without using up attempts, instead of failing for good during an outage
+                    log.warn("Email dispatch paused, {} emails postponed: {}", chunk.size() - i, e.getMessage());
+                    chunk.subList(i, chunk.size()).forEach(postponed -> postponedIds.add(postponed.getId()));
+                    break;
+                }
+            }
+        } finally {
+            if (transport != null) {
+                transportPool.release(transport, false);
+            }
+            if (!sentIds.isEmpty()) {
+                emailOutboxService.markSent(sentIds);
+                sentCounter.increment(sentIds.size());
+            }
+            if (!postponedIds.isEmpty()) {
+                emailOutboxService.postpone(postponedIds);
+            }
+        }
+    }
+
+    // One event per attempt on the SMTP connection, so retries show up as separate sends
+    private static Void send(PooledTransport transport, MimeMessage message, EmailOutbox email)
+            throws MessagingException {
+        return JfrRecorder.record(EmailSendEvent::new, () -> {
+            transport.send(message);
+            return null;
+        }, (event, result, failure) -> {
+            event.subject = email.getSubject();
+            event.bodySize = email.getBody().getBytes(StandardCharsets.UTF_8).length;
+            event.outcome = failure != null ? failure.getClass().getSimpleName() : "sent";
+        });
+    }
+
+    private MimeMessage buildMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = transportPool.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setTo(email.getRecipient());
+        helper.setFrom(mailSender);
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody(), true);
+        return message;
+    }
+
+    private void markFailed(EmailOutbox email, Exception e) {
+        log.warn("Email {} to {} is not sent: {}", email.getId(), email.getRecipient(), e.getMessage());
+        emailOutboxService.markFailed(email.getId(), e.getMessage());
+        failedCounter.increment();
+    }
+}
@@ -0,0 +1,28 @@
+package com.khomsi.backend.main.utils.email.dispatch;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.Getter;
+
+@Getter
+public class PooledTransport {
+    private final Transport transport;
+    private int sentCount;
+    private long lastUsedNanos;
+
+    PooledTransport(Transport transport) {
+        this.transport = transport;
+        this.lastUsedNanos = System.nanoTime();
+    }
+
+    public void send(MimeMessage message) throws MessagingException {
+        message.saveChanges();
+        transport.sendMessage(message, message.getAllRecipients());
+        sentCount++;
+    }
+
+    void touch() {
+        lastUsedNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,126 @@
+package com.khomsi.backend.main.utils.email.dispatch;
+
+import com.khomsi.backend.main.utils.email.config.MailDispatchProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SmtpTransportPool {
+    private static final String DEFAULT_PROTOCOL = "smtp";
+    private final JavaMailSenderImpl mailSender;
+    private final MailDispatchProperties properties;
+    private final ConcurrentLinkedDeque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+    private Semaphore permits;
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(properties.getPoolSize(), true);
+    }
+
+    public PooledTransport borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(properties.getBorrowTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timed out waiting for an SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+        try {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isReusable(pooled)) {
+                    return pooled;
+                }
+                close(pooled);
+            }
+            return new PooledTransport(connect());
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Broken or exhausted connections are closed instead of going back to the pool
+    public void release(PooledTransport pooled, boolean broken) {
+        try {
+            if (broken || pooled.getSentCount() >= properties.getMaxMessagesPerConnection()) {
+                close(pooled);
+            } else {
+                pooled.touch();
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.dispatch.idle-timeout:PT60S}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        idle.removeIf(pooled -> {
+            if (now - pooled.getLastUsedNanos() >= properties.getIdleTimeout().toNanos()) {
+                close(pooled);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getActiveCount() {
+        return properties.getPoolSize() - permits.availablePermits();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled);
+        }
+    }
+
+    private boolean isReusable(PooledTransport pooled) {
+        long idleNanos = System.nanoTime() - pooled.getLastUsedNanos();
+        return idleNanos < properties.getIdleTimeout().toNanos()
+                && pooled.getSentCount() < properties.getMaxMessagesPerConnection()
+                && pooled.getTransport().isConnected();
+    }
+
+    private Transport connect() throws MessagingException {
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : DEFAULT_PROTOCOL;
+        Transport transport = mailSender.getSession().getTransport(protocol);
+        transport.connect(mailSender.getHost(), mailSender.getPort(),
+                mailSender.getUsername(), mailSender.getPassword());
+        return transport;
+    }
+
+    private void close(PooledTransport pooled) {
+        try {
+            pooled.getTransport().close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.khomsi.backend.main.utils.email.model.entity;
+
+import com.khomsi.backend.main.utils.email.model.enums.EmailOutboxStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "email_outbox")
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Size(max = 255)
+    @NotNull
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    @Size(max = 255)
+    @NotNull
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Lob
+    @NotNull
+    @Column(name = "body", nullable = false)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    @Column(name = "status", nullable = false, length = 20)
+    private EmailOutboxStatus status;
+
+    @NotNull
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @NotNull
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Lob
+    @Column(name = "last_error")
+    private String lastError;
+}
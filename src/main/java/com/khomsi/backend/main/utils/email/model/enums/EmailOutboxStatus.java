@@ -0,0 +1,7 @@
+package com.khomsi.backend.main.utils.email.model.enums;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
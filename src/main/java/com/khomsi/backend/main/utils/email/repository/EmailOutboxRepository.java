@@ -0,0 +1,36 @@
+package com.khomsi.backend.main.utils.email.repository;
+
+import com.khomsi.backend.main.utils.email.model.entity.EmailOutbox;
+import com.khomsi.backend.main.utils.email.model.enums.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    // SKIP LOCKED lets several instances drain the outbox without picking the same rows
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at, id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """)
+    List<EmailOutbox> lockPendingBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("""
+            UPDATE EmailOutbox e
+            SET e.status = :status, e.sentAt = :sentAt, e.attempts = e.attempts + 1, e.lastError = null
+            WHERE e.id IN :ids
+            """)
+    void markSent(@Param("ids") List<Long> ids, @Param("status") EmailOutboxStatus status,
+                  @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.nextAttemptAt = :nextAttemptAt WHERE e.id IN :ids")
+    void postpone(@Param("ids") List<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+}
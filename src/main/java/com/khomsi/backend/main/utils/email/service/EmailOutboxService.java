@@ -0,0 +1,17 @@
+package com.khomsi.backend.main.utils.email.service;
+
+import com.khomsi.backend.main.utils.email.model.entity.EmailOutbox;
+
+import java.util.List;
+
+public interface EmailOutboxService {
+    void enqueue(String recipient, String subject, String body);
+
+    List<EmailOutbox> claimBatch();
+
+    void markSent(List<Long> outboxIds);
+
+    void markFailed(Long outboxId, String error);
+
+    void postpone(List<Long> outboxIds);
+}
@@ -0,0 +1,28 @@
+package com.khomsi.backend.main.utils.email.service.impl;
+
+import com.khomsi.backend.main.utils.email.config.EmailOutboxProperties;
+import com.khomsi.backend.main.utils.email.dispatch.MailDispatchEngine;
+import com.khomsi.backend.main.utils.email.model.entity.EmailOutbox;
+import com.khomsi.backend.main.utils.email.service.EmailOutboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class EmailOutboxDispatcher {
+    private final EmailOutboxService emailOutboxService;
+    private final EmailOutboxProperties properties;
+    private final MailDispatchEngine mailDispatchEngine;
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:PT5S}")
+    public void dispatchPendingEmails() {
+        List<EmailOutbox> batch;
+        do {
+            batch = emailOutboxService.claimBatch();
+            mailDispatchEngine.dispatch(batch);
+        } while (batch.size() == properties.getBatchSize());
+    }
+}
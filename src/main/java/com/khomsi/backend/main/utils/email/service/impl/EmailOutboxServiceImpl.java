@@ -0,0 +1,85 @@
+package com.khomsi.backend.main.utils.email.service.impl;
+
+import com.khomsi.backend.main.utils.email.config.EmailOutboxProperties;
+import com.khomsi.backend.main.utils.email.model.entity.EmailOutbox;
+import com.khomsi.backend.main.utils.email.model.enums.EmailOutboxStatus;
+import com.khomsi.backend.main.utils.email.repository.EmailOutboxRepository;
+import com.khomsi.backend.main.utils.email.service.EmailOutboxService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+    private static final int MAX_ERROR_LENGTH = 2000;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailOutboxProperties properties;
+
+    // Joins the caller's transaction, so the email is only queued if the business change commits
+    @Override
+    @Transactional
+    public void enqueue(String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(recipient);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setStatus(EmailOutboxStatus.PENDING);
+        email.setAttempts(0);
+        email.setCreatedAt(now);
+        email.setNextAttemptAt(now);
+        emailOutboxRepository.save(email);
+    }
+
+    @Override
+    @Transactional
+    public List<EmailOutbox> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = emailOutboxRepository.lockPendingBatch(now, properties.getBatchSize());
+        batch.forEach(email -> email.setNextAttemptAt(now.plus(properties.getClaimTimeout())));
+        return batch;
+    }
+
+    @Override
+    @Transactional
+    public void markSent(List<Long> outboxIds) {
+        emailOutboxRepository.markSent(outboxIds, EmailOutboxStatus.SENT, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    public void markFailed(Long outboxId, String error) {
+        emailOutboxRepository.findById(outboxId).ifPresent(email -> {
+            int attempts = email.getAttempts() + 1;
+            email.setAttempts(attempts);
+            email.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                    ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (attempts >= properties.getMaxAttempts()) {
+                email.setStatus(EmailOutboxStatus.FAILED);
+                log.error("Email {} to {} failed after {} attempts: {}", outboxId, email.getRecipient(),
+                        attempts, error);
+            } else {
+                email.setNextAttemptAt(LocalDateTime.now().plus(getBackoff(attempts)));
+            }
+        });
+    }
+
+    // Hands claimed emails back for another run without counting an attempt
+    @Override
+    @Transactional
+    public void postpone(List<Long> outboxIds) {
+        emailOutboxRepository.postpone(outboxIds, LocalDateTime.now().plus(properties.getInitialBackoff()));
+    }
+
+    private Duration getBackoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+}
@@ -4,19 +4,12 @@ import com.khomsi.backend.main.checkout.model.entity.Transaction;
 import com.khomsi.backend.main.checkout.model.entity.TransactionGames;
 import com.khomsi.backend.main.game.model.dto.ShortGameModel;
 import com.khomsi.backend.main.game.model.entity.Game;
-import com.khomsi.backend.main.handler.exception.GlobalServiceException;
 import com.khomsi.backend.main.user.model.dto.FullUserInfoDTO;
 import com.khomsi.backend.main.user.model.entity.UserInfo;
 import com.khomsi.backend.main.user.service.UserInfoService;
+import com.khomsi.backend.main.utils.email.service.EmailOutboxService;
 import com.khomsi.backend.main.utils.email.service.EmailService;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
@@ -32,65 +25,35 @@ import static com.khomsi.backend.main.checkout.model.enums.EmailTemplates.*;
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender emailSender;
+    private final EmailOutboxService emailOutboxService;
     private final TemplateEngine templateEngine;
-    @Value("${spring.mail.username}")
-    private String mailSender;
     private final UserInfoService userInfoService;
 
-    @Async
     @Override
     public void sendPurchaseConfirmationEmail(Transaction transaction) {
-        try {
-            MimeMessage message = emailSender.createMimeMessage();
-            FullUserInfoDTO userInfoDTO = userInfoService.getCurrentUser();
-            prepareAndSendEmail(message, userInfoDTO.email(), PURCHASE_CONFIRMATION.getTemplateName(), prepareEmailContext(transaction));
-        } catch (MessagingException e) {
-            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
+        FullUserInfoDTO userInfoDTO = userInfoService.getCurrentUser();
+        queueEmail(userInfoDTO.email(), PURCHASE_CONFIRMATION.getTemplateName(), prepareEmailContext(transaction));
     }
 
-    @Async
     @Override
     public void sendBalanceUpdateNotification(String email, BigDecimal oldBalance, BigDecimal newBalance) {
-        try {
-            MimeMessage message = emailSender.createMimeMessage();
-            prepareAndSendBalanceUpdateEmail(message, email, oldBalance, newBalance);
-        } catch (MessagingException e) {
-            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
+        Context context = new Context();
+        context.setVariable("oldBalance", oldBalance);
+        context.setVariable("newBalance", newBalance);
+        queueEmail(email, BALANCE_NOTIFICATION.getTemplateName(), context);
     }
 
-    @Async
     @Override
     public void sendDiscountNotificationEmail(List<ShortGameModel> discountedGames, UserInfo user) {
-        try {
-            MimeMessage message = emailSender.createMimeMessage();
-            prepareAndSendEmail(message, user.getEmail(), DISCOUNT_NOTIFICATION.getTemplateName(),
-                    prepareDiscountEmailContext(discountedGames, user));
-        } catch (MessagingException e) {
-            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
+        queueEmail(user.getEmail(), DISCOUNT_NOTIFICATION.getTemplateName(),
+                prepareDiscountEmailContext(discountedGames, user));
     }
 
-    @Async
     @Override
     public void sendWarningEmail(String notification, UserInfo user) {
-        try {
-            MimeMessage message = emailSender.createMimeMessage();
-            Context context = new Context();
-            context.setVariable("notification", notification);
-            prepareAndSendEmail(message, user.getEmail(), WARNING_NOTIFICATION.getTemplateName(), context);
-        } catch (MessagingException e) {
-            throw new GlobalServiceException(HttpStatus.BAD_REQUEST, e.getMessage());
-        }
-    }
-
-    private void prepareAndSendBalanceUpdateEmail(MimeMessage message, String userEmail, BigDecimal oldBalance, BigDecimal newBalance) throws MessagingException {
         Context context = new Context();
-        context.setVariable("oldBalance", oldBalance);
-        context.setVariable("newBalance", newBalance);
-        prepareAndSendEmail(message, userEmail, BALANCE_NOTIFICATION.getTemplateName(), context);
+        context.setVariable("notification", notification);
+        queueEmail(user.getEmail(), WARNING_NOTIFICATION.getTemplateName(), context);
     }
 
     private Context prepareEmailContext(Transaction transaction) {
@@ -130,14 +93,10 @@ public class EmailServiceImpl implements EmailService {
         return templateEngine.process(template, context);
     }
 
-    private void prepareAndSendEmail(MimeMessage message, String userEmail, String template, Context context) throws MessagingException {
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);
-        helper.setTo(userEmail);
-        helper.setFrom(mailSender);
-        helper.setSubject(getEmailSubject(template));
-        String htmlContent = generateEmailContent(template, context);
-        helper.setText(htmlContent, true);
-        emailSender.send(message);
+    // Rendered up front so the outbox row holds the final message and the dispatcher needs no entities
+    private void queueEmail(String userEmail, String template, Context context) {
+        String content = generateEmailContent(template, context);
+        emailOutboxService.enqueue(userEmail, getEmailSubject(template), content);
     }
 
     private String getEmailSubject(String template) {
@@ -0,0 +1,71 @@
+package com.khomsi.backend.main.utils.jfr.config;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Always-on recording with the JDK default events plus grid.*, kept on disk for app.jfr.max-age.
+// Dump it on demand with: jcmd <pid> JFR.dump name=grid filename=grid.jfr
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "app.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ContinuousFlightRecording {
+    private final FlightRecorderProperties properties;
+    private Recording recording;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException, ParseException {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight Recorder is not available in this JVM, grid.* events are not recorded");
+            return;
+        }
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (Reader reader = new InputStreamReader(properties.getSettings().getInputStream(),
+                StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        }
+        recording = new Recording(settings);
+        recording.setName("grid");
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        if (properties.getDestination() != null) {
+            recording.setDestination(properties.getDestination());
+        }
+        recording.start();
+        log.info("Started flight recording {}, keeping {} up to {}", recording.getName(), properties.getMaxAge(),
+                properties.getMaxSize());
+    }
+
+    // Stopping writes the recording to the destination, if one is set
+    @PreDestroy
+    void stop() {
+        if (recording == null) {
+            return;
+        }
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+        } finally {
+            recording.close();
+        }
+    }
+}
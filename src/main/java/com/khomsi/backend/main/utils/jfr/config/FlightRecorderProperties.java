@@ -0,0 +1,30 @@
+package com.khomsi.backend.main.utils.jfr.config;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.jfr")
+public class FlightRecorderProperties {
+    private boolean enabled = true;
+    // Event settings applied on top of the JDK default profile
+    @NotNull
+    private Resource settings = new ClassPathResource("jfr/grid.jfc");
+    @NotNull
+    private Duration maxAge = Duration.ofHours(6);
+    @NotNull
+    private DataSize maxSize = DataSize.ofMegabytes(250);
+    // The recording is written here on shutdown; without it, use jcmd JFR.dump while the app runs
+    private Path destination;
+}
@@ -0,0 +1,25 @@
+package com.khomsi.backend.main.utils.jfr.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("grid.CatalogQuery")
+@Label("Catalog Query")
+@Category({"GRID", "Catalog"})
+@Description("A storefront catalog read, from the repository call to the mapped result")
+@StackTrace(false)
+public class CatalogQueryEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Criteria")
+    @Description("Names of the filters and sort used and the page size, without filter values or search text")
+    public String criteria;
+
+    @Label("Rows")
+    public int rows;
+}
@@ -0,0 +1,32 @@
+package com.khomsi.backend.main.utils.jfr.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("grid.CheckoutStep")
+@Label("Checkout Step")
+@Category({"GRID", "Checkout"})
+@Description("Creating a payment with a provider, capturing it, or completing the paid transaction")
+@StackTrace(false)
+public class CheckoutStepEvent extends Event {
+    public static final String CREATE = "create";
+    public static final String CAPTURE = "capture";
+    public static final String COMPLETE = "complete";
+
+    @Label("Step")
+    public String step;
+
+    @Label("Payment Method")
+    public String paymentMethod;
+
+    @Label("Transaction Id")
+    public String transactionId;
+
+    @Label("Outcome")
+    @Description("Response status, or the exception type when the step threw")
+    public String outcome;
+}
@@ -0,0 +1,27 @@
+package com.khomsi.backend.main.utils.jfr.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("grid.EmailSend")
+@Label("Email Send")
+@Category({"GRID", "Email"})
+@Description("Sending one outbox message over a pooled SMTP connection")
+@StackTrace(false)
+public class EmailSendEvent extends Event {
+    @Label("Subject")
+    public String subject;
+
+    @Label("Body Size")
+    @DataAmount
+    public long bodySize;
+
+    @Label("Outcome")
+    @Description("sent, or the exception type when the server refused the message")
+    public String outcome;
+}
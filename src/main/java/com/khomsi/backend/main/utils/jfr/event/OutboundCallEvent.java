@@ -0,0 +1,28 @@
+package com.khomsi.backend.main.utils.jfr.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("grid.OutboundCall")
+@Label("Outbound Call")
+@Category({"GRID", "Integrations"})
+@Description("A call to a payment or currency provider, including resilience rejections and retries")
+@StackTrace(false)
+public class OutboundCallEvent extends Event {
+    @Label("Provider")
+    public String provider;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("HTTP Status")
+    @Description("0 when no response was received")
+    public int status;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,44 @@
+package com.khomsi.backend.main.utils.jfr.recorder;
+
+import jdk.jfr.Event;
+
+import java.util.function.Supplier;
+
+// Times body as one grid.* event. Fields are filled only when the event is going to be recorded, with the
+// result, or with the failure when body threw; the failure is rethrown as it was.
+public final class JfrRecorder {
+    private JfrRecorder() {
+    }
+
+    public static <E extends Event, T, X extends Exception> T record(Supplier<E> event, Body<T, X> body,
+                                                                     Fields<E, T> fields) throws X {
+        E recorded = event.get();
+        recorded.begin();
+        T result = null;
+        Exception failure = null;
+        try {
+            result = body.call();
+            return result;
+        } catch (Exception e) {
+            failure = e;
+            throw e;
+        } finally {
+            recorded.end();
+            if (recorded.shouldCommit()) {
+                fields.fill(recorded, result, failure);
+                recorded.commit();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Body<T, X extends Exception> {
+        T call() throws X;
+    }
+
+    @FunctionalInterface
+    public interface Fields<E extends Event, T> {
+        // result is null when body threw
+        void fill(E event, T result, Exception failure);
+    }
+}
@@ -0,0 +1,32 @@
+package com.khomsi.backend.main.utils.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Endpoint tag shared by all app metrics: "GET /api/v1/games/{id}" for a mapped request,
+// "none" outside of a request (schedulers, outbox workers).
+public final class RequestEndpoint {
+    public static final String TAG = "endpoint";
+    public static final String NONE = "none";
+    public static final String UNMAPPED = "unmapped";
+
+    private RequestEndpoint() {
+    }
+
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return of(servletAttributes.getRequest());
+        }
+        return NONE;
+    }
+
+    public static String of(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Raw URIs would blow up the tag cardinality, so requests without a handler share one value
+        return pattern != null ? request.getMethod() + " " + pattern : UNMAPPED;
+    }
+}
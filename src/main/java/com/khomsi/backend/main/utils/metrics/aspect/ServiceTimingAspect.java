@@ -0,0 +1,39 @@
+package com.khomsi.backend.main.utils.metrics.aspect;
+
+import com.khomsi.backend.main.utils.metrics.RequestEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Times every public method of the *ServiceImpl beans, so endpoint latency can be split by service call
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+    public static final String METRIC_NAME = "app.service.calls";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.khomsi.backend..*ServiceImpl.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .tag(RequestEndpoint.TAG, RequestEndpoint.current())
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.khomsi.backend.main.utils.metrics.config;
+
+import com.khomsi.backend.main.utils.metrics.RequestEndpoint;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    // spring.data.repository.invocations gets the same endpoint tag as the service timers
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return invocation -> Tags.of(defaults.repositoryTags(invocation))
+                .and(RequestEndpoint.TAG, RequestEndpoint.current());
+    }
+}
@@ -0,0 +1,27 @@
+package com.khomsi.backend.main.utils.metrics.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.metrics.statement-budget")
+public class StatementBudgetProperties {
+    private boolean enabled = true;
+    // SQL statements a single request may run before it is logged
+    @Min(1)
+    private int defaultLimit = 20;
+    // Overrides keyed by endpoint tag, e.g. "[GET /api/v1/games]": 5
+    private Map<String, Integer> endpoints = new HashMap<>();
+
+    public int limitFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultLimit);
+    }
+}
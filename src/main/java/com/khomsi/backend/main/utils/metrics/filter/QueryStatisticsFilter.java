@@ -0,0 +1,67 @@
+package com.khomsi.backend.main.utils.metrics.filter;
+
+import com.khomsi.backend.main.utils.metrics.RequestEndpoint;
+import com.khomsi.backend.main.utils.metrics.config.StatementBudgetProperties;
+import com.khomsi.backend.main.utils.metrics.hibernate.RequestQueryStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Records how many statements, entity loads and collection fetches each request caused, tagged by endpoint,
+// and logs requests that run more statements than their budget
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QueryStatisticsFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+    private final StatementBudgetProperties budgetProperties;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestQueryStatistics statistics = RequestQueryStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStatistics.stop();
+            request.setAttribute(RequestQueryStatistics.REQUEST_ATTRIBUTE, statistics);
+            // Streaming responses keep running on other threads, their counts would be partial
+            if (!request.isAsyncStarted()) {
+                String endpoint = RequestEndpoint.of(request);
+                record("hibernate.request.statements", endpoint, statistics.getStatements());
+                record("hibernate.request.entity.loads", endpoint, statistics.getEntityLoads());
+                record("hibernate.request.collection.fetches", endpoint, statistics.getCollectionFetches());
+                checkBudget(endpoint, request, statistics);
+            }
+        }
+    }
+
+    private void checkBudget(String endpoint, HttpServletRequest request, RequestQueryStatistics statistics) {
+        if (!budgetProperties.isEnabled()) {
+            return;
+        }
+        int limit = budgetProperties.limitFor(endpoint);
+        if (statistics.getStatements() > limit) {
+            meterRegistry.counter("hibernate.request.budget.exceeded", RequestEndpoint.TAG, endpoint).increment();
+            log.warn("Statement budget exceeded for {} ({}): {}, budget {}", endpoint, request.getRequestURI(),
+                    statistics, limit);
+        }
+    }
+
+    private void record(String name, String endpoint, long value) {
+        DistributionSummary.builder(name)
+                .tag(RequestEndpoint.TAG, endpoint)
+                .register(meterRegistry)
+                .record(value);
+    }
+}
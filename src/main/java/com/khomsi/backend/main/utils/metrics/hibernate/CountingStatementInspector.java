@@ -0,0 +1,12 @@
+package com.khomsi.backend.main.utils.metrics.hibernate;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registered through hibernate.session_factory.statement_inspector; sees every SQL statement Hibernate prepares
+public class CountingStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStatistics.onStatement();
+        return sql;
+    }
+}
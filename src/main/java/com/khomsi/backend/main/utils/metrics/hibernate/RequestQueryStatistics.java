@@ -0,0 +1,70 @@
+package com.khomsi.backend.main.utils.metrics.hibernate;
+
+import jakarta.servlet.ServletRequest;
+
+// Per-thread Hibernate counters for the unit of work currently being measured (usually one HTTP request)
+public final class RequestQueryStatistics {
+    // The filter leaves the finished counts on the request, so tests can assert on them through MockMvc
+    public static final String REQUEST_ATTRIBUTE = RequestQueryStatistics.class.getName();
+    private static final ThreadLocal<RequestQueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long entityLoads;
+    private long collectionFetches;
+
+    public static RequestQueryStatistics start() {
+        RequestQueryStatistics statistics = new RequestQueryStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    public static RequestQueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    public static RequestQueryStatistics of(ServletRequest request) {
+        return (RequestQueryStatistics) request.getAttribute(REQUEST_ATTRIBUTE);
+    }
+
+    static void onStatement() {
+        RequestQueryStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    static void onEntityLoad() {
+        RequestQueryStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+    }
+
+    static void onCollectionFetch() {
+        RequestQueryStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.collectionFetches++;
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getEntityLoads() {
+        return entityLoads;
+    }
+
+    public long getCollectionFetches() {
+        return collectionFetches;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + entityLoads + " entity loads, " + collectionFetches + " collection fetches";
+    }
+}
@@ -0,0 +1,69 @@
+package com.khomsi.backend.main.utils.resilience.config;
+
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.utils.resilience.model.enums.Integration;
+import com.stripe.exception.StripeException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.SendFailedException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+@Configuration
+public class ResilienceConfig {
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        for (Integration integration : Integration.values()) {
+            ResilienceProperties.Policy policy = properties.policy(integration);
+            registry.circuitBreaker(integration.label(), CircuitBreakerConfig.custom()
+                    .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                    .slidingWindowSize(policy.getSlidingWindowSize())
+                    .minimumNumberOfCalls(policy.getMinimumCalls())
+                    .failureRateThreshold(policy.getFailureRateThreshold())
+                    .slowCallDurationThreshold(policy.getSlowCallThreshold())
+                    .slowCallRateThreshold(policy.getSlowCallRateThreshold())
+                    .waitDurationInOpenState(policy.getWaitInOpenState())
+                    .permittedNumberOfCallsInHalfOpenState(policy.getHalfOpenCalls())
+                    .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                    .recordException(ResilienceConfig::isUpstreamFailure)
+                    .build());
+        }
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        for (Integration integration : Integration.values()) {
+            ResilienceProperties.Policy policy = properties.policy(integration);
+            registry.bulkhead(integration.label(), BulkheadConfig.custom()
+                    .maxConcurrentCalls(policy.getMaxConcurrentCalls())
+                    .maxWaitDuration(policy.getMaxWait())
+                    .build());
+        }
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    // Client errors (declined card, rejected recipient, bad request) say nothing about upstream health
+    private static boolean isUpstreamFailure(Throwable e) {
+        if (e instanceof HttpClientErrorException || e instanceof SendFailedException) {
+            return false;
+        }
+        if (e instanceof StripeException stripeException && stripeException.getStatusCode() != null) {
+            return stripeException.getStatusCode() >= 500;
+        }
+        if (e instanceof GlobalServiceException serviceException) {
+            return serviceException.getStatusCode().is5xxServerError();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package com.khomsi.backend.main.utils.resilience.config;
+
+import com.khomsi.backend.main.utils.resilience.model.enums.Integration;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.resilience")
+public class ResilienceProperties {
+    @Valid
+    private Map<Integration, Policy> integrations = new EnumMap<>(Integration.class);
+
+    public Policy policy(Integration integration) {
+        return integrations.getOrDefault(integration, new Policy());
+    }
+
+    @Data
+    public static class Policy {
+        // Bulkhead: concurrent calls allowed and how long a caller may wait for a free slot
+        @Min(1)
+        private int maxConcurrentCalls = 20;
+        @NotNull
+        private Duration maxWait = Duration.ZERO;
+        // Empty runs the call on the caller's thread and leaves timeouts to the client's socket settings
+        private Duration timeout;
+        // Circuit breaker over a count-based window
+        @Min(1)
+        private int slidingWindowSize = 20;
+        @Min(1)
+        private int minimumCalls = 10;
+        @Min(1)
+        @Max(100)
+        private float failureRateThreshold = 50;
+        @NotNull
+        private Duration slowCallThreshold = Duration.ofSeconds(5);
+        @Min(1)
+        @Max(100)
+        private float slowCallRateThreshold = 80;
+        @NotNull
+        private Duration waitInOpenState = Duration.ofSeconds(30);
+        @Min(1)
+        private int halfOpenCalls = 3;
+    }
+}
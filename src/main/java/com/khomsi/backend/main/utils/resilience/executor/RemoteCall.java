@@ -0,0 +1,6 @@
+package com.khomsi.backend.main.utils.resilience.executor;
+
+@FunctionalInterface
+public interface RemoteCall<T, E extends Exception> {
+    T call() throws E;
+}
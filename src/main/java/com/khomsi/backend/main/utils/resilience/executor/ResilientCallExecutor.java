@@ -0,0 +1,151 @@
+package com.khomsi.backend.main.utils.resilience.executor;
+
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.utils.resilience.config.ResilienceProperties;
+import com.khomsi.backend.main.utils.resilience.model.enums.Integration;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Bulkhead -> circuit breaker -> timeout around a single outbound call, traced as one span.
+// Wrap only the remote call itself: with a timeout the call runs on another thread,
+// so it must not depend on the caller's security context or transaction. Only the span is carried over.
+// Provider writes go through executeWrite, which never cancels the call: abandoning a capture midway
+// can't undo it, and the caller would report a failure for a payment that went through.
+@Component
+@Slf4j
+public class ResilientCallExecutor {
+    private final ResilienceProperties properties;
+    private final Map<Integration, Bulkhead> bulkheads = new EnumMap<>(Integration.class);
+    private final Map<Integration, CircuitBreaker> circuitBreakers = new EnumMap<>(Integration.class);
+    private final Map<Integration, Counter> timeoutCounters = new EnumMap<>(Integration.class);
+    private final ExecutorService timeoutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Tracer tracer;
+
+    public ResilientCallExecutor(ResilienceProperties properties, BulkheadRegistry bulkheadRegistry,
+                                 CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry,
+                                 Tracer tracer) {
+        this.properties = properties;
+        this.tracer = tracer;
+        for (Integration integration : Integration.values()) {
+            bulkheads.put(integration, bulkheadRegistry.bulkhead(integration.label()));
+            circuitBreakers.put(integration, circuitBreakerRegistry.circuitBreaker(integration.label()));
+            timeoutCounters.put(integration, meterRegistry.counter("resilience.timeouts", "name", integration.label()));
+        }
+    }
+
+    public <T, E extends Exception> T execute(Integration integration, RemoteCall<T, E> call) throws E {
+        return traced(integration, call, true);
+    }
+
+    // Bulkhead and circuit breaker only; the call runs on the caller's thread bounded by the client's timeouts
+    public <T, E extends Exception> T executeWrite(Integration integration, RemoteCall<T, E> call) throws E {
+        return traced(integration, call, false);
+    }
+
+    private <T, E extends Exception> T traced(Integration integration, RemoteCall<T, E> call,
+                                              boolean cancellable) throws E {
+        Span span = tracer.nextSpan()
+                .name(integration.label())
+                .tag("integration", integration.label())
+                .start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return guarded(integration, call, cancellable);
+        } catch (Exception e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private <T, E extends Exception> T guarded(Integration integration, RemoteCall<T, E> call,
+                                               boolean cancellable) throws E {
+        Bulkhead bulkhead = bulkheads.get(integration);
+        if (!bulkhead.tryAcquirePermission()) {
+            throw unavailable(integration, "too many concurrent calls");
+        }
+        try {
+            CircuitBreaker circuitBreaker = circuitBreakers.get(integration);
+            try {
+                circuitBreaker.acquirePermission();
+            } catch (CallNotPermittedException e) {
+                throw unavailable(integration, "circuit breaker is open");
+            }
+            Duration timeout = cancellable ? properties.policy(integration).getTimeout() : null;
+            long start = System.nanoTime();
+            try {
+                T result = timeout == null ? call.call() : callWithTimeout(integration, call, timeout);
+                circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Exception e) {
+                circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                throw e;
+            }
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, E extends Exception> T callWithTimeout(Integration integration, RemoteCall<T, E> call,
+                                                       Duration timeout) throws E {
+        Span span = tracer.currentSpan();
+        Future<T> future = timeoutExecutor.submit(() -> {
+            try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+                return call.call();
+            }
+        });
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeoutCounters.get(integration).increment();
+            throw unavailable(integration, "call timed out after " + timeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw unavailable(integration, "call was interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw (E) cause;
+        }
+    }
+
+    private GlobalServiceException unavailable(Integration integration, String reason) {
+        log.warn("Call to {} rejected: {}", integration.label(), reason);
+        return new GlobalServiceException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Service " + integration.label() + " is temporarily unavailable, please try again later.");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timeoutExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,13 @@
+package com.khomsi.backend.main.utils.resilience.model.enums;
+
+public enum Integration {
+    STRIPE,
+    PAYPAL,
+    CURRENCY,
+    VERTEX_AI,
+    SMTP;
+
+    public String label() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,148 @@
+package com.khomsi.backend.main.utils.sketch;
+
+import java.nio.charset.StandardCharsets;
+
+// Mergeable distinct-count sketch: 2^precision registers, relative error about 1.04 / sqrt(2^precision).
+// Not thread-safe; callers serialize access per sketch.
+public class HyperLogLog {
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 16;
+    private static final int REGISTER_BITS = 6;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public static double relativeError(int precision) {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        // Sentinel bit keeps the rank bounded when the remaining bits are all zero
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        HyperLogLog source = other.precision == precision ? other : other.reduceTo(precision);
+        if (source.precision != precision) {
+            throw new IllegalArgumentException("Merge into the sketch with the lower precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (source.registers[i] > registers[i]) {
+                registers[i] = source.registers[i];
+            }
+        }
+    }
+
+    // Folds registers into a coarser sketch so sketches written with different settings stay mergeable
+    public HyperLogLog reduceTo(int targetPrecision) {
+        if (targetPrecision >= precision) {
+            return this;
+        }
+        HyperLogLog reduced = new HyperLogLog(targetPrecision);
+        int droppedBits = precision - targetPrecision;
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] == 0) {
+                continue;
+            }
+            int dropped = i & ((1 << droppedBits) - 1);
+            int rank = dropped == 0
+                    ? registers[i] + droppedBits
+                    : Integer.numberOfLeadingZeros(dropped) - (Integer.SIZE - droppedBits) + 1;
+            int target = i >>> droppedBits;
+            if (rank > reduced.registers[target]) {
+                reduced.registers[target] = (byte) rank;
+            }
+        }
+        return reduced;
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // Linear counting is more accurate while many registers are still empty
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    // One precision byte followed by the registers packed into 6 bits each
+    public byte[] toBytes() {
+        byte[] bytes = new byte[1 + (registers.length * REGISTER_BITS + 7) / 8];
+        bytes[0] = (byte) precision;
+        for (int i = 0; i < registers.length; i++) {
+            int bitPosition = i * REGISTER_BITS;
+            int value = registers[i] << (bitPosition % 8);
+            int offset = 1 + bitPosition / 8;
+            bytes[offset] |= (byte) value;
+            if ((bitPosition % 8) + REGISTER_BITS > 8) {
+                bytes[offset + 1] |= (byte) (value >>> 8);
+            }
+        }
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog(bytes[0]);
+        int mask = (1 << REGISTER_BITS) - 1;
+        for (int i = 0; i < sketch.registers.length; i++) {
+            int bitPosition = i * REGISTER_BITS;
+            int offset = 1 + bitPosition / 8;
+            int value = bytes[offset] & 0xFF;
+            if (offset + 1 < bytes.length) {
+                value |= (bytes[offset + 1] & 0xFF) << 8;
+            }
+            sketch.registers[i] = (byte) ((value >>> (bitPosition % 8)) & mask);
+        }
+        return sketch;
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    // FNV-1a over UTF-8 followed by the MurmurHash3 finalizer for avalanche on the high bits
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb1fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,11 @@
+package com.khomsi.backend.main.utils.sketch.model.dto;
+
+import java.time.LocalDate;
+
+public interface LibraryEntryView {
+    String getUserId();
+
+    Long getGameId();
+
+    LocalDate getDay();
+}
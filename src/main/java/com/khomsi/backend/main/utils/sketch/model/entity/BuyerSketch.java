@@ -0,0 +1,29 @@
+package com.khomsi.backend.main.utils.sketch.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "buyer_sketches")
+public class BuyerSketch {
+    public static final long ANY_GAME = 0L;
+    public static final LocalDate ALL_TIME = LocalDate.EPOCH;
+
+    @EmbeddedId
+    private BuyerSketchId id;
+
+    @Column(name = "sketch", nullable = false)
+    private byte[] sketch;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,52 @@
+package com.khomsi.backend.main.utils.sketch.repository;
+
+import com.khomsi.backend.main.utils.sketch.model.dto.LibraryEntryView;
+import com.khomsi.backend.main.utils.sketch.model.entity.BuyerSketch;
+import com.khomsi.backend.main.utils.sketch.model.entity.BuyerSketchId;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface BuyerSketchRepository extends JpaRepository<BuyerSketch, BuyerSketchId> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BuyerSketch s WHERE s.id = :id")
+    Optional<BuyerSketch> lockById(@Param("id") BuyerSketchId id);
+
+    // Creates the row so concurrent flushes from other instances can lock it instead of racing on insert
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            INSERT IGNORE INTO buyer_sketches (sketch_date, games_id, sketch, updated_at)
+            VALUES (:sketchDate, :gamesId, :sketch, :updatedAt)
+            """)
+    int createIfAbsent(@Param("sketchDate") LocalDate sketchDate, @Param("gamesId") Long gamesId,
+                       @Param("sketch") byte[] sketch, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT s.sketch FROM BuyerSketch s WHERE s.id.gamesId = :gamesId " +
+            "AND s.id.sketchDate >= :from AND s.id.sketchDate <= :to")
+    List<byte[]> findSketches(@Param("gamesId") Long gamesId, @Param("from") LocalDate from,
+                              @Param("to") LocalDate to);
+
+    @Query("SELECT s.sketch FROM BuyerSketch s WHERE s.id = :id")
+    Optional<byte[]> findSketch(@Param("id") BuyerSketchId id);
+
+    // Integer.MIN_VALUE makes the MySQL driver stream rows one at a time instead of buffering the whole
+    // table; the connection can't run other statements until the stream is closed
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(nativeQuery = true, value = """
+            SELECT users_id AS userId, games_id AS gameId, DATE(purchase_date) AS day FROM user_has_games
+            """)
+    Stream<LibraryEntryView> streamLibraryEntries();
+}
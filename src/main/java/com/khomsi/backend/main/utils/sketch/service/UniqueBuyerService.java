@@ -0,0 +1,18 @@
+package com.khomsi.backend.main.utils.sketch.service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface UniqueBuyerService {
+    void recordPurchase(String userId, Collection<Long> gameIds);
+
+    long estimateBuyers(Long gameId, LocalDate from, LocalDate to);
+
+    double relativeError();
+
+    void flush();
+
+    int rebuild();
+
+    boolean isEmpty();
+}
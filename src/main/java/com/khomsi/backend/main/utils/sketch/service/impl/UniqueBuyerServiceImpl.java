@@ -0,0 +1,180 @@
+package com.khomsi.backend.main.utils.sketch.service.impl;
+
+import com.khomsi.backend.main.utils.sketch.HyperLogLog;
+import com.khomsi.backend.main.utils.sketch.config.UniqueBuyerProperties;
+import com.khomsi.backend.main.utils.sketch.model.dto.LibraryEntryView;
+import com.khomsi.backend.main.utils.sketch.model.entity.BuyerSketch;
+import com.khomsi.backend.main.utils.sketch.model.entity.BuyerSketchId;
+import com.khomsi.backend.main.utils.sketch.repository.BuyerSketchRepository;
+import com.khomsi.backend.main.utils.sketch.service.UniqueBuyerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static com.khomsi.backend.main.utils.sketch.model.entity.BuyerSketch.ALL_TIME;
+import static com.khomsi.backend.main.utils.sketch.model.entity.BuyerSketch.ANY_GAME;
+
+// Purchases are added to in-memory sketches after commit and merged into buyer_sketches on flush,
+// so checkouts never contend on the shared per-day rows.
+@Service
+@Slf4j
+public class UniqueBuyerServiceImpl implements UniqueBuyerService {
+    private static final Comparator<BuyerSketchId> LOCK_ORDER = Comparator
+            .comparing(BuyerSketchId::getSketchDate)
+            .thenComparing(BuyerSketchId::getGamesId);
+
+    private final BuyerSketchRepository buyerSketchRepository;
+    private final UniqueBuyerProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<BuyerSketchId, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    public UniqueBuyerServiceImpl(BuyerSketchRepository buyerSketchRepository, UniqueBuyerProperties properties,
+                                  PlatformTransactionManager transactionManager) {
+        this.buyerSketchRepository = buyerSketchRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void recordPurchase(String userId, Collection<Long> gameIds) {
+        List<Long> games = List.copyOf(gameIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addPending(userId, games, LocalDate.now());
+                }
+            });
+        } else {
+            addPending(userId, games, LocalDate.now());
+        }
+    }
+
+    private void addPending(String userId, List<Long> gameIds, LocalDate day) {
+        add(pending, new BuyerSketchId(day, ANY_GAME), userId);
+        add(pending, new BuyerSketchId(ALL_TIME, ANY_GAME), userId);
+        for (Long gameId : gameIds) {
+            add(pending, new BuyerSketchId(day, gameId), userId);
+            add(pending, new BuyerSketchId(ALL_TIME, gameId), userId);
+        }
+    }
+
+    private void add(Map<BuyerSketchId, HyperLogLog> sketches, BuyerSketchId id, String userId) {
+        sketches.compute(id, (key, sketch) -> {
+            HyperLogLog target = sketch != null ? sketch : new HyperLogLog(properties.getPrecision());
+            target.add(userId);
+            return target;
+        });
+    }
+
+    // gameId null means any game; without a range the all-time sketch answers with a single row
+    @Override
+    public long estimateBuyers(Long gameId, LocalDate from, LocalDate to) {
+        long gamesId = gameId != null ? gameId : ANY_GAME;
+        List<byte[]> stored;
+        if (from == null && to == null) {
+            stored = buyerSketchRepository.findSketch(new BuyerSketchId(ALL_TIME, gamesId))
+                    .map(List::of)
+                    .orElse(List.of());
+        } else {
+            LocalDate start = from != null && from.isAfter(ALL_TIME) ? from : ALL_TIME.plusDays(1);
+            stored = buyerSketchRepository.findSketches(gamesId, start, to != null ? to : LocalDate.now());
+        }
+        HyperLogLog merged = new HyperLogLog(properties.getPrecision());
+        for (byte[] bytes : stored) {
+            merged = mergeInto(merged, HyperLogLog.fromBytes(bytes));
+        }
+        return merged.estimate();
+    }
+
+    @Override
+    public double relativeError() {
+        return HyperLogLog.relativeError(properties.getPrecision());
+    }
+
+    @Override
+    public void flush() {
+        Map<BuyerSketchId, HyperLogLog> drained = new HashMap<>();
+        for (BuyerSketchId id : pending.keySet()) {
+            HyperLogLog sketch = pending.remove(id);
+            if (sketch != null) {
+                drained.put(id, sketch);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(drained));
+        } catch (RuntimeException e) {
+            // Keep the purchases for the next flush; merging is idempotent
+            drained.forEach((id, sketch) -> pending.merge(id, sketch, UniqueBuyerServiceImpl::mergeInto));
+            throw e;
+        }
+    }
+
+    private void write(Map<BuyerSketchId, HyperLogLog> sketches) {
+        LocalDateTime now = LocalDateTime.now();
+        byte[] empty = new HyperLogLog(properties.getPrecision()).toBytes();
+        List<BuyerSketchId> ids = new ArrayList<>(sketches.keySet());
+        ids.sort(LOCK_ORDER);
+        for (BuyerSketchId id : ids) {
+            buyerSketchRepository.createIfAbsent(id.getSketchDate(), id.getGamesId(), empty, now);
+            BuyerSketch row = buyerSketchRepository.lockById(id).orElseThrow();
+            HyperLogLog merged = mergeInto(HyperLogLog.fromBytes(row.getSketch()), sketches.get(id));
+            row.setSketch(merged.toBytes());
+            row.setUpdatedAt(now);
+        }
+    }
+
+    @Override
+    public int rebuild() {
+        Map<BuyerSketchId, HyperLogLog> rebuilt = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<LibraryEntryView> entries = buyerSketchRepository.streamLibraryEntries()) {
+                entries.forEach(entry -> {
+                    add(rebuilt, new BuyerSketchId(entry.getDay(), ANY_GAME), entry.getUserId());
+                    add(rebuilt, new BuyerSketchId(ALL_TIME, ANY_GAME), entry.getUserId());
+                    add(rebuilt, new BuyerSketchId(entry.getDay(), entry.getGameId()), entry.getUserId());
+                    add(rebuilt, new BuyerSketchId(ALL_TIME, entry.getGameId()), entry.getUserId());
+                });
+            }
+            buyerSketchRepository.deleteAllInBatch();
+            LocalDateTime now = LocalDateTime.now();
+            rebuilt.forEach((id, sketch) -> buyerSketchRepository.createIfAbsent(id.getSketchDate(), id.getGamesId(),
+                    sketch.toBytes(), now));
+        });
+        log.info("Rebuilt {} buyer sketches from user libraries", rebuilt.size());
+        return rebuilt.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return buyerSketchRepository.count() == 0;
+    }
+
+    // Result has the lower of the two precisions, so sketches stay mergeable after a precision change
+    private static HyperLogLog mergeInto(HyperLogLog target, HyperLogLog source) {
+        if (source.getPrecision() < target.getPrecision()) {
+            HyperLogLog reduced = target.reduceTo(source.getPrecision());
+            reduced.merge(source);
+            return reduced;
+        }
+        target.merge(source);
+        return target;
+    }
+}
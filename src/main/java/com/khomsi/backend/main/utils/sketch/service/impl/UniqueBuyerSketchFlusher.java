@@ -0,0 +1,41 @@
+package com.khomsi.backend.main.utils.sketch.service.impl;
+
+import com.khomsi.backend.main.utils.sketch.config.UniqueBuyerProperties;
+import com.khomsi.backend.main.utils.sketch.service.UniqueBuyerService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UniqueBuyerSketchFlusher {
+    private final UniqueBuyerService uniqueBuyerService;
+    private final UniqueBuyerProperties properties;
+
+    // First start after the migration has no sketches yet, seed them from the existing libraries
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (properties.isRebuildIfEmpty() && uniqueBuyerService.isEmpty()) {
+            uniqueBuyerService.rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.metrics.unique-buyers.flush-interval:PT30S}")
+    public void flush() {
+        try {
+            uniqueBuyerService.flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush buyer sketches, retrying on the next run", e);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
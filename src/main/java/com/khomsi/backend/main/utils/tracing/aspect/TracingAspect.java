@@ -0,0 +1,54 @@
+package com.khomsi.backend.main.utils.tracing.aspect;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// A span per controller, *ServiceImpl and repository method, below the http.server.requests span
+// Spring opens for the request. Spans only, the timers come from ServiceTimingAspect and Spring Data.
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class TracingAspect {
+    public static final String LAYER_TAG = "layer";
+
+    private final Tracer tracer;
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller", joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("execution(public * com.khomsi.backend..*ServiceImpl.*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service", joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    // The target is a JDK proxy, the repository interface is what the span should name
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?>[] interfaces = joinPoint.getTarget().getClass().getInterfaces();
+        String repository = interfaces.length > 0 ? interfaces[0].getSimpleName()
+                : joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return trace(joinPoint, "repository", repository);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer, String type) throws Throwable {
+        Span span = tracer.nextSpan()
+                .name(type + "." + joinPoint.getSignature().getName())
+                .tag(LAYER_TAG, layer)
+                .start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.khomsi.backend.main.utils.tracing.config;
+
+import com.khomsi.backend.main.utils.tracing.exporter.FileSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+public class TracingConfig {
+    // Picked up by the OpenTelemetry auto-configuration next to the OTLP exporter
+    @Bean
+    @ConditionalOnExpression("!'${app.tracing.file:}'.isEmpty()")
+    public FileSpanExporter fileSpanExporter(TracingProperties properties) throws IOException {
+        return new FileSpanExporter(properties.getFile());
+    }
+}
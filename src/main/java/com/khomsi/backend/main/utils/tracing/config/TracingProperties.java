@@ -0,0 +1,17 @@
+package com.khomsi.backend.main.utils.tracing.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+
+@Data
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+    // Finished spans are appended here as JSON lines; without it spans only go to an OTLP collector, if configured
+    private Path file;
+}
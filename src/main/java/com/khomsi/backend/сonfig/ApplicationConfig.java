@@ -2,15 +2,18 @@ package com.khomsi.backend.сonfig;
 
 import com.khomsi.backend.сonfig.service.PropertiesMessageService;
 import com.khomsi.backend.сonfig.service.PropertiesMessageServiceImpl;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -33,8 +36,17 @@ public class ApplicationConfig {
         source.registerCorsConfiguration("/**", configuration);
         return source;
     }
+    // Observed, so PayPal and currency calls get client spans and pass the trace on in traceparent.
+    // The socket timeouts are the only bound on calls the resilience executor doesn't cancel, like captures.
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ObservationRegistry observationRegistry,
+                                     @Value("${app.rest-client.connect-timeout:PT5S}") Duration connectTimeout,
+                                     @Value("${app.rest-client.read-timeout:PT20S}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.setObservationRegistry(observationRegistry);
+        return restTemplate;
     }
 }
@@ -0,0 +1,13 @@
+-- -----------------------------------------------------
+-- Table `GridDB`.`buyer_sketches`
+-- HyperLogLog sketches of buyers per day and game; games_id = 0 covers any game,
+-- sketch_date 1970-01-01 holds the all-time sketch
+-- -----------------------------------------------------
+CREATE TABLE IF NOT EXISTS `GridDB`.`buyer_sketches` (
+    `sketch_date` DATE NOT NULL,
+    `games_id` INT NOT NULL,
+    `sketch` VARBINARY(49153) NOT NULL,
+    `updated_at` DATETIME NOT NULL,
+    PRIMARY KEY (`sketch_date`, `games_id`),
+    INDEX `buyer_sketches_games_id_idx` (`games_id` ASC, `sketch_date` ASC) VISIBLE)
+    ENGINE = InnoDB;
@@ -0,0 +1,38 @@
+-- -----------------------------------------------------
+-- Indexes for the storefront queries, see QueryPlanGuardTest
+-- transactions (users_id, created_at) already exists as transactions_users_created_at_idx
+-- -----------------------------------------------------
+CREATE INDEX `games_active_release_date_idx`
+    ON `GridDB`.`games` (`active` ASC, `release_date` DESC) VISIBLE;
+
+CREATE INDEX `games_discount_idx`
+    ON `GridDB`.`games` (`discount` ASC) VISIBLE;
+
+-- MAX(price) for the catalog filter is read on every catalog page
+CREATE INDEX `games_price_idx`
+    ON `GridDB`.`games` (`price` ASC) VISIBLE;
+
+-- -----------------------------------------------------
+-- Title search; ngram tokens match inside words, the default stopword list
+-- would drop every token containing a stopword like "a" or "in"
+-- -----------------------------------------------------
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+CREATE FULLTEXT INDEX `games_title_ft_idx`
+    ON `GridDB`.`games` (`title`) WITH PARSER ngram;
+
+SET SESSION innodb_ft_enable_stopword = ON;
+
+-- -----------------------------------------------------
+-- Per-user lookups of a single game; the composite index also serves
+-- the users_id foreign key, so the single-column one is dropped
+-- -----------------------------------------------------
+CREATE INDEX `cart_users_games_idx`
+    ON `GridDB`.`cart` (`users_id` ASC, `games_id` ASC) VISIBLE;
+
+DROP INDEX `fk_cart_users1_idx` ON `GridDB`.`cart`;
+
+CREATE INDEX `wishlist_users_games_idx`
+    ON `GridDB`.`wishlist` (`users_id` ASC, `games_id` ASC) VISIBLE;
+
+DROP INDEX `fk_users_has_games_users1_idx` ON `GridDB`.`wishlist`;
@@ -0,0 +1,41 @@
+-- -----------------------------------------------------
+-- Per-user sequence numbers for the ledger: every entry takes the next number of its user,
+-- the unique key lets one of two concurrent writers through and the other one retries
+-- -----------------------------------------------------
+ALTER TABLE `GridDB`.`balance_ledger`
+    ADD COLUMN `sequence_no` BIGINT NULL AFTER `users_id`;
+
+UPDATE `GridDB`.`balance_ledger` l
+JOIN (SELECT `id`, ROW_NUMBER() OVER (PARTITION BY `users_id` ORDER BY `id`) AS `sequence_no`
+      FROM `GridDB`.`balance_ledger`) numbered ON numbered.`id` = l.`id`
+SET l.`sequence_no` = numbered.`sequence_no`;
+
+ALTER TABLE `GridDB`.`balance_ledger`
+    MODIFY COLUMN `sequence_no` BIGINT NOT NULL,
+    ADD UNIQUE INDEX `balance_ledger_users_id_sequence_no_uq` (`users_id` ASC, `sequence_no` ASC) VISIBLE;
+
+
+-- -----------------------------------------------------
+-- Snapshots are appended, one row per user and folded sequence number;
+-- ledger_id is how far the snapshot job had scanned the ledger when it wrote the row
+-- -----------------------------------------------------
+ALTER TABLE `GridDB`.`balance_snapshots`
+    ADD COLUMN `sequence_no` BIGINT NOT NULL DEFAULT 0 AFTER `users_id`;
+
+UPDATE `GridDB`.`balance_snapshots` s
+SET s.`sequence_no` = (SELECT COUNT(*) FROM `GridDB`.`balance_ledger` l
+                       WHERE l.`users_id` = s.`users_id` AND l.`id` <= s.`ledger_id`);
+
+ALTER TABLE `GridDB`.`balance_snapshots`
+    DROP FOREIGN KEY `fk_balance_snapshots_users1`;
+
+ALTER TABLE `GridDB`.`balance_snapshots`
+    ALTER COLUMN `sequence_no` DROP DEFAULT,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (`users_id`, `sequence_no`),
+    ADD INDEX `balance_snapshots_ledger_id_idx` (`ledger_id` ASC) VISIBLE,
+    ADD CONSTRAINT `fk_balance_snapshots_users1`
+    FOREIGN KEY (`users_id`)
+    REFERENCES `GridDB`.`users` (`id`)
+    ON DELETE NO ACTION
+    ON UPDATE NO ACTION;
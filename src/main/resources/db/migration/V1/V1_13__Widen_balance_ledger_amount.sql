@@ -0,0 +1,6 @@
+-- -----------------------------------------------------
+-- Ledger entries take the same width as the snapshots they are folded into,
+-- so an adjustment can move a balance anywhere the snapshot can hold
+-- -----------------------------------------------------
+ALTER TABLE `GridDB`.`balance_ledger`
+    MODIFY COLUMN `amount` DECIMAL(12,2) NOT NULL;
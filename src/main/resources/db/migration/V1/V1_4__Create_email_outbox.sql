@@ -0,0 +1,17 @@
+-- -----------------------------------------------------
+-- Table `GridDB`.`email_outbox`
+-- -----------------------------------------------------
+CREATE TABLE IF NOT EXISTS `GridDB`.`email_outbox` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `recipient` VARCHAR(255) NOT NULL,
+    `subject` VARCHAR(255) NOT NULL,
+    `body` MEDIUMTEXT NOT NULL,
+    `status` VARCHAR(20) NOT NULL,
+    `attempts` INT NOT NULL DEFAULT 0,
+    `next_attempt_at` DATETIME NOT NULL,
+    `created_at` DATETIME NOT NULL,
+    `sent_at` DATETIME NULL,
+    `last_error` TEXT NULL,
+    PRIMARY KEY (`id`),
+    INDEX `email_outbox_status_next_attempt_idx` (`status` ASC, `next_attempt_at` ASC) VISIBLE)
+    ENGINE = InnoDB;
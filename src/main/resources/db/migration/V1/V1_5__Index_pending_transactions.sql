@@ -0,0 +1,5 @@
+-- -----------------------------------------------------
+-- Index for the pending transaction reaper
+-- -----------------------------------------------------
+CREATE INDEX `transactions_paid_created_at_idx`
+    ON `GridDB`.`transactions` (`paid` ASC, `created_at` ASC) VISIBLE;
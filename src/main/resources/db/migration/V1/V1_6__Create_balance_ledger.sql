@@ -0,0 +1,52 @@
+-- -----------------------------------------------------
+-- Table `GridDB`.`balance_ledger`
+-- -----------------------------------------------------
+CREATE TABLE IF NOT EXISTS `GridDB`.`balance_ledger` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `users_id` VARCHAR(255) NOT NULL,
+    `amount` DECIMAL(10,2) NOT NULL,
+    `entry_type` VARCHAR(40) NOT NULL,
+    `reference` VARCHAR(255) NULL,
+    `created_at` DATETIME NOT NULL,
+    PRIMARY KEY (`id`),
+    INDEX `balance_ledger_users_id_idx` (`users_id` ASC, `id` ASC) VISIBLE,
+    CONSTRAINT `fk_balance_ledger_users1`
+    FOREIGN KEY (`users_id`)
+    REFERENCES `GridDB`.`users` (`id`)
+    ON DELETE NO ACTION
+    ON UPDATE NO ACTION)
+    ENGINE = InnoDB;
+
+
+-- -----------------------------------------------------
+-- Table `GridDB`.`balance_snapshots`
+-- -----------------------------------------------------
+CREATE TABLE IF NOT EXISTS `GridDB`.`balance_snapshots` (
+    `users_id` VARCHAR(255) NOT NULL,
+    `ledger_id` BIGINT NOT NULL,
+    `balance` DECIMAL(12,2) NOT NULL,
+    `created_at` DATETIME NOT NULL,
+    PRIMARY KEY (`users_id`),
+    CONSTRAINT `fk_balance_snapshots_users1`
+    FOREIGN KEY (`users_id`)
+    REFERENCES `GridDB`.`users` (`id`)
+    ON DELETE NO ACTION
+    ON UPDATE NO ACTION)
+    ENGINE = InnoDB;
+
+
+-- -----------------------------------------------------
+-- Move current balances into the ledger
+-- -----------------------------------------------------
+INSERT INTO `GridDB`.`balance_ledger` (`users_id`, `amount`, `entry_type`, `reference`, `created_at`)
+SELECT `id`, `balance`, 'OPENING', NULL, NOW()
+FROM `GridDB`.`users`
+WHERE `balance` <> 0;
+
+INSERT INTO `GridDB`.`balance_snapshots` (`users_id`, `ledger_id`, `balance`, `created_at`)
+SELECT u.`id`, COALESCE(MAX(l.`id`), 0), COALESCE(SUM(l.`amount`), 0), NOW()
+FROM `GridDB`.`users` u
+LEFT JOIN `GridDB`.`balance_ledger` l ON l.`users_id` = u.`id`
+GROUP BY u.`id`;
+
+ALTER TABLE `GridDB`.`users` DROP COLUMN `balance`;
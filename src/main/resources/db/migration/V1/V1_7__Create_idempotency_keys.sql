@@ -0,0 +1,14 @@
+-- -----------------------------------------------------
+-- Table `GridDB`.`idempotency_keys`
+-- -----------------------------------------------------
+CREATE TABLE IF NOT EXISTS `GridDB`.`idempotency_keys` (
+    `users_id` VARCHAR(255) NOT NULL,
+    `idempotency_key` VARCHAR(100) NOT NULL,
+    `request_hash` CHAR(64) NOT NULL,
+    `status` VARCHAR(20) NOT NULL,
+    `http_status` INT NULL,
+    `response` MEDIUMTEXT NULL,
+    `created_at` DATETIME NOT NULL,
+    PRIMARY KEY (`users_id`, `idempotency_key`),
+    INDEX `idempotency_keys_created_at_idx` (`created_at` ASC) VISIBLE)
+    ENGINE = InnoDB;
@@ -0,0 +1,5 @@
+-- -----------------------------------------------------
+-- Index for keyset-paged transaction history
+-- -----------------------------------------------------
+CREATE INDEX `transactions_users_created_at_idx`
+    ON `GridDB`.`transactions` (`users_id` ASC, `created_at` DESC, `transaction_id` DESC) VISIBLE;
@@ -0,0 +1,34 @@
+-- -----------------------------------------------------
+-- Table `GridDB`.`daily_sales_rollup`
+-- games_id = 0 holds whole-transaction totals for the day and payment method
+-- -----------------------------------------------------
+CREATE TABLE IF NOT EXISTS `GridDB`.`daily_sales_rollup` (
+    `sale_date` DATE NOT NULL,
+    `payment_method` VARCHAR(150) NOT NULL,
+    `games_id` INT NOT NULL,
+    `transactions` BIGINT NOT NULL DEFAULT 0,
+    `sale_games` BIGINT NOT NULL DEFAULT 0,
+    `revenue` DECIMAL(14,2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (`sale_date`, `payment_method`, `games_id`),
+    INDEX `daily_sales_rollup_games_id_idx` (`games_id` ASC, `sale_date` ASC) VISIBLE)
+    ENGINE = InnoDB;
+
+
+-- -----------------------------------------------------
+-- Backfill from paid transactions
+-- -----------------------------------------------------
+INSERT INTO `GridDB`.`daily_sales_rollup` (`sale_date`, `payment_method`, `games_id`, `transactions`, `sale_games`, `revenue`)
+SELECT DATE(t.`created_at`), t.`payment_methods`, 0, COUNT(*), COALESCE(SUM(l.`line_count`), 0), SUM(t.`total_amount`)
+FROM `GridDB`.`transactions` t
+         LEFT JOIN (SELECT `transactions_id`, COUNT(*) AS `line_count`
+                    FROM `GridDB`.`transaction_games`
+                    GROUP BY `transactions_id`) l ON l.`transactions_id` = t.`transaction_id`
+WHERE t.`paid` = 1
+GROUP BY DATE(t.`created_at`), t.`payment_methods`;
+
+INSERT INTO `GridDB`.`daily_sales_rollup` (`sale_date`, `payment_method`, `games_id`, `transactions`, `sale_games`, `revenue`)
+SELECT DATE(t.`created_at`), t.`payment_methods`, tg.`games_id`, COUNT(DISTINCT t.`transaction_id`), COUNT(*), SUM(tg.`price_on_pay`)
+FROM `GridDB`.`transaction_games` tg
+         JOIN `GridDB`.`transactions` t ON t.`transaction_id` = tg.`transactions_id`
+WHERE t.`paid` = 1
+GROUP BY DATE(t.`created_at`), t.`payment_methods`, tg.`games_id`;
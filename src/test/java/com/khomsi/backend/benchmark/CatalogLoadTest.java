@@ -0,0 +1,172 @@
+package com.khomsi.backend.benchmark;
+
+import com.khomsi.backend.config.BaseIntegration;
+import com.khomsi.backend.config.LocalJwtIssuer;
+import com.khomsi.backend.config.SyntheticDataGenerator;
+import com.khomsi.backend.config.SyntheticDataGenerator.Dataset;
+import com.khomsi.backend.config.SyntheticDataGenerator.Scale;
+import com.khomsi.backend.main.user.model.entity.Role;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Pbenchmark -Dtest=CatalogLoadTest
+// Tunable with -Dloadtest.scale=5 -Dloadtest.concurrency=32 -Dloadtest.duration=PT30S -Dloadtest.warmup=PT10S
+// Drives the public catalog endpoints against MySQL with a synthetic dataset on top of the seed data,
+// once anonymously and once as generated users with libraries, and logs latency percentiles per endpoint.
+@Slf4j
+@Tag("benchmark")
+@Import(LocalJwtIssuer.class)
+@Transactional(Transactional.TxType.NOT_SUPPORTED)
+class CatalogLoadTest extends BaseIntegration {
+    private static final Scale SCALE = Scale.of(Double.parseDouble(System.getProperty("loadtest.scale", "5")));
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final Duration DURATION = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+    private static final Duration WARMUP = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+    private static final int USERS = 100;
+    private static final String[] WORDS = {"mafia", "city", "football", "manager", "legend", "space", "empire",
+            "racing", "dragon", "shadow", "survival", "kingdom", "tactics", "online", "edition", "definitive"};
+    private static final String[] OFFERS = {"release date", "discount", "sales"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private LocalJwtIssuer jwtIssuer;
+    @LocalServerPort
+    private int port;
+
+    private final ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(clientExecutor)
+            .build();
+    private SyntheticDataGenerator generator;
+    private Dataset dataset;
+    private List<Long> activeGameIds;
+    private List<String> tokens;
+
+    @BeforeAll
+    void seedCatalog() {
+        generator = new SyntheticDataGenerator(dataSource, 42);
+        dataset = generator.generate(SCALE);
+        activeGameIds = jdbcTemplate.queryForList("SELECT game_id FROM games WHERE active = 1", Long.class);
+
+        int users = Math.min(USERS, SCALE.users());
+        tokens = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            tokens.add(jwtIssuer.issue(dataset.userId(i), "player_" + i, Role.USER));
+        }
+    }
+
+    @AfterAll
+    void removeCatalog() {
+        generator.delete(dataset);
+        clientExecutor.shutdownNow();
+    }
+
+    @Test
+    void catalogReadPathUnderLoad() throws Exception {
+        Map<String, LatencyStats> anonymous = run("anonymous", false);
+        Map<String, LatencyStats> authenticated = run("authenticated", true);
+
+        for (Map<String, LatencyStats> mix : List.of(anonymous, authenticated)) {
+            mix.forEach((endpoint, stats) -> assertEquals(0, stats.errors(), endpoint + " returned errors"));
+        }
+    }
+
+    private Map<String, LatencyStats> run(String mix, boolean authenticated) throws Exception {
+        drive(endpoints(), authenticated, WARMUP);
+        Map<String, LatencyStats> stats = drive(endpoints(), authenticated, DURATION);
+        report(mix, stats);
+        return stats;
+    }
+
+    // Weighted roughly like storefront traffic: listing and details dominate
+    private List<Endpoint> endpoints() {
+        return List.of(
+                new Endpoint("GET /api/v1/games", 30, random -> "/api/v1/games?page=" + random.nextInt(50)
+                        + "&size=20&sort=" + (random.nextBoolean() ? "price,asc" : "id,desc")),
+                new Endpoint("GET /api/v1/games/{id}", 25, random -> "/api/v1/games/"
+                        + activeGameIds.get(random.nextInt(activeGameIds.size()))),
+                new Endpoint("GET /api/v1/games/search", 20, random -> "/api/v1/games/search?title="
+                        + WORDS[random.nextInt(WORDS.length)].substring(0, 3 + random.nextInt(3))),
+                new Endpoint("GET /api/v1/games/popular", 15, random -> "/api/v1/games/popular?qty=10"),
+                new Endpoint("GET /api/v1/games/offers", 10, random -> "/api/v1/games/offers?qty=10&query="
+                        + OFFERS[random.nextInt(OFFERS.length)].replace(" ", "%20")));
+    }
+
+    // Closed loop: each worker sends its next request as soon as the previous one completes
+    private Map<String, LatencyStats> drive(List<Endpoint> endpoints, boolean authenticated, Duration duration)
+            throws InterruptedException {
+        Map<String, LatencyStats> stats = new LinkedHashMap<>();
+        endpoints.forEach(endpoint -> stats.put(endpoint.name(), new LatencyStats()));
+        List<Endpoint> weighted = new ArrayList<>();
+        endpoints.forEach(endpoint -> weighted.addAll(Collections.nCopies(endpoint.weight(), endpoint)));
+        String base = "http://localhost:" + port;
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Thread> workers = new ArrayList<>(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            workers.add(Thread.ofVirtual().start(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Endpoint endpoint = weighted.get(random.nextInt(weighted.size()));
+                    HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + endpoint.path().apply(random)))
+                            .timeout(Duration.ofSeconds(30))
+                            .GET();
+                    if (authenticated) {
+                        request.header("Authorization", "Bearer " + tokens.get(random.nextInt(tokens.size())));
+                    }
+                    stats.get(endpoint.name()).record(() -> httpClient.send(request.build(),
+                            HttpResponse.BodyHandlers.discarding()));
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return stats;
+    }
+
+    private void report(String mix, Map<String, LatencyStats> stats) {
+        log.info("{} mix, {} workers, {} s", mix, CONCURRENCY, DURATION.toSeconds());
+        log.info("{}", LatencyStats.HEADER);
+        LatencyStats total = new LatencyStats();
+        stats.forEach((endpoint, endpointStats) -> {
+            log.info("{}", endpointStats.format(endpoint, DURATION));
+            total.add(endpointStats);
+        });
+        log.info("{}", total.format("total", DURATION));
+    }
+
+    private record Endpoint(String name, int weight, Function<ThreadLocalRandom, String> path) {
+    }
+}
@@ -0,0 +1,318 @@
+package com.khomsi.backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khomsi.backend.config.BaseIntegration;
+import com.khomsi.backend.config.LocalJwtIssuer;
+import com.khomsi.backend.main.checkout.model.enums.PaymentMethod;
+import com.khomsi.backend.main.user.model.entity.BalanceEntryType;
+import com.khomsi.backend.main.user.model.entity.Role;
+import com.khomsi.backend.main.user.model.entity.UserInfo;
+import com.khomsi.backend.main.user.repository.UserInfoRepository;
+import com.khomsi.backend.main.user.service.BalanceService;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.khomsi.backend.main.checkout.controller.CheckoutController.IDEMPOTENCY_KEY_HEADER;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Run with: mvn test -Pbenchmark -Dtest=CheckoutLoadTest
+// Tunable with -Dloadtest.checkout.users=48 -Dloadtest.checkout.iterations=5 -Dloadtest.checkout.provider-latency=PT0.05S
+// Every simulated user fills the cart, creates a payment and captures it, mostly with the local balance
+// and otherwise through the Stripe and PayPal stubs. Reports step latencies, InnoDB deadlocks and row
+// lock waits, then checks that balances and libraries match the transactions that were paid.
+@Slf4j
+@Tag("benchmark")
+@Import(LocalJwtIssuer.class)
+@Transactional(Transactional.TxType.NOT_SUPPORTED)
+class CheckoutLoadTest extends BaseIntegration {
+    private static final int USERS = Integer.getInteger("loadtest.checkout.users", 48);
+    private static final int ITERATIONS = Integer.getInteger("loadtest.checkout.iterations", 5);
+    private static final Duration PROVIDER_LATENCY = Duration.parse(
+            System.getProperty("loadtest.checkout.provider-latency", "PT0.05S"));
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100000.00");
+    private static final String USER_PREFIX = "checkout-load-";
+    private static final String ORIGIN = "http://localhost:3000";
+    private static final Map<PaymentMethod, Integer> METHOD_WEIGHTS = Map.of(
+            PaymentMethod.LOCAL, 6, PaymentMethod.STRIPE, 2, PaymentMethod.PAYPAL, 2);
+    private static final PaymentProviderStubs PROVIDERS = PaymentProviderStubs.start(PROVIDER_LATENCY);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private LocalJwtIssuer jwtIssuer;
+    @Autowired
+    private UserInfoRepository userInfoRepository;
+    @Autowired
+    private BalanceService balanceService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @LocalServerPort
+    private int port;
+
+    private final ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(clientExecutor)
+            .build();
+    private final Map<String, LatencyStats> stats = new ConcurrentHashMap<>();
+    private final LongAdder completedCheckouts = new LongAdder();
+    private List<Long> gameIds;
+
+    @DynamicPropertySource
+    static void paymentProviders(DynamicPropertyRegistry registry) {
+        registry.add("app.payment.stripe.api-base", PROVIDERS::baseUrl);
+        registry.add("app.payment.stripe.stripe-secret", () -> "sk_test_stub");
+        registry.add("app.payment.stripe.max-network-retries", () -> 0);
+        registry.add("app.payment.paypal.base-api-url", PROVIDERS::baseUrl);
+        registry.add("app.payment.paypal.paypal-id", () -> "stub-client");
+        registry.add("app.payment.paypal.paypal-secret", () -> "stub-secret");
+        registry.add("app.payment.currencyApi", PROVIDERS::currencyApiUrl);
+    }
+
+    @BeforeAll
+    void createUsers() {
+        gameIds = jdbcTemplate.queryForList("SELECT game_id FROM games WHERE active = 1 AND price > 0", Long.class);
+        for (int i = 0; i < USERS; i++) {
+            UserInfo user = new UserInfo();
+            user.setExternalId(USER_PREFIX + i);
+            user.setUsername(USER_PREFIX + i);
+            user.setEmail(USER_PREFIX + i + "@grid.test");
+            userInfoRepository.save(user);
+            balanceService.openAccount(user.getExternalId());
+            balanceService.credit(user.getExternalId(), INITIAL_BALANCE, BalanceEntryType.OPENING, null);
+        }
+    }
+
+    @AfterAll
+    void removeUsers() {
+        String users = USER_PREFIX + "%";
+        jdbcTemplate.update("DELETE FROM user_has_games WHERE users_id LIKE ?", users);
+        jdbcTemplate.update("DELETE tg FROM transaction_games tg JOIN transactions t "
+                + "ON t.transaction_id = tg.transactions_id WHERE t.users_id LIKE ?", users);
+        for (String table : List.of("transactions", "cart", "wishlist", "idempotency_keys", "balance_ledger",
+                "balance_snapshots")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE users_id LIKE ?", users);
+        }
+        jdbcTemplate.update("DELETE FROM email_outbox WHERE recipient LIKE ?", users);
+        jdbcTemplate.update("DELETE FROM users WHERE id LIKE ?", users);
+        clientExecutor.shutdownNow();
+        PROVIDERS.close();
+    }
+
+    @Test
+    void concurrentCheckoutsKeepBalancesAndLibrariesConsistent() throws Exception {
+        Map<String, Long> innodbBefore = innodbCounters();
+        long start = System.nanoTime();
+        List<Thread> workers = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            String userId = USER_PREFIX + i;
+            String token = jwtIssuer.issue(userId, userId, Role.USER);
+            workers.add(Thread.ofVirtual().start(() -> shop(token)));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Map<String, Long> innodbAfter = innodbCounters();
+
+        report(elapsed, innodbBefore, innodbAfter);
+        assertAll(
+                () -> stats.forEach((step, stepStats) ->
+                        assertEquals(0, stepStats.serverErrors(), step + " failed on the server")),
+                this::assertBalancesMatchLocalPayments,
+                this::assertLibrariesMatchPaidTransactions);
+    }
+
+    // One user: a few rounds of filling the cart with games they do not own yet and paying for them
+    private void shop(String token) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<Long> bought = new HashSet<>();
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            List<Long> candidates = new ArrayList<>(gameIds);
+            candidates.removeAll(bought);
+            if (candidates.isEmpty()) {
+                return;
+            }
+            Set<Long> cart = new HashSet<>();
+            int items = 1 + random.nextInt(3);
+            for (int i = 0; i < items && !candidates.isEmpty(); i++) {
+                Long gameId = candidates.remove(random.nextInt(candidates.size()));
+                if (ok(send("cart add", token, "/api/v1/cart/add/" + gameId))) {
+                    cart.add(gameId);
+                }
+            }
+            if (checkout(token, pickMethod(random))) {
+                completedCheckouts.increment();
+                bought.addAll(cart);
+            }
+        }
+    }
+
+    private boolean checkout(String token, PaymentMethod method) {
+        return switch (method) {
+            case LOCAL -> {
+                JsonNode created = body(send("local create", token, "/api/v1/checkout/balance/create-payment"));
+                yield created != null && ok(send("local capture", token,
+                        "/api/v1/checkout/balance/capture-payment?sessionId=" + created.at("/data/sessionId").asText()));
+            }
+            case STRIPE -> {
+                JsonNode created = body(send("stripe create", token,
+                        "/api/v1/checkout/stripe/create-payment?balanceAction=NO_ACTION"));
+                yield created != null && ok(send("stripe capture", token,
+                        "/api/v1/checkout/stripe/capture-payment?sessionId=" + created.at("/data/sessionId").asText()));
+            }
+            case PAYPAL -> {
+                JsonNode created = body(send("paypal create", token,
+                        "/api/v1/checkout/paypal/create-payment?balanceAction=NO_ACTION"));
+                // The approval link carries the order id that PayPal later redirects back with
+                String approveUrl = created != null ? created.path("message").asText() : "";
+                yield created != null && ok(send("paypal capture", token, "/api/v1/checkout/paypal/capture-payment"
+                        + "?sessionId=" + approveUrl.substring(approveUrl.indexOf("token=") + "token=".length())));
+            }
+        };
+    }
+
+    private HttpResponse<String> send(String step, String token, String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + token)
+                .header("Origin", ORIGIN)
+                .header(IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        return stats.computeIfAbsent(step, key -> new LatencyStats())
+                .record(() -> httpClient.send(request, HttpResponse.BodyHandlers.ofString()));
+    }
+
+    private JsonNode body(HttpResponse<String> response) {
+        if (!ok(response)) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean ok(HttpResponse<String> response) {
+        return response != null && response.statusCode() == 200;
+    }
+
+    private static PaymentMethod pickMethod(ThreadLocalRandom random) {
+        int total = METHOD_WEIGHTS.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<PaymentMethod, Integer> entry : METHOD_WEIGHTS.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return PaymentMethod.LOCAL;
+    }
+
+    // Local payments debit the balance when created, so every local transaction counts whether captured or not
+    private void assertBalancesMatchLocalPayments() {
+        Map<String, BigDecimal> spent = new HashMap<>();
+        jdbcTemplate.query("SELECT users_id, SUM(total_amount) AS spent FROM transactions "
+                        + "WHERE users_id LIKE ? AND payment_methods = ? GROUP BY users_id",
+                row -> {
+                    spent.put(row.getString("users_id"), row.getBigDecimal("spent"));
+                }, USER_PREFIX + "%", PaymentMethod.LOCAL.name());
+        for (int i = 0; i < USERS; i++) {
+            String userId = USER_PREFIX + i;
+            BigDecimal expected = INITIAL_BALANCE.subtract(spent.getOrDefault(userId, BigDecimal.ZERO));
+            BigDecimal balance = balanceService.getBalance(userId);
+            assertEquals(0, expected.compareTo(balance), "Balance of " + userId + " is " + balance
+                    + " but local payments leave " + expected);
+            assertTrue(balance.signum() >= 0, "Balance of " + userId + " is negative");
+        }
+    }
+
+    private void assertLibrariesMatchPaidTransactions() {
+        String users = USER_PREFIX + "%";
+        Integer duplicates = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT users_id, games_id "
+                + "FROM user_has_games WHERE users_id LIKE ? GROUP BY users_id, games_id HAVING COUNT(*) > 1) d",
+                Integer.class, users);
+        Integer missing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions t "
+                + "JOIN transaction_games tg ON tg.transactions_id = t.transaction_id "
+                + "LEFT JOIN user_has_games ug ON ug.users_id = t.users_id AND ug.games_id = tg.games_id "
+                + "WHERE t.users_id LIKE ? AND t.paid = 1 AND ug.id IS NULL", Integer.class, users);
+        Integer unpaid = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_has_games ug "
+                + "WHERE ug.users_id LIKE ? AND NOT EXISTS (SELECT 1 FROM transactions t "
+                + "JOIN transaction_games tg ON tg.transactions_id = t.transaction_id "
+                + "WHERE t.users_id = ug.users_id AND tg.games_id = ug.games_id AND t.paid = 1)", Integer.class, users);
+        Long paid = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE users_id LIKE ? AND paid = 1",
+                Long.class, users);
+
+        assertEquals(0, duplicates, "Games added to a library more than once");
+        assertEquals(0, missing, "Paid games missing from libraries");
+        assertEquals(0, unpaid, "Library games without a paid transaction");
+        assertEquals(completedCheckouts.sum(), paid, "Captured checkouts and paid transactions differ");
+    }
+
+    private Map<String, Long> innodbCounters() {
+        Map<String, Long> counters = new HashMap<>();
+        jdbcTemplate.query("SHOW GLOBAL STATUS LIKE 'Innodb_row_lock%'",
+                row -> {
+                    counters.put(row.getString(1), Long.parseLong(row.getString(2)));
+                });
+        counters.put("lock_deadlocks", jdbcTemplate.queryForObject(
+                "SELECT COUNT FROM information_schema.INNODB_METRICS WHERE NAME = 'lock_deadlocks'", Long.class));
+        return counters;
+    }
+
+    private void report(Duration elapsed, Map<String, Long> before, Map<String, Long> after) {
+        log.info("{} users x {} rounds, provider latency {} ms, {} checkouts in {} ms ({} checkouts/s)",
+                USERS, ITERATIONS, PROVIDER_LATENCY.toMillis(), completedCheckouts.sum(), elapsed.toMillis(),
+                "%.1f".formatted(completedCheckouts.sum() / (elapsed.toMillis() / 1000.0)));
+        log.info("{}", LatencyStats.HEADER);
+        Map<String, LatencyStats> ordered = new LinkedHashMap<>();
+        stats.keySet().stream().sorted().forEach(step -> ordered.put(step, stats.get(step)));
+        ordered.forEach((step, stepStats) -> log.info("{}", stepStats.format(step, elapsed)));
+
+        long lockWaits = delta(before, after, "Innodb_row_lock_waits");
+        long lockWaitMillis = delta(before, after, "Innodb_row_lock_time");
+        log.info("InnoDB deadlocks {}, row lock waits {}, lock wait time {} ms (avg {} ms)",
+                delta(before, after, "lock_deadlocks"), lockWaits, lockWaitMillis,
+                lockWaits == 0 ? 0 : lockWaitMillis / lockWaits);
+    }
+
+    private static long delta(Map<String, Long> before, Map<String, Long> after, String counter) {
+        return after.getOrDefault(counter, 0L) - before.getOrDefault(counter, 0L);
+    }
+}
@@ -0,0 +1,156 @@
+package com.khomsi.backend.benchmark;
+
+import com.khomsi.backend.config.BaseIntegration;
+import com.khomsi.backend.config.LocalJwtIssuer;
+import com.khomsi.backend.main.user.model.entity.Role;
+import com.khomsi.backend.main.user.model.entity.UserInfo;
+import com.khomsi.backend.main.user.repository.UserInfoRepository;
+import com.khomsi.backend.main.user.service.BalanceService;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.khomsi.backend.main.checkout.controller.CheckoutController.IDEMPOTENCY_KEY_HEADER;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A burst of Stripe recharge checkouts, each going through the controller, the idempotency guard, the
+// transaction service and a Stripe client blocked on the stub provider, while catalog requests are timed.
+// Subclasses pick the request threads; the numbers are only reported, since which mode wins depends on
+// the provider latency, the connection pool and the machine.
+@Slf4j
+@Tag("benchmark")
+@Import(LocalJwtIssuer.class)
+@Transactional(Transactional.TxType.NOT_SUPPORTED)
+abstract class CheckoutThroughputBenchmark extends BaseIntegration {
+    private static final int CHECKOUTS = Integer.getInteger("benchmark.checkouts", 600);
+    private static final int CATALOG_REQUESTS = 10;
+    private static final Duration PROVIDER_LATENCY = Duration.parse(
+            System.getProperty("benchmark.provider-latency", "PT1S"));
+    private static final String USER_PREFIX = "throughput-benchmark-";
+    private static final String ORIGIN = "http://localhost:3000";
+    // Shared by both runs in one JVM and stopped with it
+    private static final PaymentProviderStubs PROVIDERS = PaymentProviderStubs.start(PROVIDER_LATENCY);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private LocalJwtIssuer jwtIssuer;
+    @Autowired
+    private UserInfoRepository userInfoRepository;
+    @Autowired
+    private BalanceService balanceService;
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+    @LocalServerPort
+    private int port;
+
+    private final ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(clientExecutor)
+            .build();
+    private String userId;
+
+    @DynamicPropertySource
+    static void paymentProviders(DynamicPropertyRegistry registry) {
+        registry.add("app.payment.stripe.api-base", PROVIDERS::baseUrl);
+        registry.add("app.payment.stripe.stripe-secret", () -> "sk_test_stub");
+        registry.add("app.payment.stripe.max-network-retries", () -> 0);
+        registry.add("app.payment.currencyApi", PROVIDERS::currencyApiUrl);
+        // Platform mode should queue the burst, not refuse connections
+        registry.add("server.tomcat.accept-count", () -> CHECKOUTS);
+    }
+
+    @BeforeAll
+    void createUser() {
+        userId = USER_PREFIX + UUID.randomUUID();
+        UserInfo user = new UserInfo();
+        user.setExternalId(userId);
+        user.setUsername(USER_PREFIX + "user");
+        user.setEmail(userId + "@grid.test");
+        userInfoRepository.save(user);
+        balanceService.openAccount(userId);
+    }
+
+    @AfterAll
+    void removeUser() {
+        for (String table : List.of("transactions", "idempotency_keys", "balance_ledger", "balance_snapshots")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE users_id = ?", userId);
+        }
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        clientExecutor.shutdownNow();
+    }
+
+    @Test
+    void rechargeCheckoutsAgainstSlowProvider() throws Exception {
+        String token = jwtIssuer.issue(userId, USER_PREFIX + "user", Role.USER);
+        LatencyStats checkouts = new LatencyStats();
+        LatencyStats catalog = new LatencyStats();
+
+        long start = System.nanoTime();
+        List<Thread> clients = new ArrayList<>(CHECKOUTS);
+        for (int i = 0; i < CHECKOUTS; i++) {
+            clients.add(Thread.ofVirtual().start(() -> checkouts.record(() -> httpClient.send(
+                    post("/api/v1/checkout/recharge/stripe/create-payment?amount=10", token),
+                    HttpResponse.BodyHandlers.discarding()))));
+        }
+        // Let the burst occupy the server before timing the catalog
+        Thread.sleep(PROVIDER_LATENCY.dividedBy(3));
+        for (int i = 0; i < CATALOG_REQUESTS; i++) {
+            catalog.record(() -> httpClient.send(get("/api/v1/games/popular?qty=10"),
+                    HttpResponse.BodyHandlers.discarding()));
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        log.info("{} threads, provider latency {} ms, {} checkouts in {} ms", virtualThreads ? "Virtual" : "Platform",
+                PROVIDER_LATENCY.toMillis(), CHECKOUTS, elapsed.toMillis());
+        log.info("{}", LatencyStats.HEADER);
+        log.info("{}", checkouts.format("stripe recharge create", elapsed));
+        log.info("{}", catalog.format("catalog during the burst", elapsed));
+        assertAll(
+                () -> assertEquals(0, checkouts.errors(), "Checkouts failed"),
+                () -> assertEquals(0, catalog.errors(), "Catalog requests failed"));
+    }
+
+    private HttpRequest post(String path, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofMinutes(2))
+                .header("Authorization", "Bearer " + token)
+                .header("Origin", ORIGIN)
+                .header(IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofMinutes(2))
+                .GET()
+                .build();
+    }
+}
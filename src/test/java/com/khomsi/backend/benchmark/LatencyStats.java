@@ -0,0 +1,75 @@
+package com.khomsi.backend.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency histogram and failure counts for one kind of request in a load run, safe to record from many threads
+class LatencyStats {
+    static final String HEADER = "%-36s %8s %9s %8s %8s %8s %6s %6s".formatted("request", "count", "req/s",
+            "p50 ms", "p95 ms", "p99 ms", "4xx", "5xx");
+
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+
+    // Returns null when the request did not complete; that counts as a server error
+    <T> HttpResponse<T> record(HttpCall<T> call) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<T> response = call.send();
+            if (response.statusCode() >= 500) {
+                serverErrors.increment();
+            } else if (response.statusCode() >= 400) {
+                clientErrors.increment();
+            }
+            return response;
+        } catch (IOException e) {
+            serverErrors.increment();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            serverErrors.increment();
+            return null;
+        } finally {
+            latency.recordValue(System.nanoTime() - start);
+        }
+    }
+
+    long count() {
+        return latency.getTotalCount();
+    }
+
+    long errors() {
+        return clientErrors.sum() + serverErrors.sum();
+    }
+
+    long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    void add(LatencyStats other) {
+        latency.add(other.latency);
+        clientErrors.add(other.clientErrors.sum());
+        serverErrors.add(other.serverErrors.sum());
+    }
+
+    String format(String name, Duration elapsed) {
+        return "%-36s %8d %9.1f %8.1f %8.1f %8.1f %6d %6d".formatted(name, count(),
+                count() / (elapsed.toMillis() / 1000.0), millis(50), millis(95), millis(99),
+                clientErrors.sum(), serverErrors.sum());
+    }
+
+    private double millis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    interface HttpCall<T> {
+        HttpResponse<T> send() throws IOException, InterruptedException;
+    }
+}
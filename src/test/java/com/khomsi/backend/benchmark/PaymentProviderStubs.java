@@ -0,0 +1,104 @@
+package com.khomsi.backend.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Local stand-ins for the Stripe checkout sessions API, the PayPal orders API and the NBU rate API.
+// Every call waits for the configured provider latency; sessions and orders always complete.
+class PaymentProviderStubs implements AutoCloseable {
+    private static final String RATE_PATH = "/NBUStatService/v1/statdirectory/exchange";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration latency;
+
+    private PaymentProviderStubs(Duration latency) throws IOException {
+        this.latency = latency;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/v1/checkout/sessions", this::stripeSession);
+        server.createContext("/v1/oauth2/token", exchange -> respond(exchange,
+                "{\"access_token\":\"stub-token\",\"token_type\":\"Bearer\",\"expires_in\":32400}"));
+        server.createContext("/v2/checkout/orders", this::paypalOrder);
+        server.createContext(RATE_PATH, exchange -> respond(exchange,
+                "[{\"r030\":978,\"txt\":\"Euro\",\"rate\":44.5,\"cc\":\"EUR\",\"exchangedate\":\"01.01.2026\"}]"));
+        server.start();
+    }
+
+    static PaymentProviderStubs start(Duration latency) {
+        try {
+            return new PaymentProviderStubs(latency);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    String currencyApiUrl() {
+        return baseUrl() + RATE_PATH + "?valcode=EUR";
+    }
+
+    private void stripeSession(HttpExchange exchange) throws IOException {
+        if ("POST".equals(exchange.getRequestMethod())) {
+            String id = "cs_test_" + UUID.randomUUID().toString().replace("-", "");
+            respond(exchange, "{\"id\":\"%s\",\"object\":\"checkout.session\",\"status\":\"open\",\"url\":\"%s\"}"
+                    .formatted(id, "https://checkout.stripe.test/pay/" + id));
+        } else {
+            respond(exchange, "{\"id\":\"%s\",\"object\":\"checkout.session\",\"status\":\"complete\"}"
+                    .formatted(lastSegment(exchange.getRequestURI().getPath())));
+        }
+    }
+
+    private void paypalOrder(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith("/capture")) {
+            String id = lastSegment(path.substring(0, path.length() - "/capture".length()));
+            respond(exchange, "{\"id\":\"%s\",\"status\":\"COMPLETED\"}".formatted(id));
+        } else {
+            String id = UUID.randomUUID().toString();
+            respond(exchange, ("{\"id\":\"%s\",\"status\":\"PAYER_ACTION_REQUIRED\",\"links\":["
+                    + "{\"href\":\"%s/v2/checkout/orders/%s\",\"rel\":\"self\",\"method\":\"GET\"},"
+                    + "{\"href\":\"https://www.sandbox.paypal.test/checkoutnow?token=%s\",\"rel\":\"payer-action\","
+                    + "\"method\":\"GET\"}]}").formatted(id, baseUrl(), id, id));
+        }
+    }
+
+    private void respond(HttpExchange exchange, String json) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String lastSegment(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
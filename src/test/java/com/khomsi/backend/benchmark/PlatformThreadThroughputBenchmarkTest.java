@@ -0,0 +1,8 @@
+package com.khomsi.backend.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+// Tomcat's default pool of 200 request threads; see VirtualThreadThroughputBenchmarkTest
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadThroughputBenchmarkTest extends CheckoutThroughputBenchmark {
+}
@@ -0,0 +1,9 @@
+package com.khomsi.backend.benchmark;
+
+import org.springframework.test.context.TestPropertySource;
+
+// Run with: mvn test -Pbenchmark -Dtest='*ThreadThroughputBenchmarkTest'
+// and compare the numbers with PlatformThreadThroughputBenchmarkTest
+@TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadThroughputBenchmarkTest extends CheckoutThroughputBenchmark {
+}
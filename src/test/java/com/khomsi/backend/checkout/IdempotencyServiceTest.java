@@ -0,0 +1,146 @@
+package com.khomsi.backend.checkout;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khomsi.backend.main.checkout.config.IdempotencyProperties;
+import com.khomsi.backend.main.checkout.model.dto.stripe.PaymentResponse;
+import com.khomsi.backend.main.checkout.model.entity.IdempotencyRecord;
+import com.khomsi.backend.main.checkout.model.entity.IdempotencyRecordId;
+import com.khomsi.backend.main.checkout.model.enums.Constant;
+import com.khomsi.backend.main.checkout.model.enums.IdempotencyStatus;
+import com.khomsi.backend.main.checkout.repository.IdempotencyRecordRepository;
+import com.khomsi.backend.main.checkout.service.IdempotencyCache;
+import com.khomsi.backend.main.checkout.service.IdempotencyServiceImpl;
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.user.model.entity.UserInfo;
+import com.khomsi.backend.main.user.service.UserInfoService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.khomsi.backend.config.Stubs.stub;
+import static com.khomsi.backend.main.checkout.controller.CheckoutController.IDEMPOTENCY_KEY_HEADER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyServiceTest {
+    private static final String KEY = "7f9c2ba4-e88f-4d7a-9b4b-1c6f2d3e8a10";
+    private static final String RECHARGE = "/api/v1/checkout/recharge/stripe/create-payment";
+
+    private final Map<IdempotencyRecordId, IdempotencyRecord> records = new ConcurrentHashMap<>();
+    private final IdempotencyRecordRepository repository = inMemoryRepository(records);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void sameRequestIsReplayed() {
+        IdempotencyServiceImpl service = service();
+
+        PaymentResponse first = service.execute(KEY, recharge("10.00"), this::createSession);
+        PaymentResponse replayed = service.execute(KEY, recharge("10.00"), this::createSession);
+
+        assertEquals(first, replayed);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void sameKeyWithAnotherAmountIsRefused() {
+        IdempotencyServiceImpl service = service();
+        service.execute(KEY, recharge("10.00"), this::createSession);
+
+        // Answered from the cache and, after a restart, from the stored record
+        assertUnprocessable(() -> service.execute(KEY, recharge("1000.00"), this::createSession));
+        IdempotencyServiceImpl restarted = service();
+        assertUnprocessable(() -> restarted.execute(KEY, recharge("1000.00"), this::createSession));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void jsonBodyIsPartOfTheRequest() throws IOException {
+        IdempotencyServiceImpl service = service();
+        service.execute(KEY, jsonRequest("{\"amount\":10.00}"), this::createSession);
+
+        HttpServletRequest otherAmount = jsonRequest("{\"amount\":1000.00}");
+        assertUnprocessable(() -> service.execute(KEY, otherAmount, this::createSession));
+        assertEquals(1, calls.get());
+    }
+
+    private void assertUnprocessable(Runnable call) {
+        GlobalServiceException e = assertThrows(GlobalServiceException.class, call::run);
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatusCode());
+    }
+
+    private PaymentResponse createSession() {
+        return PaymentResponse.builder()
+                .status(Constant.SUCCESS.name())
+                .message("Stripe session " + calls.incrementAndGet() + " created successfully")
+                .httpStatus(HttpStatus.OK.value())
+                .build();
+    }
+
+    private IdempotencyServiceImpl service() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        UserInfo user = new UserInfo();
+        user.setExternalId("idempotency-test");
+        return new IdempotencyServiceImpl(repository, new IdempotencyCache(properties), properties,
+                stub(UserInfoService.class, Map.of("getUserInfo", user)), new ObjectMapper());
+    }
+
+    private static HttpServletRequest recharge(String amount) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", RECHARGE);
+        request.addHeader(IDEMPOTENCY_KEY_HEADER, KEY);
+        request.addParameter("amount", amount);
+        return request;
+    }
+
+    // Wrapped like IdempotentRequestFilter does, with the body already read by the controller
+    private static HttpServletRequest jsonRequest(String body) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", RECHARGE);
+        request.addHeader(IDEMPOTENCY_KEY_HEADER, KEY);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        ContentCachingRequestWrapper cachingRequest = new ContentCachingRequestWrapper(request);
+        cachingRequest.getInputStream().readAllBytes();
+        return cachingRequest;
+    }
+
+    // Enough of idempotency_keys for one user: reserve, complete, release and lookups
+    private static IdempotencyRecordRepository inMemoryRepository(
+            Map<IdempotencyRecordId, IdempotencyRecord> records) {
+        return (IdempotencyRecordRepository) Proxy.newProxyInstance(IdempotencyRecordRepository.class.getClassLoader(),
+                new Class<?>[]{IdempotencyRecordRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "reserve" -> {
+                        IdempotencyRecord idempotencyRecord = new IdempotencyRecord();
+                        idempotencyRecord.setId(new IdempotencyRecordId((String) args[0], (String) args[1]));
+                        idempotencyRecord.setRequestHash((String) args[2]);
+                        idempotencyRecord.setStatus(IdempotencyStatus.IN_PROGRESS);
+                        yield records.putIfAbsent(idempotencyRecord.getId(), idempotencyRecord) == null ? 1 : 0;
+                    }
+                    case "complete" -> {
+                        IdempotencyRecord idempotencyRecord = records.get(
+                                new IdempotencyRecordId((String) args[0], (String) args[1]));
+                        idempotencyRecord.setStatus(IdempotencyStatus.COMPLETED);
+                        idempotencyRecord.setHttpStatus((Integer) args[2]);
+                        idempotencyRecord.setResponse((String) args[3]);
+                        yield null;
+                    }
+                    case "release" -> {
+                        records.remove(new IdempotencyRecordId((String) args[0], (String) args[1]));
+                        yield null;
+                    }
+                    case "findById" -> Optional.ofNullable(records.get((IdempotencyRecordId) args[0]));
+                    case "releaseStale" -> 0;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
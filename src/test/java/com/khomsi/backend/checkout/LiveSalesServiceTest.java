@@ -0,0 +1,124 @@
+package com.khomsi.backend.checkout;
+
+import com.khomsi.backend.main.checkout.config.LiveSalesProperties;
+import com.khomsi.backend.main.checkout.model.dto.LiveSalesSnapshot;
+import com.khomsi.backend.main.checkout.model.entity.Transaction;
+import com.khomsi.backend.main.checkout.model.entity.TransactionGames;
+import com.khomsi.backend.main.checkout.service.LiveSalesServiceImpl;
+import com.khomsi.backend.main.game.model.entity.Game;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LiveSalesServiceTest {
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-05-01T12:00:00Z"));
+    private LiveSalesServiceImpl liveSalesService;
+
+    @BeforeEach
+    void setUp() {
+        LiveSalesProperties properties = new LiveSalesProperties();
+        properties.setWindowSeconds(10);
+        properties.setTopGames(2);
+        liveSalesService = new LiveSalesServiceImpl(properties, clock);
+    }
+
+    @Test
+    void reportsLastSecondAndRollingWindow() {
+        liveSalesService.recordSale(transaction("10.00", 1L, 2L));
+        clock.advance(Duration.ofSeconds(1));
+        liveSalesService.recordSale(transaction("5.50", 2L));
+        liveSalesService.recordSale(transaction("5.50", 2L, 3L));
+        clock.advance(Duration.ofSeconds(1));
+
+        LiveSalesSnapshot snapshot = liveSalesService.snapshot();
+        assertEquals(2, snapshot.transactions());
+        assertEquals(3, snapshot.saleGames());
+        assertEquals(new BigDecimal("11.00"), snapshot.revenue());
+        assertEquals(3, snapshot.windowTransactions());
+        assertEquals(new BigDecimal("21.00"), snapshot.windowRevenue());
+        assertEquals(List.of(new LiveSalesSnapshot.TopGame(2L, "Game 2", 3), new LiveSalesSnapshot.TopGame(1L, "Game 1", 1)),
+                snapshot.topGames());
+    }
+
+    @Test
+    void salesOutsideWindowAreForgotten() {
+        liveSalesService.recordSale(transaction("10.00", 1L));
+        clock.advance(Duration.ofSeconds(11));
+        liveSalesService.recordSale(transaction("3.00", 2L));
+        clock.advance(Duration.ofSeconds(1));
+
+        LiveSalesSnapshot snapshot = liveSalesService.snapshot();
+        assertEquals(1, snapshot.windowTransactions());
+        assertEquals(new BigDecimal("3.00"), snapshot.windowRevenue());
+        assertEquals(List.of(new LiveSalesSnapshot.TopGame(2L, "Game 2", 1)), snapshot.topGames());
+    }
+
+    @Test
+    void concurrentSalesAreNotLost() {
+        int sales = 10_000;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            CompletableFuture.allOf(IntStream.range(0, sales)
+                    .mapToObj(i -> CompletableFuture.runAsync(
+                            () -> liveSalesService.recordSale(transaction("1.25", (long) i % 3)), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        }
+        clock.advance(Duration.ofSeconds(1));
+
+        LiveSalesSnapshot snapshot = liveSalesService.snapshot();
+        assertEquals(sales, snapshot.transactions());
+        assertEquals(new BigDecimal("12500.00"), snapshot.revenue());
+    }
+
+    private static Transaction transaction(String total, Long... gameIds) {
+        Transaction transaction = new Transaction();
+        transaction.setTotalAmount(new BigDecimal(total));
+        transaction.setTransactionGames(new LinkedHashSet<>(Arrays.stream(gameIds).map(gameId -> {
+            TransactionGames line = new TransactionGames();
+            line.setGames(Game.builder().id(gameId).title("Game " + gameId).build());
+            return line;
+        }).toList()));
+        return transaction;
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.khomsi.backend.checkout;
+
+import com.khomsi.backend.config.BaseIntegration;
+import com.khomsi.backend.main.checkout.model.dto.CheckoutContext;
+import com.khomsi.backend.main.checkout.model.dto.CheckoutLine;
+import com.khomsi.backend.main.checkout.model.enums.BalanceAction;
+import com.khomsi.backend.main.checkout.model.enums.PaymentMethod;
+import com.khomsi.backend.main.checkout.repository.TransactionRepository;
+import com.khomsi.backend.main.checkout.service.TransactionService;
+import com.khomsi.backend.main.game.GameRepository;
+import com.khomsi.backend.main.game.model.entity.Game;
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.user.model.entity.BalanceEntryType;
+import com.khomsi.backend.main.user.model.entity.UserInfo;
+import com.khomsi.backend.main.user.repository.UserInfoRepository;
+import com.khomsi.backend.main.user.service.BalanceService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Card plus balance: the balance part is taken when the transaction is placed, before the customer can
+// pay the card part at the provider, so a captured card payment always finds its balance part debited
+@Transactional(Transactional.TxType.NOT_SUPPORTED)
+class PaymentWithBalanceTest extends BaseIntegration {
+    private static final BigDecimal BALANCE = new BigDecimal("5.00");
+
+    @Autowired
+    private TransactionService transactionService;
+    @Autowired
+    private TransactionRepository transactionRepository;
+    @Autowired
+    private BalanceService balanceService;
+    @Autowired
+    private UserInfoRepository userInfoRepository;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private UserInfo user;
+    private Game game;
+
+    @BeforeEach
+    void createUser() {
+        user = new UserInfo();
+        user.setExternalId(UUID.randomUUID().toString());
+        user.setUsername("balance-checkout-test");
+        user.setEmail(user.getExternalId() + "@grid.test");
+        userInfoRepository.save(user);
+        balanceService.openAccount(user.getExternalId());
+        balanceService.credit(user.getExternalId(), BALANCE, BalanceEntryType.OPENING, null);
+        game = gameRepository.findAllActiveGames().stream()
+                .filter(activeGame -> activeGame.getPrice().compareTo(BALANCE) > 0)
+                .findFirst()
+                .orElseThrow();
+        Jwt jwt = Jwt.withTokenValue("test").header("alg", "none").subject(user.getExternalId())
+                .claim("email", user.getEmail()).build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+
+    @AfterEach
+    void deleteUser() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM user_has_games WHERE users_id = ?", user.getExternalId());
+        jdbcTemplate.update("DELETE tg FROM transaction_games tg JOIN transactions t "
+                + "ON t.transaction_id = tg.transactions_id WHERE t.users_id = ?", user.getExternalId());
+        for (String table : List.of("transactions", "cart", "balance_ledger", "balance_snapshots")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE users_id = ?", user.getExternalId());
+        }
+        jdbcTemplate.update("DELETE FROM email_outbox WHERE recipient = ?", user.getEmail());
+        userInfoRepository.delete(user);
+    }
+
+    @Test
+    void balancePartIsDebitedWhenTheTransactionIsPlaced() {
+        String sessionId = placeWithBalance(context(BALANCE));
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceService.getBalance(user.getExternalId())));
+
+        transactionService.completeTransaction(sessionId);
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceService.getBalance(user.getExternalId())));
+        assertEquals(Boolean.TRUE, transactionRepository.findById(sessionId).orElseThrow().getPaid());
+    }
+
+    @Test
+    void spentBalanceFailsBeforeTheCustomerIsSentToTheProvider() {
+        CheckoutContext context = context(BALANCE);
+        assertEquals(true, balanceService.debit(user.getExternalId(), new BigDecimal("1.00"),
+                BalanceEntryType.PURCHASE, null));
+
+        GlobalServiceException e = assertThrows(GlobalServiceException.class, () -> placeWithBalance(context));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        assertEquals(0, transactionRepository.findAllByUsersOrderByCreatedAtDesc(user).size());
+        assertEquals(0, new BigDecimal("4.00").compareTo(balanceService.getBalance(user.getExternalId())));
+    }
+
+    @Test
+    void expiredOrReturnedTransactionsGiveTheBalanceBack() {
+        // The refund the expiry job runs for every expired transaction
+        String expired = placeWithBalance(context(BALANCE));
+        balanceService.refundPendingPayments(List.of(expired));
+        assertEquals(0, BALANCE.compareTo(balanceService.getBalance(user.getExternalId())));
+
+        String returned = placeWithBalance(context(BALANCE));
+        transactionService.returnTransactionToCart(returned);
+        assertEquals(0, BALANCE.compareTo(balanceService.getBalance(user.getExternalId())));
+        assertFalse(transactionRepository.existsById(returned));
+    }
+
+    @Test
+    void sameSessionCompletedTwiceAtOnceIsGrantedOnce() throws Exception {
+        String sessionId = placeWithBalance(context(BALANCE));
+        ExecutorService executor = new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(2));
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> completions = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2; i++) {
+                completions.add(executor.submit(() -> {
+                    start.await();
+                    transactionService.completeTransaction(sessionId);
+                    return null;
+                }));
+            }
+            start.countDown();
+            List<HttpStatusCode> refused = new ArrayList<>();
+            for (Future<?> completion : completions) {
+                try {
+                    completion.get();
+                } catch (ExecutionException e) {
+                    refused.add(((GlobalServiceException) e.getCause()).getStatusCode());
+                }
+            }
+            assertEquals(List.of(HttpStatus.BAD_REQUEST), refused);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_has_games WHERE users_id = ? "
+                + "AND games_id = ?", Integer.class, user.getExternalId(), game.getId()));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM email_outbox WHERE recipient = ?",
+                Integer.class, user.getEmail()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceService.getBalance(user.getExternalId())));
+    }
+
+    private CheckoutContext context(BigDecimal balance) {
+        return new CheckoutContext(user, List.of(new CheckoutLine(-1L, game, game.getPrice())), game.getPrice(),
+                balance);
+    }
+
+    private String placeWithBalance(CheckoutContext context) {
+        String sessionId = "cs_test_" + UUID.randomUUID();
+        transactionService.placeTemporaryTransaction(
+                transactionService.calculateTotalAmount(null, BalanceAction.PAYMENT_WITH_BALANCE, context),
+                sessionId, "https://checkout.stripe.test/" + sessionId, BalanceAction.PAYMENT_WITH_BALANCE,
+                PaymentMethod.STRIPE, context);
+        return sessionId;
+    }
+}
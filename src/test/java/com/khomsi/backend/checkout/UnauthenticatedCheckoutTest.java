@@ -0,0 +1,58 @@
+package com.khomsi.backend.checkout;
+
+import com.khomsi.backend.additional.cart.CartRepository;
+import com.khomsi.backend.additional.cart.service.CartService;
+import com.khomsi.backend.additional.wishlist.service.WishlistService;
+import com.khomsi.backend.main.checkout.mapper.TransactionMapper;
+import com.khomsi.backend.main.checkout.model.enums.BalanceAction;
+import com.khomsi.backend.main.checkout.model.enums.PaymentMethod;
+import com.khomsi.backend.main.checkout.repository.TransactionGamesRepository;
+import com.khomsi.backend.main.checkout.repository.TransactionRepository;
+import com.khomsi.backend.main.checkout.service.LiveSalesService;
+import com.khomsi.backend.main.checkout.service.SalesRollupService;
+import com.khomsi.backend.main.checkout.service.TransactionServiceImpl;
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.user.service.BalanceService;
+import com.khomsi.backend.main.user.service.UserGamesService;
+import com.khomsi.backend.main.user.service.UserInfoService;
+import com.khomsi.backend.main.utils.email.service.EmailService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static com.khomsi.backend.config.Stubs.stub;
+import static com.khomsi.backend.config.Stubs.unused;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// getUserInfo answers null for a caller without an account; checkout has to refuse before touching any data
+class UnauthenticatedCheckoutTest {
+    private final TransactionServiceImpl transactionService = new TransactionServiceImpl(
+            unused(CartService.class), unused(CartRepository.class), stub(UserInfoService.class, Map.of()),
+            unused(TransactionRepository.class), unused(TransactionGamesRepository.class),
+            unused(TransactionMapper.class), unused(BalanceService.class), unused(UserGamesService.class),
+            unused(EmailService.class), unused(WishlistService.class), unused(SalesRollupService.class),
+            unused(LiveSalesService.class));
+
+    @Test
+    void checkoutIsRefusedWithoutAUser() {
+        assertUnauthorized(transactionService::loadCheckoutContext);
+        assertUnauthorized(() -> transactionService.placeTemporaryTransaction(BigDecimal.TEN, "cs_test_anonymous",
+                "https://checkout.stripe.test", BalanceAction.BALANCE_RECHARGE, PaymentMethod.STRIPE, null));
+        assertUnauthorized(() -> transactionService.returnTransactionToCart("cs_test_anonymous"));
+    }
+
+    @Test
+    void historyIsRefusedWithoutAUser() {
+        assertUnauthorized(transactionService::transactionList);
+        assertUnauthorized(() -> transactionService.transactionHistory(null, 10));
+    }
+
+    private static void assertUnauthorized(Executable call) {
+        GlobalServiceException e = assertThrows(GlobalServiceException.class, call);
+        assertEquals(HttpStatus.UNAUTHORIZED, e.getStatusCode());
+    }
+}
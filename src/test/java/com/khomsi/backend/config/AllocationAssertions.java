@@ -0,0 +1,46 @@
+package com.khomsi.backend.config;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Bytes the current thread allocates per call, from the HotSpot per-thread counter, measured once C2 has
+// compiled the call: the warm-up is well past the C2 invocation threshold and the allocation-budgets surefire
+// execution turns off background compilation, so the compiled code is in place before measuring. That
+// execution forks a JVM of its own with fixed flags, so what escape analysis removes depends only on these calls.
+public final class AllocationAssertions {
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int ROUNDS = 3;
+    private static final int CALLS_PER_ROUND = 50;
+    // Results are published here so no call is dropped as unused
+    private static volatile Object sink;
+
+    private AllocationAssertions() {
+    }
+
+    // Lowest average of a few rounds, in case a lazy cache is still filling up in the first one
+    public static long bytesPerCall(Supplier<?> call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sink = call.get();
+        }
+        long lowest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < CALLS_PER_ROUND; i++) {
+                sink = call.get();
+            }
+            lowest = Math.min(lowest, (THREADS.getCurrentThreadAllocatedBytes() - before) / CALLS_PER_ROUND);
+        }
+        return lowest;
+    }
+
+    public static void assertAllocatesAtMost(long budget, String name, Supplier<?> call) {
+        long allocated = bytesPerCall(call);
+        assertTrue(allocated <= budget, () -> name + " allocates " + allocated + " bytes per call, budget is "
+                + budget + " bytes");
+    }
+}
@@ -0,0 +1,80 @@
+package com.khomsi.backend.config;
+
+import com.khomsi.backend.main.security.keycloak.JwtAuthConverterProperties;
+import com.khomsi.backend.main.user.model.entity.Role;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+
+// Stands in for Keycloak: tokens are signed with a key generated per test context and carry the
+// same claims the realm issues, so JwtAuthConverter and the user sync see production-shaped tokens.
+@TestConfiguration(proxyBeanMethods = false)
+public class LocalJwtIssuer {
+    private static final String ISSUER = "http://localhost/realms/GRID";
+    private static final String KEY_ID = "local-test-key";
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(2);
+
+    private final JwtAuthConverterProperties properties;
+    private final RSAKey key;
+    private final JwtEncoder encoder;
+
+    public LocalJwtIssuer(JwtAuthConverterProperties properties) throws NoSuchAlgorithmException {
+        this.properties = properties;
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        this.key = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                .privateKey((RSAPrivateKey) keyPair.getPrivate())
+                .keyID(KEY_ID)
+                .build();
+        this.encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(key)));
+    }
+
+    @Bean
+    @Primary
+    JwtDecoder localJwtDecoder() throws JOSEException {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withPublicKey(key.toRSAPublicKey()).build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+        return decoder;
+    }
+
+    public String issue(String subject, String username, Role... roles) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .subject(subject)
+                .issuedAt(now)
+                .expiresAt(now.plus(TOKEN_LIFETIME))
+                .claim("scope", "openid profile email")
+                .claim(properties.getPrincipalAttribute(), username)
+                .claim("email", username + "@grid.test")
+                .claim("resource_access", Map.of(properties.getResourceId(),
+                        Map.of("roles", Arrays.stream(roles).map(Role::name).toList())))
+                .build();
+        JwsHeader header = JwsHeader.with(SignatureAlgorithm.RS256).keyId(KEY_ID).build();
+        return encoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
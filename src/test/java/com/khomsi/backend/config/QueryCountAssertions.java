@@ -0,0 +1,33 @@
+package com.khomsi.backend.config;
+
+import com.khomsi.backend.main.utils.metrics.hibernate.RequestQueryStatistics;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Reads the counts QueryStatisticsFilter left on a MockMvc request; the filter must be added to the MockMvc
+public final class QueryCountAssertions {
+    private QueryCountAssertions() {
+    }
+
+    public static RequestQueryStatistics statisticsOf(MvcResult result) {
+        RequestQueryStatistics statistics = RequestQueryStatistics.of(result.getRequest());
+        assertNotNull(statistics, "QueryStatisticsFilter did not run for " + result.getRequest().getRequestURI());
+        return statistics;
+    }
+
+    public static void assertStatementsAtMost(long budget, MvcResult result) {
+        RequestQueryStatistics statistics = statisticsOf(result);
+        assertTrue(statistics.getStatements() <= budget, () -> result.getRequest().getRequestURI()
+                + " ran " + statistics + ", budget is " + budget + " statements");
+    }
+
+    // Same endpoint with a small and a large result must run the same statements, otherwise something is N+1
+    public static void assertSameStatements(MvcResult small, MvcResult large) {
+        assertEquals(statisticsOf(small).getStatements(), statisticsOf(large).getStatements(),
+                () -> "Statements grow with the result size: " + small.getRequest().getRequestURI() + "?"
+                        + small.getRequest().getQueryString() + " vs " + large.getRequest().getQueryString());
+    }
+}
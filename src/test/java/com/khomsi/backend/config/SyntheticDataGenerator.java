@@ -0,0 +1,424 @@
+package com.khomsi.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+// Streams a synthetic shop into MySQL: catalog dictionaries, games with media and relations, users with balances,
+// transactions, libraries, reviews and wishlists. The same seed and scale always produce the same rows, and
+// nothing is held in memory beyond one statement per table and the game prices.
+// Derived tables (daily_sales_rollup, buyer_sketches) are left alone; call the services' rebuild() when needed.
+@Slf4j
+public class SyntheticDataGenerator {
+    private static final int MAX_PARAMETERS = 65_535;
+    private static final int MAX_ROWS_PER_STATEMENT = 1_000;
+    // Fixed instead of now() so generated dates do not drift between runs
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final String[] GENRES = {"Action", "Adventure", "RPG", "Strategy", "Simulation", "Sports",
+            "Racing", "Puzzle", "Shooter", "Platformer", "Fighting", "Horror", "Survival", "Sandbox", "MMO",
+            "Casual", "Indie", "Visual Novel", "Roguelike", "Tactics"};
+    private static final String[] PLATFORMS = {"Windows", "macOS", "Linux", "PlayStation 5", "Xbox Series X|S",
+            "Nintendo Switch"};
+    private static final String[] WORDS = {"mafia", "city", "football", "manager", "legend", "space", "empire",
+            "racing", "dragon", "shadow", "survival", "kingdom", "tactics", "online", "edition", "definitive",
+            "chronicles", "frontier", "galaxy", "knight", "ancient", "neon", "storm", "forgotten", "iron", "last"};
+    private static final String[] REVIEWS = {"Great game, worth every hryvnia.", "Fun with friends, a bit short.",
+            "Runs poorly on my machine.", "Best in the series so far.", "Story is weak but gameplay is solid.",
+            "Refunded after two hours.", "Hundreds of hours and still playing."};
+    private static final String[] PERMIT_AGES = {"0", "3", "7", "12", "16", "18"};
+    private static final int[] PRICE_CENTS = {0, 499, 999, 1499, 1999, 2499, 2999, 3999, 4999, 5999, 6999};
+    private static final int[] PRICE_WEIGHTS = {5, 10, 15, 12, 15, 10, 10, 8, 7, 5, 3};
+    private static final int[] DISCOUNTS = {10, 15, 20, 25, 33, 50, 75};
+    private static final int TAGS = 60;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long seed;
+
+    public SyntheticDataGenerator(DataSource dataSource, long seed) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.seed = seed;
+    }
+
+    // Factor 1 is a small shop; factor 100 gives 100k games, 1M users and 10M transactions
+    public record Scale(int games, int users, long transactions) {
+        public static Scale of(double factor) {
+            return new Scale((int) Math.round(1_000 * factor), (int) Math.round(10_000 * factor),
+                    Math.round(100_000 * factor));
+        }
+    }
+
+    public record IdRange(long first, long last) {
+        public long size() {
+            return last - first + 1;
+        }
+    }
+
+    public record Dataset(Scale scale, String userPrefix, IdRange games, IdRange genres, IdRange tags,
+                          IdRange platforms, IdRange developers, IdRange publishers, long transactions) {
+        public String userId(int index) {
+            return userPrefix + index;
+        }
+    }
+
+    public Dataset generate(Scale scale) {
+        return jdbcTemplate.execute((ConnectionCallback<Dataset>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement session = connection.createStatement()) {
+                // Generated keys are consistent by construction, checking them per row only slows the load down
+                session.execute("SET SESSION foreign_key_checks = 0, unique_checks = 0");
+                try {
+                    return generate(connection, scale);
+                } finally {
+                    session.execute("SET SESSION foreign_key_checks = 1, unique_checks = 1");
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
+        });
+    }
+
+    private Dataset generate(Connection connection, Scale scale) throws SQLException {
+        long start = System.nanoTime();
+        Random random = new Random(seed);
+        String userPrefix = "synthetic-" + seed + "-";
+        int companies = Math.max(10, scale.games() / 20);
+        IdRange genres = insertNames(connection, "genres", "genre_id", GENRES.length, i -> GENRES[i]);
+        IdRange tags = insertNames(connection, "tags", "tag_id", TAGS, i -> capitalize(WORDS[i % WORDS.length])
+                + (i < WORDS.length ? "" : " " + (i / WORDS.length + 1)));
+        IdRange platforms = insertNames(connection, "platforms", "platform_id", PLATFORMS.length, i -> PLATFORMS[i]);
+        IdRange developers = insertNames(connection, "developers", "developer_id", companies,
+                i -> capitalize(WORDS[i % WORDS.length]) + " Studio " + i);
+        IdRange publishers = insertNames(connection, "publishers", "publisher_id", companies,
+                i -> capitalize(WORDS[(i + 7) % WORDS.length]) + " Interactive " + i);
+
+        long firstGameId = nextId(connection, "games", "game_id");
+        IdRange games = new IdRange(firstGameId, firstGameId + scale.games() - 1);
+        int[] paidCents = insertGames(connection, random, games, genres, tags, platforms, developers, publishers);
+        log.info("Generated {} games in {} ms", scale.games(), elapsedMillis(start));
+
+        long transactions = insertUsers(connection, random, scale, userPrefix, games, paidCents);
+        log.info("Generated {} users and {} transactions in {} ms", scale.users(), transactions, elapsedMillis(start));
+        return new Dataset(scale, userPrefix, games, genres, tags, platforms, developers, publishers, transactions);
+    }
+
+    private IdRange insertNames(Connection connection, String table, String idColumn, int count,
+                                IntFunction<String> name) throws SQLException {
+        long first = nextId(connection, table, idColumn);
+        try (BulkInsert insert = new BulkInsert(connection, table, idColumn, "name")) {
+            for (int i = 0; i < count; i++) {
+                insert.add(first + i, name.apply(i));
+            }
+        }
+        return new IdRange(first, first + count - 1);
+    }
+
+    // Returns what each game costs at checkout, indexed from the first generated game
+    private int[] insertGames(Connection connection, Random random, IdRange games, IdRange genres, IdRange tags,
+                              IdRange platforms, IdRange developers, IdRange publishers) throws SQLException {
+        int[] paidCents = new int[(int) games.size()];
+        try (BulkInsert gameRows = new BulkInsert(connection, "games", "game_id", "title", "description",
+                "release_date", "system_requirements", "about_game", "price", "discount", "permit_age", "active",
+                "cover_image_url", "developer_id", "publisher_id");
+             BulkInsert media = new BulkInsert(connection, "game_medias", "games_id", "banner_url", "screenshot_url",
+                     "trailer", "trailer_screenshot");
+             BulkInsert gameGenres = new BulkInsert(connection, "games_has_genres", "games_id", "genres_id");
+             BulkInsert gameTags = new BulkInsert(connection, "games_has_tags", "tags_id", "games_id");
+             BulkInsert gamePlatforms = new BulkInsert(connection, "games_has_platforms", "games_id", "platforms_id")) {
+            for (long id = games.first(); id <= games.last(); id++) {
+                int priceCents = PRICE_CENTS[weighted(random, PRICE_WEIGHTS)];
+                int discount = priceCents > 0 && random.nextInt(10) < 3 ? DISCOUNTS[random.nextInt(DISCOUNTS.length)] : 0;
+                paidCents[(int) (id - games.first())] = (int) Math.round(priceCents * (100 - discount) / 100.0);
+                String title = capitalize(word(random)) + " " + capitalize(word(random))
+                        + (random.nextInt(4) == 0 ? " " + (2 + random.nextInt(4)) : "") + " #" + id;
+                gameRows.add(id, title, sentences(random, 3 + random.nextInt(4)),
+                        EPOCH.toLocalDate().minusDays(random.nextInt(9_500)),
+                        "OS: Windows 10 64-bit; CPU: " + (4 + random.nextInt(5)) + " cores; RAM: "
+                                + (4 << random.nextInt(3)) + " GB; Storage: " + (10 + random.nextInt(140)) + " GB",
+                        sentences(random, 6 + random.nextInt(10)), BigDecimal.valueOf(priceCents, 2),
+                        BigDecimal.valueOf(discount), PERMIT_AGES[random.nextInt(PERMIT_AGES.length)],
+                        random.nextInt(30) != 0, "https://cdn.grid.test/covers/" + id + ".jpg",
+                        pick(random, developers), pick(random, publishers));
+                media.add(id, "https://cdn.grid.test/banners/" + id + ".jpg",
+                        "https://cdn.grid.test/screens/" + id + ".jpg", "https://video.grid.test/trailers/" + id,
+                        "https://cdn.grid.test/trailers/" + id + ".jpg");
+                for (long genre : distinct(random, genres, 1 + random.nextInt(3))) {
+                    gameGenres.add(id, genre);
+                }
+                for (long tag : distinct(random, tags, 3 + random.nextInt(8))) {
+                    gameTags.add(tag, id);
+                }
+                for (long platform : distinct(random, platforms, 1 + random.nextInt(4))) {
+                    gamePlatforms.add(id, platform);
+                }
+            }
+        }
+        return paidCents;
+    }
+
+    // Each user walks the catalog with their own start and a stride coprime to its size, so a user never gets
+    // the same game twice and the wishlist continues past the last game they bought.
+    private long insertUsers(Connection connection, Random random, Scale scale, String userPrefix, IdRange games,
+                             int[] paidCents) throws SQLException {
+        int catalog = (int) games.size();
+        double transactionsPerUser = scale.users() == 0 ? 0 : (double) scale.transactions() / scale.users();
+        long transactions = 0;
+        try (BulkInsert users = new BulkInsert(connection, "users", "id", "username", "email");
+             BulkInsert balances = new BulkInsert(connection, "balance_snapshots", "users_id", "sequence_no", "ledger_id",
+                     "balance", "created_at");
+             BulkInsert transactionRows = new BulkInsert(connection, "transactions", "transaction_id", "users_id",
+                     "balance_action", "created_at", "updated_at", "total_amount", "payment_methods", "paid",
+                     "redirect_url", "used_balance");
+             BulkInsert lines = new BulkInsert(connection, "transaction_games", "price_on_pay", "transactions_id",
+                     "games_id");
+             BulkInsert library = new BulkInsert(connection, "user_has_games", "users_id", "games_id", "purchase_date",
+                     "playtime");
+             BulkInsert reviews = new BulkInsert(connection, "reviews", "users_id", "games_id", "rating", "comment",
+                     "review_date");
+             BulkInsert wishlist = new BulkInsert(connection, "wishlist", "users_id", "games_id", "added_date")) {
+            for (int user = 0; user < scale.users(); user++) {
+                String userId = userPrefix + user;
+                users.add(userId, "player_" + seed + "_" + user, userId + "@grid.test");
+                balances.add(userId, 0, 0, BigDecimal.valueOf(random.nextInt(20_000), 2), EPOCH);
+                if (catalog == 0) {
+                    continue;
+                }
+                int next = random.nextInt(catalog);
+                int stride = coprimeStride(random, catalog);
+                int owned = 0;
+                // Uniform around the average keeps the total close to the requested count
+                int userTransactions = (int) Math.round(random.nextDouble() * 2 * transactionsPerUser);
+                for (int t = 0; t < userTransactions && transactions < scale.transactions(); t++, transactions++) {
+                    String transactionId = new UUID(random.nextLong(), random.nextLong()).toString();
+                    LocalDateTime createdAt = EPOCH.minusSeconds(random.nextLong(TimeUnit.DAYS.toSeconds(3 * 365)));
+                    boolean paid = random.nextInt(40) != 0;
+                    String method = random.nextInt(10) < 5 ? "STRIPE" : random.nextInt(2) == 0 ? "PAYPAL" : "LOCAL";
+                    if (random.nextInt(20) == 0) {
+                        transactionRows.add(transactionId, userId, "BALANCE_RECHARGE", createdAt,
+                                createdAt.plusMinutes(2), BigDecimal.valueOf(100 * (1 + random.nextInt(20)), 0),
+                                method.equals("LOCAL") ? "STRIPE" : method, paid, null, null);
+                        continue;
+                    }
+                    long totalCents = 0;
+                    int items = Math.min(1 + random.nextInt(3), catalog - owned);
+                    for (int i = 0; i < items; i++, owned++) {
+                        int game = next;
+                        next = (next + stride) % catalog;
+                        long gameId = games.first() + game;
+                        totalCents += paidCents[game];
+                        lines.add(BigDecimal.valueOf(paidCents[game], 2), transactionId, gameId);
+                        if (paid) {
+                            library.add(userId, gameId, createdAt.plusMinutes(2), playtime(random));
+                            if (random.nextInt(10) == 0) {
+                                reviews.add(userId, gameId, 1 + Math.min(4, random.nextInt(6)),
+                                        REVIEWS[random.nextInt(REVIEWS.length)],
+                                        createdAt.plusDays(1 + random.nextInt(90)));
+                            }
+                        }
+                    }
+                    // The user already owns the whole catalog
+                    if (items == 0) {
+                        break;
+                    }
+                    transactionRows.add(transactionId, userId, "NO_ACTION", createdAt,
+                            paid ? createdAt.plusMinutes(2) : null, BigDecimal.valueOf(totalCents, 2), method, paid,
+                            paid ? null : "https://checkout.stripe.test/pay/" + transactionId, null);
+                }
+                int wishes = Math.min(random.nextInt(5), catalog - owned);
+                for (int i = 0; i < wishes; i++) {
+                    wishlist.add(userId, games.first() + next, EPOCH.minusDays(random.nextInt(365)));
+                    next = (next + stride) % catalog;
+                }
+            }
+        }
+        return transactions;
+    }
+
+    // Removes everything generate() wrote, plus rows the app created for the generated users and games
+    public void delete(Dataset dataset) {
+        String users = dataset.userPrefix() + "%";
+        Object[] games = {dataset.games().first(), dataset.games().last()};
+        jdbcTemplate.update("DELETE tg FROM transaction_games tg JOIN transactions t "
+                + "ON t.transaction_id = tg.transactions_id WHERE t.users_id LIKE ?", users);
+        jdbcTemplate.update("DELETE FROM transaction_games WHERE games_id BETWEEN ? AND ?", games);
+        for (String table : List.of("user_has_games", "reviews", "wishlist", "cart")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE users_id LIKE ? OR games_id BETWEEN ? AND ?",
+                    users, games[0], games[1]);
+        }
+        for (String table : List.of("transactions", "idempotency_keys", "balance_ledger", "balance_snapshots")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE users_id LIKE ?", users);
+        }
+        jdbcTemplate.update("DELETE FROM email_outbox WHERE recipient LIKE ?", users);
+        jdbcTemplate.update("DELETE FROM users WHERE id LIKE ?", users);
+        for (String table : List.of("games_has_genres", "games_has_tags", "games_has_platforms", "game_medias")) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE games_id BETWEEN ? AND ?", games);
+        }
+        jdbcTemplate.update("DELETE FROM games WHERE game_id BETWEEN ? AND ?", games);
+        deleteRange("genres", "genre_id", dataset.genres());
+        deleteRange("tags", "tag_id", dataset.tags());
+        deleteRange("platforms", "platform_id", dataset.platforms());
+        deleteRange("developers", "developer_id", dataset.developers());
+        deleteRange("publishers", "publisher_id", dataset.publishers());
+    }
+
+    private void deleteRange(String table, String idColumn, IdRange range) {
+        jdbcTemplate.update("DELETE FROM " + table + " WHERE " + idColumn + " BETWEEN ? AND ?",
+                range.first(), range.last());
+    }
+
+    private static long nextId(Connection connection, String table, String idColumn) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(" + idColumn + "), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static int coprimeStride(Random random, int catalog) {
+        if (catalog == 1) {
+            return 1;
+        }
+        int stride;
+        do {
+            stride = 1 + random.nextInt(catalog - 1);
+        } while (gcd(stride, catalog) != 1);
+        return stride;
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private static int weighted(Random random, int[] weights) {
+        int roll = random.nextInt(Arrays.stream(weights).sum());
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static long pick(Random random, IdRange range) {
+        return range.first() + random.nextLong(range.size());
+    }
+
+    private static List<Long> distinct(Random random, IdRange range, int count) {
+        List<Long> ids = new ArrayList<>((int) range.size());
+        for (long id = range.first(); id <= range.last(); id++) {
+            ids.add(id);
+        }
+        Collections.shuffle(ids, random);
+        return ids.subList(0, (int) Math.min(count, ids.size()));
+    }
+
+    private static String playtime(Random random) {
+        return "%d:%02d:%02d".formatted(random.nextInt(300), random.nextInt(60), random.nextInt(60));
+    }
+
+    private static String sentences(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int words = 8 + random.nextInt(12);
+            for (int w = 0; w < words; w++) {
+                text.append(w == 0 ? capitalize(word(random)) : word(random)).append(w == words - 1 ? ". " : " ");
+            }
+        }
+        return text.toString().trim();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    // Buffers rows and writes them as multi-row INSERTs, reusing one prepared statement for full batches.
+    // Each statement commits on its own so undo logs stay small however large the dataset is.
+    private static final class BulkInsert implements AutoCloseable {
+        private final Connection connection;
+        private final String insertPrefix;
+        private final String rowPlaceholders;
+        private final int columns;
+        private final int rowsPerStatement;
+        private final List<Object> values = new ArrayList<>();
+        private PreparedStatement fullStatement;
+
+        BulkInsert(Connection connection, String table, String... columns) {
+            this.connection = connection;
+            this.columns = columns.length;
+            this.insertPrefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+            this.rowPlaceholders = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+            this.rowsPerStatement = Math.min(MAX_ROWS_PER_STATEMENT, MAX_PARAMETERS / columns.length);
+        }
+
+        void add(Object... row) throws SQLException {
+            values.addAll(Arrays.asList(row));
+            if (values.size() == rowsPerStatement * columns) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            int rows = values.size() / columns;
+            if (rows == 0) {
+                return;
+            }
+            boolean full = rows == rowsPerStatement;
+            if (full && fullStatement == null) {
+                fullStatement = connection.prepareStatement(sql(rows));
+            }
+            PreparedStatement statement = full ? fullStatement : connection.prepareStatement(sql(rows));
+            try {
+                for (int i = 0; i < values.size(); i++) {
+                    statement.setObject(i + 1, values.get(i));
+                }
+                statement.executeUpdate();
+                connection.commit();
+            } finally {
+                if (!full) {
+                    statement.close();
+                }
+            }
+            values.clear();
+        }
+
+        private String sql(int rows) {
+            return insertPrefix + String.join(", ", Collections.nCopies(rows, rowPlaceholders));
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                if (fullStatement != null) {
+                    fullStatement.close();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.khomsi.backend.dataset;
+
+import com.khomsi.backend.config.BaseIntegration;
+import com.khomsi.backend.config.SyntheticDataGenerator;
+import com.khomsi.backend.config.SyntheticDataGenerator.Dataset;
+import com.khomsi.backend.config.SyntheticDataGenerator.Scale;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The generator commits as it goes, so the test runs outside the transaction from BaseIntegration
+@Transactional(Transactional.TxType.NOT_SUPPORTED)
+class SyntheticDataGeneratorTest extends BaseIntegration {
+    private static final Scale SCALE = Scale.of(0.05);
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void generatesConsistentShop() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(dataSource, 7);
+        Dataset dataset = generator.generate(SCALE);
+        try {
+            String users = dataset.userPrefix() + "%";
+            assertEquals(SCALE.games(), count("SELECT COUNT(*) FROM games WHERE game_id BETWEEN ? AND ?",
+                    dataset.games().first(), dataset.games().last()));
+            assertEquals(SCALE.users(), count("SELECT COUNT(*) FROM users WHERE id LIKE ?", users));
+            assertEquals(dataset.transactions(), count("SELECT COUNT(*) FROM transactions WHERE users_id LIKE ?",
+                    users));
+            assertEquals(0, count("SELECT COUNT(*) FROM (SELECT 1 FROM user_has_games WHERE users_id LIKE ? "
+                    + "GROUP BY users_id, games_id HAVING COUNT(*) > 1) duplicates", users));
+            // Every paid purchase line ends up in the buyer's library and nothing else does
+            assertEquals(count("SELECT COUNT(*) FROM user_has_games WHERE users_id LIKE ?", users),
+                    count("SELECT COUNT(*) FROM transaction_games tg JOIN transactions t "
+                            + "ON t.transaction_id = tg.transactions_id WHERE t.users_id LIKE ? AND t.paid", users));
+            assertEquals(0, count("SELECT COUNT(*) FROM transactions t WHERE t.users_id LIKE ? "
+                    + "AND t.balance_action = 'NO_ACTION' AND t.total_amount <> (SELECT SUM(tg.price_on_pay) "
+                    + "FROM transaction_games tg WHERE tg.transactions_id = t.transaction_id)", users));
+        } finally {
+            generator.delete(dataset);
+        }
+    }
+
+    @Test
+    void sameSeedProducesSameRows() {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(dataSource, 11);
+        Dataset first = generator.generate(SCALE);
+        Map<String, Object> firstFingerprint = fingerprint(first);
+        generator.delete(first);
+
+        Dataset second = generator.generate(SCALE);
+        Map<String, Object> secondFingerprint = fingerprint(second);
+        generator.delete(second);
+
+        assertEquals(firstFingerprint, secondFingerprint);
+    }
+
+    // Game ids depend on what is already in the table, so they are compared relative to the first generated one
+    private Map<String, Object> fingerprint(Dataset dataset) {
+        long firstGame = dataset.games().first();
+        return Map.of(
+                "games", jdbcTemplate.queryForObject("SELECT SUM(CRC32(CONCAT_WS('|', game_id - ?, title, price, "
+                                + "discount, active))) FROM games WHERE game_id BETWEEN ? AND ?", Long.class,
+                        firstGame, firstGame, dataset.games().last()),
+                "transactions", jdbcTemplate.queryForObject("SELECT SUM(CRC32(CONCAT_WS('|', transaction_id, "
+                                + "users_id, total_amount, payment_methods, paid, created_at))) FROM transactions "
+                                + "WHERE users_id LIKE ?", Long.class, dataset.userPrefix() + "%"),
+                "libraries", jdbcTemplate.queryForObject("SELECT SUM(CRC32(CONCAT_WS('|', users_id, games_id - ?))) "
+                        + "FROM user_has_games WHERE users_id LIKE ?", Long.class, firstGame, dataset.userPrefix() + "%"));
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
@@ -0,0 +1,51 @@
+package com.khomsi.backend.game;
+
+import com.khomsi.backend.main.game.GameRepository;
+import com.khomsi.backend.main.game.mapper.impl.GameMapperImpl;
+import com.khomsi.backend.main.game.service.GameServiceImpl;
+import com.khomsi.backend.main.user.service.UserInfoService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.khomsi.backend.config.Stubs.unused;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The boolean mode query both title searches send to games_title_ft_idx; only the text is turned into terms
+class FullTextQueryTest {
+    // Building the query must not reach the database or the user
+    private final GameServiceImpl gameService = new GameServiceImpl(unused(GameRepository.class),
+            new GameMapperImpl(), unused(UserInfoService.class));
+
+    @Test
+    void everyWordIsARequiredPrefix() {
+        assertEquals("+Football* +Manag*", gameService.toFullTextQuery("Football Manag"));
+        assertEquals("+witcher* +3*", gameService.toFullTextQuery("witcher 3"));
+    }
+
+    @Test
+    void punctuationIsNotPassedAsOperators() {
+        assertEquals("+Mafia* +Definitive*", gameService.toFullTextQuery("Mafia: Definitive"));
+        assertEquals("+Half* +Life* +2*", gameService.toFullTextQuery("Half-Life 2"));
+        assertEquals("+a* +b* +c*", gameService.toFullTextQuery("+a -b* \"c\" (~<>@)"));
+    }
+
+    @Test
+    void singleCharactersAndLettersOfOtherAlphabetsAreKept() {
+        assertEquals("+x*", gameService.toFullTextQuery("x"));
+        assertEquals("+Сталкер* +2*", gameService.toFullTextQuery("Сталкер 2"));
+    }
+
+    @Test
+    void textWithoutWordsGivesNoQuery() {
+        assertEquals("", gameService.toFullTextQuery(""));
+        assertEquals("", gameService.toFullTextQuery("   "));
+        assertEquals("", gameService.toFullTextQuery("*+-\"()"));
+    }
+
+    @Test
+    void zeroRowsAreAnsweredWithoutAQuery() {
+        assertEquals(List.of(), gameService.searchGamesByTitle("witcher", 0));
+        assertEquals(List.of(), gameService.getSpecialOffers("discount", 0));
+    }
+}
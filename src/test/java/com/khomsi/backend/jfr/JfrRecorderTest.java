@@ -0,0 +1,121 @@
+package com.khomsi.backend.jfr;
+
+import com.khomsi.backend.main.game.GameRepository;
+import com.khomsi.backend.main.game.mapper.impl.GameMapperImpl;
+import com.khomsi.backend.main.game.model.entity.Game;
+import com.khomsi.backend.main.game.service.GameServiceImpl;
+import com.khomsi.backend.main.user.service.UserInfoService;
+import com.khomsi.backend.main.utils.jfr.event.CheckoutStepEvent;
+import com.khomsi.backend.main.utils.jfr.event.OutboundCallEvent;
+import com.khomsi.backend.main.utils.jfr.recorder.JfrRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.khomsi.backend.config.Stubs.stub;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Records the grid.* events in process, dumps them and reads back what was committed
+class JfrRecorderTest {
+    private final String transactionId = "cs_test_" + UUID.randomUUID();
+    private Recording recording;
+
+    @BeforeEach
+    void startRecording() {
+        recording = new Recording();
+        for (String event : List.of("grid.CheckoutStep", "grid.OutboundCall", "grid.CatalogQuery")) {
+            recording.enable(event).withThreshold(Duration.ZERO).withoutStackTrace();
+        }
+        recording.start();
+    }
+
+    @AfterEach
+    void closeRecording() {
+        recording.close();
+    }
+
+    @Test
+    void resultIsRecordedAndReturned() throws IOException {
+        String status = JfrRecorder.record(CheckoutStepEvent::new, () -> "SUCCESS", (event, result, failure) -> {
+            event.step = CheckoutStepEvent.CAPTURE;
+            event.transactionId = transactionId;
+            event.outcome = result;
+        });
+
+        assertEquals("SUCCESS", status);
+        RecordedEvent event = single(committed("grid.CheckoutStep"));
+        assertEquals(CheckoutStepEvent.CAPTURE, event.getString("step"));
+        assertEquals("SUCCESS", event.getString("outcome"));
+    }
+
+    @Test
+    void failureIsRecordedAndRethrown() throws IOException {
+        IOException refused = new IOException("connection refused");
+
+        IOException thrown = assertThrows(IOException.class, () -> JfrRecorder.record(OutboundCallEvent::new,
+                () -> {
+                    throw refused;
+                }, (event, result, failure) -> {
+                    event.operation = transactionId;
+                    event.outcome = failure.getClass().getSimpleName();
+                }));
+
+        assertSame(refused, thrown);
+        RecordedEvent event = single(committed("grid.OutboundCall"));
+        assertEquals("IOException", event.getString("outcome"));
+        assertEquals(0, event.getInt("status"));
+    }
+
+    @Test
+    void catalogSearchIsRecorded() throws IOException {
+        Game game = Game.builder().id(1L).title("Football Manager 2024").price(new BigDecimal("29.99"))
+                .discount(BigDecimal.ZERO).active(true).genres(Set.of()).build();
+        GameServiceImpl gameService = new GameServiceImpl(
+                stub(GameRepository.class, Map.of("findSimilarTitles", List.of(game))), new GameMapperImpl(),
+                stub(UserInfoService.class, Map.of("getOwnedGameIds", Set.of())));
+
+        assertEquals(1, gameService.searchGamesByTitle("football", 5).size());
+
+        RecordedEvent event = single(committed("grid.CatalogQuery"));
+        assertEquals("search", event.getString("operation"));
+        assertEquals("words=1 qty=5", event.getString("criteria"));
+        assertEquals(1, event.getInt("rows"));
+    }
+
+    // Committed events of one type; checkout steps and provider calls must carry the id of this test
+    private List<RecordedEvent> committed(String name) throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile("grid-events", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(name))
+                    .filter(event -> !event.hasField("transactionId")
+                            || transactionId.equals(event.getString("transactionId")))
+                    .filter(event -> !event.hasField("provider") || transactionId.equals(event.getString("operation")))
+                    .toList();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events) {
+        assertEquals(1, events.size(), () -> "Expected one event, got " + events);
+        return events.get(0);
+    }
+}
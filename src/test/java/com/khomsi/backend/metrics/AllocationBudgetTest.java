@@ -0,0 +1,127 @@
+package com.khomsi.backend.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khomsi.backend.additional.genre.model.entity.Genre;
+import com.khomsi.backend.additional.media.model.entity.GameMedia;
+import com.khomsi.backend.main.admin.service.impl.AdminMetricServiceImpl;
+import com.khomsi.backend.main.checkout.model.dto.MonthlyRevenueView;
+import com.khomsi.backend.main.checkout.config.LiveSalesProperties;
+import com.khomsi.backend.main.checkout.repository.DailySalesRollupRepository;
+import com.khomsi.backend.main.checkout.service.LiveSalesBroadcaster;
+import com.khomsi.backend.main.checkout.service.LiveSalesService;
+import com.khomsi.backend.main.checkout.service.SalesRollupService;
+import com.khomsi.backend.main.game.GameRepository;
+import com.khomsi.backend.main.game.mapper.impl.GameMapperImpl;
+import com.khomsi.backend.main.game.model.entity.Game;
+import com.khomsi.backend.main.game.service.GameServiceImpl;
+import com.khomsi.backend.main.user.repository.UserInfoRepository;
+import com.khomsi.backend.main.user.service.UserInfoService;
+import com.khomsi.backend.main.utils.sketch.service.UniqueBuyerService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.khomsi.backend.config.AllocationAssertions.assertAllocatesAtMost;
+import static com.khomsi.backend.config.Stubs.stub;
+import static com.khomsi.backend.config.Stubs.unused;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Pins the bytes allocated per call of the catalog and metrics hot paths. Repositories are in-memory stubs,
+// so only the service code is measured. Runs only in the allocation-budgets execution of mvn test, in a JVM
+// of its own. Budgets are the recorded numbers with about 25% headroom; when a change legitimately needs
+// more, re-record with bytesPerCall and raise the budget in the same commit.
+@Tag("allocation")
+class AllocationBudgetTest {
+    private static final int CATALOG_SIZE = 500;
+
+    private final List<Game> catalog = catalog();
+    private final GameServiceImpl gameService = new GameServiceImpl(
+            stub(GameRepository.class, Map.of("findAll", catalog)),
+            new GameMapperImpl(),
+            stub(UserInfoService.class, Map.of("getOwnedGameIds", Set.of())));
+    private final AdminMetricServiceImpl adminMetricService = new AdminMetricServiceImpl(
+            stub(DailySalesRollupRepository.class, Map.of("summarizeByMonth", revenueRows())),
+            unused(SalesRollupService.class),
+            unused(UserInfoRepository.class),
+            unused(UniqueBuyerService.class),
+            new LiveSalesBroadcaster(unused(LiveSalesService.class), new LiveSalesProperties()));
+
+    @Test
+    void titlePattern() {
+        assertAllocatesAtMost(190, "transformWord", () -> gameService.transformWord("Football Manager 2024"));
+    }
+
+    @Test
+    void popularAndRandomGamesDoNotScaleWithCatalog() {
+        assertEquals(10, gameService.getPopularQtyOfGames(10).size());
+        assertEquals(10, gameService.getRandomQtyOfGames(10).size());
+        assertAllocatesAtMost(2_150, "getPopularQtyOfGames", () -> gameService.getPopularQtyOfGames(10));
+        assertAllocatesAtMost(4_200, "getRandomQtyOfGames", () -> gameService.getRandomQtyOfGames(10));
+    }
+
+    @Test
+    void revenueSummary() {
+        assertAllocatesAtMost(4_950, "getRevenueSummaryForYear",
+                () -> adminMetricService.getRevenueSummaryForYear(2024));
+    }
+
+    @Test
+    void revenueSummaryKeepsItsJsonShape() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        JsonNode summary = objectMapper.valueToTree(adminMetricService.getRevenueSummaryForYear(2024));
+
+        assertEquals(13, summary.size());
+        JsonNode january = summary.get("JANUARY");
+        assertEquals(List.of("totalRevenue", "totalTransactions", "totalSaleGames", "stripePayments",
+                "payPalPayments"), List.copyOf(objectMapper.convertValue(january, Map.class).keySet()));
+        assertEquals(65, january.get("totalTransactions").asLong());
+        assertEquals(480, summary.get("yearSummary").get("stripePayments").asLong());
+        assertEquals("1310.55", january.get("totalRevenue").decimalValue().toPlainString());
+    }
+
+    private static List<Game> catalog() {
+        List<Genre> genres = IntStream.rangeClosed(1, 5)
+                .mapToObj(id -> Genre.builder().id((long) id).name("Genre " + id).build())
+                .toList();
+        List<Game> games = new ArrayList<>(CATALOG_SIZE);
+        for (long id = 1; id <= CATALOG_SIZE; id++) {
+            Game game = Game.builder()
+                    .id(id)
+                    .title("Game " + id)
+                    .description("Description of game " + id)
+                    .coverImageUrl("https://cdn.example.com/games/" + id + "/cover.jpg")
+                    .price(BigDecimal.valueOf(1999, 2))
+                    .discount(BigDecimal.ZERO)
+                    .active(true)
+                    .genres(id % 3 == 0 ? Set.copyOf(genres.subList(0, 3))
+                            : Set.of(genres.get((int) id % 5), genres.get((int) (id + 1) % 5)))
+                    .build();
+            game.setGameMedia(GameMedia.builder().id(id).bannerUrl("https://cdn.example.com/games/" + id + "/banner.jpg")
+                    .build());
+            games.add(game);
+        }
+        return games;
+    }
+
+    // A year of rollup rows, one per month and payment method, like summarizeByMonth returns them
+    private static List<MonthlyRevenueView> revenueRows() {
+        List<MonthlyRevenueView> rows = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            rows.add(new RevenueRow(month, "STRIPE", 40L, 55L, new BigDecimal("812.45")));
+            rows.add(new RevenueRow(month, "PAYPAL", 25L, 31L, new BigDecimal("498.10")));
+        }
+        return rows;
+    }
+
+    private record RevenueRow(Integer getMonth, String getPaymentMethod, Long getTransactions, Long getSaleGames,
+                              BigDecimal getRevenue) implements MonthlyRevenueView {
+    }
+}
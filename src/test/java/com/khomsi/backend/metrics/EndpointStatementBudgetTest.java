@@ -0,0 +1,85 @@
+package com.khomsi.backend.metrics;
+
+import com.khomsi.backend.config.BaseIntegration;
+import com.khomsi.backend.main.utils.metrics.filter.QueryStatisticsFilter;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static com.khomsi.backend.config.QueryCountAssertions.assertSameStatements;
+import static com.khomsi.backend.config.QueryCountAssertions.assertStatementsAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Pins the SQL statements of the public endpoints against the seed data. Requests run outside a test
+// transaction so every request starts with an empty persistence context, like in production.
+@Transactional(Transactional.TxType.NOT_SUPPORTED)
+class EndpointStatementBudgetTest extends BaseIntegration {
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private QueryStatisticsFilter queryStatisticsFilter;
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(queryStatisticsFilter)
+                .build();
+    }
+
+    @Test
+    void gamePageDoesNotGrowWithPageSize() throws Exception {
+        MvcResult small = perform("/api/v1/games?page=0&size=5");
+        MvcResult large = perform("/api/v1/games?page=0&size=50");
+
+        assertSameStatements(small, large);
+        // page, count and max price
+        assertStatementsAtMost(3, large);
+    }
+
+    @Test
+    void popularAndRandomGamesLoadInConstantStatements() throws Exception {
+        assertSameStatements(perform("/api/v1/games/popular?qty=2"), perform("/api/v1/games/popular?qty=40"));
+        assertSameStatements(perform("/api/v1/games/random?qty=2"), perform("/api/v1/games/random?qty=40"));
+        // games with media, publisher and developer, then one batch of genres
+        assertStatementsAtMost(2, perform("/api/v1/games/popular?qty=40"));
+        assertStatementsAtMost(2, perform("/api/v1/games/random?qty=40"));
+    }
+
+    @Test
+    void offersGenreAndSearchLoadInConstantStatements() throws Exception {
+        assertSameStatements(perform("/api/v1/games/offers?query=release date&qty=2"),
+                perform("/api/v1/games/offers?query=release date&qty=40"));
+        assertSameStatements(perform("/api/v1/games/genre?genre=Action&qty=2"),
+                perform("/api/v1/games/genre?genre=Action&qty=20"));
+        assertSameStatements(perform("/api/v1/games/search?title=a&qty=2"),
+                perform("/api/v1/games/search?title=a&qty=40"));
+        assertStatementsAtMost(2, perform("/api/v1/games/offers?query=release date&qty=40"));
+        assertStatementsAtMost(2, perform("/api/v1/games/search?title=a&qty=40"));
+    }
+
+    @Test
+    void gameDetailsStayWithinBudget() throws Exception {
+        // game with its to-one associations, then tags, genres and platforms
+        assertStatementsAtMost(6, perform("/api/v1/games/1"));
+        // reviews with their authors, then the authors' carts in one batch
+        assertStatementsAtMost(2, perform("/api/v1/reviews/1"));
+    }
+
+    @Test
+    void dictionariesRunOneStatement() throws Exception {
+        for (String dictionary : new String[]{"genres", "platforms", "developers", "publishers", "tags"}) {
+            assertStatementsAtMost(1, perform("/api/v1/" + dictionary));
+        }
+    }
+
+    private MvcResult perform(String url) throws Exception {
+        return mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+    }
+}
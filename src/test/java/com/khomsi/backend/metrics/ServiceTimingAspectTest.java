@@ -0,0 +1,71 @@
+package com.khomsi.backend.metrics;
+
+import com.khomsi.backend.main.utils.metrics.aspect.ServiceTimingAspect;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ServiceTimingAspectTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CatalogServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CatalogServiceImpl());
+        factory.addAspect(new ServiceTimingAspect(meterRegistry));
+        service = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void timesCallsByEndpoint() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/games/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/games/{id}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        service.findGame();
+        service.findGame();
+
+        assertEquals(2, timer("findGame", "GET /api/v1/games/{id}", "none").count());
+    }
+
+    @Test
+    void recordsFailuresOutsideOfRequests() {
+        assertThrows(IllegalStateException.class, () -> service.failingCall());
+
+        assertEquals(1, timer("failingCall", "none", "IllegalStateException").count());
+    }
+
+    private Timer timer(String method, String endpoint, String exception) {
+        Timer timer = meterRegistry.find(ServiceTimingAspect.METRIC_NAME)
+                .tags("class", "CatalogServiceImpl", "method", method, "endpoint", endpoint, "exception", exception)
+                .timer();
+        assertNotNull(timer);
+        return timer;
+    }
+
+    static class CatalogServiceImpl {
+        public String findGame() {
+            return "game";
+        }
+
+        public void failingCall() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
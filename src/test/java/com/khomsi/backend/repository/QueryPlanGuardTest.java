@@ -0,0 +1,243 @@
+package com.khomsi.backend.repository;
+
+import com.khomsi.backend.config.BaseIntegration;
+import com.khomsi.backend.config.RecordingQueryInterceptor;
+import com.khomsi.backend.config.SyntheticDataGenerator;
+import com.khomsi.backend.config.SyntheticDataGenerator.Dataset;
+import com.khomsi.backend.config.SyntheticDataGenerator.Scale;
+import com.khomsi.backend.main.checkout.model.entity.Transaction;
+import com.khomsi.backend.main.checkout.repository.TransactionRepository;
+import com.khomsi.backend.main.checkout.service.SalesRollupService;
+import com.khomsi.backend.main.game.GameRepository;
+import com.khomsi.backend.main.game.model.entity.Game;
+import com.khomsi.backend.main.user.model.entity.UserInfo;
+import com.khomsi.backend.main.user.repository.UserInfoRepository;
+import com.khomsi.backend.main.utils.email.model.enums.EmailOutboxStatus;
+import com.khomsi.backend.main.utils.sketch.model.entity.BuyerSketchId;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Calls every @Query and derived query method of every repository against a seeded catalog, EXPLAINs the
+// SQL it sent and fails when a table is read in full. Modifying queries run in a transaction that is rolled back.
+// A new query method with a parameter name not known to argument() fails the test until a sample value is added.
+@Slf4j
+@Transactional(Transactional.TxType.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.datasource.hikari.data-source-properties.queryInterceptors="
+        + "com.khomsi.backend.config.RecordingQueryInterceptor")
+class QueryPlanGuardTest extends BaseIntegration {
+    // Dictionaries stay far below this at any scale, games, users and transactions don't
+    private static final long SCAN_ROWS_LIMIT = 500;
+    private static final LocalDate FROM = LocalDate.of(2023, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 0, 0);
+    // Queries that read a whole table on purpose, with the reason
+    private static final Map<String, String> ACCEPTED_SCANS = Map.of(
+            "GameRepository.findAllActiveGames", "the chat assistant is given the whole active catalog",
+            "GameRepository.existsGameByTitleIgnoreCase", "admin only, runs once per created game",
+            "BuyerSketchRepository.streamLibraryEntries", "sketch rebuild reads every library row");
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private SalesRollupService salesRollupService;
+    @Autowired
+    private UserInfoRepository userInfoRepository;
+    @Autowired
+    private GameRepository gameRepository;
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private SyntheticDataGenerator generator;
+    private Dataset dataset;
+    private UserInfo user;
+    private Game game;
+    private List<Transaction> transactions;
+
+    @BeforeAll
+    void seed() {
+        generator = new SyntheticDataGenerator(dataSource, 47);
+        dataset = generator.generate(Scale.of(1));
+        salesRollupService.rebuild(FROM, TO);
+        jdbcTemplate.execute("ANALYZE TABLE games, users, transactions, transaction_games, user_has_games, "
+                + "reviews, wishlist, cart, daily_sales_rollup");
+
+        String userId = jdbcTemplate.queryForObject("SELECT users_id FROM transactions WHERE users_id LIKE ? "
+                + "GROUP BY users_id ORDER BY COUNT(*) DESC LIMIT 1", String.class, dataset.userPrefix() + "%");
+        user = userInfoRepository.findUserInfoByExternalId(userId);
+        game = gameRepository.findById(dataset.games().first()).orElseThrow();
+        transactions = transactionRepository.findAllByUsersOrderByCreatedAtDesc(user);
+    }
+
+    @AfterAll
+    void removeSeed() {
+        generator.delete(dataset);
+        salesRollupService.rebuild(FROM, TO);
+    }
+
+    @Test
+    void repositoryQueriesDoNotScanLargeTables() {
+        Repositories repositories = new Repositories(context);
+        TransactionTemplate rollbackOnly = new TransactionTemplate(transactionManager);
+        List<String> violations = new ArrayList<>();
+
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            for (Method method : information.getQueryMethods()) {
+                String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                Object[] arguments = Stream.of(method.getParameters()).map(this::argument).toArray();
+                List<String> statements = RecordingQueryInterceptor.record(() -> rollbackOnly.executeWithoutResult(
+                        status -> {
+                            invoke(name, method, repository, arguments);
+                            status.setRollbackOnly();
+                        }));
+                statements.stream()
+                        .filter(QueryPlanGuardTest::explainable)
+                        .forEach(sql -> checkPlan(name, sql, violations));
+            }
+        }
+        assertTrue(violations.isEmpty(), () -> "Full scans:\n" + String.join("\n", violations));
+    }
+
+    private void checkPlan(String name, String sql, List<String> violations) {
+        for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql)) {
+            String table = (String) row.get("table");
+            String type = (String) row.get("type");
+            Number rows = (Number) row.get("rows");
+            boolean fullScan = "ALL".equals(type) || "index".equals(type);
+            if (!fullScan || table == null || table.startsWith("<") || rows == null
+                    || rows.longValue() < SCAN_ROWS_LIMIT) {
+                continue;
+            }
+            if (ACCEPTED_SCANS.containsKey(name)) {
+                log.info("{} reads {} in full ({} rows): {}", name, table, rows, ACCEPTED_SCANS.get(name));
+            } else {
+                violations.add("%s: %s scan of %s, %s rows, key %s%n    %s".formatted(name, type, table, rows,
+                        row.get("key"), sql));
+            }
+        }
+    }
+
+    private static void invoke(String name, Method method, Object repository, Object[] arguments) {
+        try {
+            Object result = method.invoke(repository, arguments);
+            if (result instanceof Stream<?> stream) {
+                try (stream) {
+                    stream.forEach(entry -> {
+                    });
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            fail(name + " failed with the sample arguments", e.getCause());
+        }
+    }
+
+    // Driver housekeeping (SET, SELECT @@..., COMMIT) and plain INSERT ... VALUES have nothing to scan
+    private static boolean explainable(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return (statement.startsWith("select") && !statement.startsWith("select @@"))
+                || statement.startsWith("update") || statement.startsWith("delete")
+                || (statement.startsWith("insert") && statement.contains("select"));
+    }
+
+    private Object argument(Parameter parameter) {
+        Param param = parameter.getAnnotation(Param.class);
+        String name = param != null ? param.value() : parameter.getName();
+        if (Collection.class.isAssignableFrom(parameter.getType())) {
+            Class<?> element = (Class<?>) ((ParameterizedType) parameter.getParameterizedType())
+                    .getActualTypeArguments()[0];
+            return element == Transaction.class ? transactions
+                    : List.of(argument(name.replaceFirst("s$", ""), element));
+        }
+        return argument(name, parameter.getType());
+    }
+
+    private Object argument(String name, Class<?> type) {
+        if (type == UserInfo.class) {
+            return user;
+        } else if (type == Game.class) {
+            return game;
+        } else if (type == Pageable.class) {
+            return PageRequest.of(0, 20);
+        } else if (type == LocalDateTime.class) {
+            return NOW;
+        } else if (type == LocalDate.class) {
+            return name.equals("from") ? FROM : TO;
+        } else if (type == BigDecimal.class) {
+            return BigDecimal.ONE;
+        } else if (type == int.class || type == Integer.class) {
+            return name.equals("httpStatus") ? 200 : 100;
+        } else if (type == byte[].class) {
+            return new byte[0];
+        } else if (type == EmailOutboxStatus.class) {
+            return EmailOutboxStatus.SENT;
+        } else if (type == BuyerSketchId.class) {
+            return new BuyerSketchId(TO, game.getId());
+        }
+        Object value = switch (name) {
+            case "userId", "externalId" -> user.getExternalId();
+            case "transactionId" -> transactions.get(0).getTransactionId();
+            // String ids only exist on transactions
+            case "id" -> type == String.class ? transactions.get(0).getTransactionId() : game.getId();
+            case "gameId", "gamesId" -> game.getId();
+            case "ledgerId", "fromId" -> 0L;
+            case "sequenceNo" -> 1L;
+            case "toId" -> 1_000L;
+            case "name", "genre" -> "Action";
+            case "title" -> game.getTitle();
+            case "text" -> "ma";
+            case "query" -> "+ma*";
+            case "key", "reference" -> "query-plan-guard";
+            case "requestHash" -> "0".repeat(64);
+            case "response" -> "{}";
+            case "entryType" -> "PURCHASE";
+            default -> null;
+        };
+        // long and int parameters are handed their boxed samples by reflection
+        if (value == null || !ClassUtils.resolvePrimitiveIfNecessary(type).isInstance(value)) {
+            return fail("No sample argument for parameter " + name + " of type " + type.getSimpleName());
+        }
+        return value;
+    }
+}
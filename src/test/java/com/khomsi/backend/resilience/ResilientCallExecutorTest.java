@@ -0,0 +1,92 @@
+package com.khomsi.backend.resilience;
+
+import com.khomsi.backend.main.handler.exception.GlobalServiceException;
+import com.khomsi.backend.main.utils.resilience.config.ResilienceConfig;
+import com.khomsi.backend.main.utils.resilience.config.ResilienceProperties;
+import com.khomsi.backend.main.utils.resilience.executor.ResilientCallExecutor;
+import com.khomsi.backend.main.utils.resilience.model.enums.Integration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResilientCallExecutorTest {
+    private ResilientCallExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties.Policy policy = new ResilienceProperties.Policy();
+        policy.setSlidingWindowSize(4);
+        policy.setMinimumCalls(4);
+        policy.setTimeout(Duration.ofMillis(200));
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getIntegrations().put(Integration.CURRENCY, policy);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ResilienceConfig config = new ResilienceConfig();
+        executor = new ResilientCallExecutor(properties, config.bulkheadRegistry(properties, meterRegistry),
+                config.circuitBreakerRegistry(properties, meterRegistry), meterRegistry, Tracer.NOOP);
+    }
+
+    @Test
+    void returnsResultAndPropagatesCheckedException() throws IOException {
+        assertEquals("rate", executor.execute(Integration.CURRENCY, () -> "rate"));
+        assertThrows(IOException.class, () -> executor.execute(Integration.CURRENCY, () -> {
+            throw new IOException("connection reset");
+        }));
+    }
+
+    @Test
+    void slowCallTimesOutWithServiceUnavailable() {
+        GlobalServiceException e = assertThrows(GlobalServiceException.class,
+                () -> executor.execute(Integration.CURRENCY, () -> {
+                    Thread.sleep(2_000);
+                    return "late";
+                }));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+    }
+
+    @Test
+    void writeOutlivesTimeoutInsteadOfBeingCancelled() throws InterruptedException {
+        assertEquals("captured", executor.executeWrite(Integration.CURRENCY, () -> {
+            Thread.sleep(400);
+            return "captured";
+        }));
+    }
+
+    @Test
+    void openCircuitFailsFastWithoutCallingUpstream() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ResourceAccessException.class, () -> executor.execute(Integration.CURRENCY, () -> {
+                upstreamCalls.incrementAndGet();
+                throw new ResourceAccessException("upstream down");
+            }));
+        }
+
+        GlobalServiceException e = assertThrows(GlobalServiceException.class,
+                () -> executor.execute(Integration.CURRENCY, upstreamCalls::incrementAndGet));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientErrorException.class, () -> executor.execute(Integration.CURRENCY, () -> {
+                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+            }));
+        }
+        assertEquals("rate", executor.execute(Integration.CURRENCY, () -> "rate"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.khomsi.backend.sketch;
+
+import com.khomsi.backend.main.utils.sketch.HyperLogLog;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+    private static final int PRECISION = 12;
+
+    @Test
+    void estimateStaysWithinConfiguredError() {
+        for (int buyers : new int[]{100, 10_000, 200_000}) {
+            HyperLogLog sketch = sketchOf(0, buyers);
+            // Same user buying again must not be counted twice
+            for (int i = 0; i < buyers; i += 2) {
+                sketch.add("user-" + i);
+            }
+            assertWithinError(buyers, sketch.estimate(), PRECISION);
+        }
+    }
+
+    @Test
+    void serializedSketchRoundTrips() {
+        HyperLogLog sketch = sketchOf(0, 50_000);
+        byte[] bytes = sketch.toBytes();
+
+        assertEquals(1 + (1 << PRECISION) * 6 / 8, bytes.length);
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertArrayEquals(bytes, restored.toBytes());
+    }
+
+    @Test
+    void mergedDaysCountOverlappingBuyersOnce() {
+        HyperLogLog monday = sketchOf(0, 30_000);
+        HyperLogLog tuesday = sketchOf(20_000, 50_000);
+
+        monday.merge(tuesday);
+        assertWithinError(50_000, monday.estimate(), PRECISION);
+    }
+
+    @Test
+    void reducedSketchMatchesSketchBuiltAtLowerPrecision() {
+        HyperLogLog direct = new HyperLogLog(10);
+        for (int i = 0; i < 40_000; i++) {
+            direct.add("user-" + i);
+        }
+        HyperLogLog reduced = sketchOf(0, 40_000).reduceTo(10);
+
+        assertArrayEquals(direct.toBytes(), reduced.toBytes());
+        HyperLogLog mixed = new HyperLogLog(10);
+        mixed.merge(sketchOf(0, 40_000));
+        assertEquals(direct.estimate(), mixed.estimate());
+    }
+
+    private static HyperLogLog sketchOf(int fromInclusive, int toExclusive) {
+        HyperLogLog sketch = new HyperLogLog(PRECISION);
+        for (int i = fromInclusive; i < toExclusive; i++) {
+            sketch.add("user-" + i);
+        }
+        return sketch;
+    }
+
+    // Three standard errors keeps the test stable for a fixed hash and inputs
+    private static void assertWithinError(long expected, long actual, int precision) {
+        double error = Math.abs(actual - expected) / (double) expected;
+        assertTrue(error <= 3 * HyperLogLog.relativeError(precision),
+                "Expected about " + expected + " but estimated " + actual);
+    }
+}
@@ -0,0 +1,185 @@
+package com.khomsi.backend.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.khomsi.backend.main.checkout.model.entity.Transaction;
+import com.khomsi.backend.main.utils.resilience.config.ResilienceConfig;
+import com.khomsi.backend.main.utils.resilience.config.ResilienceProperties;
+import com.khomsi.backend.main.utils.resilience.executor.ResilientCallExecutor;
+import com.khomsi.backend.main.utils.resilience.model.enums.Integration;
+import com.khomsi.backend.main.utils.tracing.aspect.TracingAspect;
+import com.khomsi.backend.main.utils.tracing.exporter.FileSpanExporter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Controller -> service -> repository and provider call, traced into a span file like a local run would be
+class TracingAspectTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    @TempDir
+    private Path directory;
+    private Path spanFile;
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+    private CheckoutController controller;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        spanFile = directory.resolve("spans.jsonl");
+        tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), "grid")))
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(spanFile)))
+                .build();
+        tracer = new OtelTracer(tracerProvider.get("grid"), new OtelCurrentTraceContext(), event -> {
+        });
+        TracingAspect aspect = new TracingAspect(tracer);
+
+        // The timeout puts the provider call on another thread
+        ResilienceProperties.Policy policy = new ResilienceProperties.Policy();
+        policy.setTimeout(Duration.ofSeconds(5));
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getIntegrations().put(Integration.PAYPAL, policy);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ResilienceConfig config = new ResilienceConfig();
+        ResilientCallExecutor executor = new ResilientCallExecutor(properties,
+                config.bulkheadRegistry(properties, meterRegistry),
+                config.circuitBreakerRegistry(properties, meterRegistry), meterRegistry, tracer);
+
+        OrderRepository repository = proxy(new InMemoryOrderRepository(), aspect);
+        CheckoutServiceImpl service = proxy(new CheckoutServiceImpl(repository, executor, tracer), aspect);
+        controller = proxy(new CheckoutController(service), aspect);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.shutdown();
+    }
+
+    @Test
+    void spansNestUnderOneTrace() throws IOException {
+        String providerCallSpanId = controller.createPayment();
+
+        Map<String, JsonNode> spans = spansByName();
+        JsonNode controllerSpan = spans.get("CheckoutController.createPayment");
+        JsonNode serviceSpan = spans.get("CheckoutServiceImpl.createPayment");
+        JsonNode repositorySpan = spans.get("OrderRepository.countByPaidFalse");
+        JsonNode providerSpan = spans.get("paypal");
+
+        assertEquals(4, spans.size());
+        spans.values().forEach(span -> {
+            assertEquals(controllerSpan.get("traceId"), span.get("traceId"));
+            assertEquals("grid", span.get("service").asText());
+        });
+        assertFalse(controllerSpan.has("parentSpanId"));
+        assertEquals(controllerSpan.get("spanId"), serviceSpan.get("parentSpanId"));
+        assertEquals(serviceSpan.get("spanId"), repositorySpan.get("parentSpanId"));
+        assertEquals(serviceSpan.get("spanId"), providerSpan.get("parentSpanId"));
+        assertEquals(providerSpan.get("spanId").asText(), providerCallSpanId);
+        assertEquals("controller", controllerSpan.get("attributes").get(TracingAspect.LAYER_TAG).asText());
+        assertEquals("service", serviceSpan.get("attributes").get(TracingAspect.LAYER_TAG).asText());
+        assertEquals("repository", repositorySpan.get("attributes").get(TracingAspect.LAYER_TAG).asText());
+        assertEquals("paypal", providerSpan.get("attributes").get("integration").asText());
+    }
+
+    @Test
+    void failuresMarkTheSpans() throws IOException {
+        assertThrows(IllegalStateException.class, () -> controller.capturePayment());
+
+        Map<String, JsonNode> spans = spansByName();
+        assertEquals("ERROR", spans.get("CheckoutServiceImpl.capturePayment").get("status").asText());
+        assertEquals("ERROR", spans.get("CheckoutController.capturePayment").get("status").asText());
+        assertEquals("order is already paid", spans.get("CheckoutServiceImpl.capturePayment").get("error").asText());
+    }
+
+    private Map<String, JsonNode> spansByName() throws IOException {
+        Map<String, JsonNode> spans = new HashMap<>();
+        for (String line : Files.readAllLines(spanFile)) {
+            JsonNode span = objectMapper.readTree(line);
+            spans.put(span.get("name").asText(), span);
+        }
+        return spans;
+    }
+
+    private static <T> T proxy(T target, TracingAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @RestController
+    static class CheckoutController {
+        private final CheckoutServiceImpl service;
+
+        CheckoutController(CheckoutServiceImpl service) {
+            this.service = service;
+        }
+
+        public String createPayment() {
+            return service.createPayment();
+        }
+
+        public void capturePayment() {
+            service.capturePayment();
+        }
+    }
+
+    static class CheckoutServiceImpl {
+        private final OrderRepository repository;
+        private final ResilientCallExecutor executor;
+        private final Tracer tracer;
+
+        CheckoutServiceImpl(OrderRepository repository, ResilientCallExecutor executor, Tracer tracer) {
+            this.repository = repository;
+            this.executor = executor;
+            this.tracer = tracer;
+        }
+
+        // Returns the span the provider call saw on its own thread
+        public String createPayment() {
+            repository.countByPaidFalse();
+            return executor.execute(Integration.PAYPAL, () -> tracer.currentSpan().context().spanId());
+        }
+
+        public void capturePayment() {
+            throw new IllegalStateException("order is already paid");
+        }
+    }
+
+    interface OrderRepository extends Repository<Transaction, String> {
+        long countByPaidFalse();
+    }
+
+    static class InMemoryOrderRepository implements OrderRepository {
+        private final List<Transaction> transactions = List.of();
+
+        @Override
+        public long countByPaidFalse() {
+            return transactions.size();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.khomsi.backend.user;
+
+import com.khomsi.backend.config.BaseIntegration;
+import com.khomsi.backend.main.user.model.entity.BalanceEntryType;
+import com.khomsi.backend.main.user.model.entity.UserInfo;
+import com.khomsi.backend.main.user.repository.BalanceLedgerRepository;
+import com.khomsi.backend.main.user.repository.BalanceSnapshotRepository;
+import com.khomsi.backend.main.user.repository.UserInfoRepository;
+import com.khomsi.backend.main.user.service.BalanceService;
+import com.khomsi.backend.main.user.service.impl.BalanceSnapshotScheduler;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Threads need committed rows, so the test runs outside the transaction from BaseIntegration
+@Transactional(Transactional.TxType.NOT_SUPPORTED)
+class BalanceServiceConcurrencyTest extends BaseIntegration {
+    private static final int THREADS = 16;
+    private static final int DEBITS = 200;
+    private static final BigDecimal DEBIT_AMOUNT = new BigDecimal("5.00");
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("500.00");
+
+    @Autowired
+    private BalanceService balanceService;
+    @Autowired
+    private UserInfoRepository userInfoRepository;
+    @Autowired
+    private BalanceLedgerRepository balanceLedgerRepository;
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+    @Autowired
+    private BalanceSnapshotScheduler balanceSnapshotScheduler;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private UserInfo user;
+
+    @BeforeEach
+    void createUser() {
+        user = new UserInfo();
+        user.setExternalId(UUID.randomUUID().toString());
+        user.setUsername("balance-test");
+        user.setEmail(user.getExternalId() + "@grid.test");
+        userInfoRepository.save(user);
+        balanceService.openAccount(user.getExternalId());
+        balanceService.credit(user.getExternalId(), INITIAL_BALANCE, BalanceEntryType.OPENING, null);
+    }
+
+    @AfterEach
+    void deleteUser() {
+        jdbcTemplate.update("DELETE FROM balance_ledger WHERE users_id = ?", user.getExternalId());
+        jdbcTemplate.update("DELETE FROM balance_snapshots WHERE users_id = ?", user.getExternalId());
+        userInfoRepository.delete(user);
+    }
+
+    @Test
+    void concurrentDebitsNeverOverdraw() throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        runConcurrently(DEBITS, () -> {
+            if (balanceService.debit(user.getExternalId(), DEBIT_AMOUNT, BalanceEntryType.PURCHASE, null)) {
+                succeeded.incrementAndGet();
+            }
+        });
+        // 500 / 5 = 100 debits fit, the rest must be rejected
+        assertEquals(100, succeeded.get());
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceService.getBalance(user.getExternalId())));
+    }
+
+    @Test
+    void concurrentCreditsAndDebitsAreNotLost() throws Exception {
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger counter = new AtomicInteger();
+        runConcurrently(DEBITS, () -> {
+            if (counter.getAndIncrement() % 2 == 0) {
+                balanceService.credit(user.getExternalId(), DEBIT_AMOUNT, BalanceEntryType.RECHARGE, null);
+            } else if (balanceService.debit(user.getExternalId(), DEBIT_AMOUNT, BalanceEntryType.PURCHASE, null)) {
+                succeeded.incrementAndGet();
+            }
+        });
+        BigDecimal expected = INITIAL_BALANCE
+                .add(DEBIT_AMOUNT.multiply(BigDecimal.valueOf(DEBITS / 2)))
+                .subtract(DEBIT_AMOUNT.multiply(BigDecimal.valueOf(succeeded.get())));
+        assertEquals(DEBITS / 2, succeeded.get());
+        assertEquals(0, expected.compareTo(balanceService.getBalance(user.getExternalId())));
+    }
+
+    @Test
+    void snapshotsKeepBalanceWhileDebitsRun() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        runConcurrently(DEBITS, () -> {
+            if (counter.getAndIncrement() % 10 == 0) {
+                balanceService.snapshot(user.getExternalId(), balanceLedgerRepository.findMaxId());
+            } else {
+                balanceService.debit(user.getExternalId(), DEBIT_AMOUNT, BalanceEntryType.PURCHASE, null);
+            }
+        });
+        BigDecimal balance = balanceService.getBalance(user.getExternalId());
+        balanceService.snapshot(user.getExternalId(), balanceLedgerRepository.findMaxId());
+        assertEquals(0, balance.compareTo(balanceService.getBalance(user.getExternalId())));
+        assertEquals(0, BigDecimal.ZERO.compareTo(balance));
+    }
+
+    @Test
+    void snapshotsAreAppendedWithTheScannedLedgerId() {
+        balanceService.debit(user.getExternalId(), DEBIT_AMOUNT, BalanceEntryType.PURCHASE, null);
+        long maxLedgerId = balanceLedgerRepository.findMaxId();
+
+        balanceSnapshotScheduler.snapshotActiveAccounts();
+
+        assertEquals(maxLedgerId, balanceSnapshotRepository.findMaxLedgerId());
+        assertEquals(List.of(0L, 2L), jdbcTemplate.queryForList("SELECT sequence_no FROM balance_snapshots "
+                + "WHERE users_id = ? ORDER BY sequence_no", Long.class, user.getExternalId()));
+        assertEquals(0, INITIAL_BALANCE.subtract(DEBIT_AMOUNT)
+                .compareTo(balanceService.getBalance(user.getExternalId())));
+    }
+
+    private void runConcurrently(int tasks, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < tasks; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}